@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.apt;
+
+import java.util.List;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A public method annotated with {@link eu.tripledframework.eventbus.Handles} which passed validation.
+ */
+final class HandlerMethod {
+
+  private final String name;
+  private final TypeMirror eventType;
+  private final TypeMirror parameterType;
+  private final boolean hasReturnType;
+  private final boolean isStatic;
+  private final boolean batch;
+  private final List<TypeMirror> dependencies;
+
+  HandlerMethod(String name, TypeMirror eventType, TypeMirror parameterType, boolean hasReturnType, boolean isStatic,
+                boolean batch, List<TypeMirror> dependencies) {
+    this.name = name;
+    this.eventType = eventType;
+    this.parameterType = parameterType;
+    this.hasReturnType = hasReturnType;
+    this.isStatic = isStatic;
+    this.batch = batch;
+    this.dependencies = dependencies;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  TypeMirror getEventType() {
+    return eventType;
+  }
+
+  TypeMirror getParameterType() {
+    return parameterType;
+  }
+
+  boolean hasReturnType() {
+    return hasReturnType;
+  }
+
+  boolean isStatic() {
+    return isStatic;
+  }
+
+  boolean isBatch() {
+    return batch;
+  }
+
+  List<TypeMirror> getDependencies() {
+    return dependencies;
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.apt;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates an invoker factory for every type annotated with
+ * {@link eu.tripledframework.eventbus.Handler}. The generated factories call the handler methods directly instead of
+ * reflectively and are registered as a service, so that they are picked up by the
+ * {@link eu.tripledframework.eventbus.internal.infrastructure.invoker.GeneratedInvokerRegistry}.
+ * <p>
+ * Handler methods which would fail to subscribe or to be invoked at runtime are reported as compilation errors.
+ */
+public class HandlerProcessor extends AbstractProcessor {
+
+  static final String HANDLER_ANNOTATION = "eu.tripledframework.eventbus.Handler";
+  static final String HANDLES_ANNOTATION = "eu.tripledframework.eventbus.Handles";
+  static final String SERVICE_FILE =
+      "META-INF/services/eu.tripledframework.eventbus.internal.infrastructure.invoker.GeneratedInvokerFactory";
+
+  private final Set<String> generatedFactories = new TreeSet<>();
+
+  private Elements elements;
+  private Types types;
+  private Messager messager;
+  private Filer filer;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    this.elements = processingEnv.getElementUtils();
+    this.types = processingEnv.getTypeUtils();
+    this.messager = processingEnv.getMessager();
+    this.filer = processingEnv.getFiler();
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(HANDLER_ANNOTATION);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      writeServiceFile();
+      return false;
+    }
+    TypeElement handlerAnnotation = elements.getTypeElement(HANDLER_ANNOTATION);
+    if (handlerAnnotation == null) {
+      return false;
+    }
+    for (TypeElement handlerType : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(handlerAnnotation))) {
+      processHandler(handlerType);
+    }
+    return false;
+  }
+
+  private void processHandler(TypeElement handlerType) {
+    if (handlerType.getKind() != ElementKind.CLASS) {
+      return;
+    }
+    if (!isAccessibleFromItsPackage(handlerType)) {
+      messager.printMessage(Diagnostic.Kind.WARNING,
+          "No invoker factory is generated for a private handler, it will be invoked reflectively.", handlerType);
+      return;
+    }
+
+    List<HandlerMethod> handlerMethods = new ArrayList<>();
+    boolean valid = true;
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(handlerType))) {
+      AnnotationMirror handles = findAnnotation(method, HANDLES_ANNOTATION);
+      if (handles == null) {
+        continue;
+      }
+      if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+        messager.printMessage(Diagnostic.Kind.WARNING,
+            "Only public methods can handle events, this method will be ignored.", method, handles);
+        continue;
+      }
+      HandlerMethod handlerMethod = toHandlerMethod(method, handles);
+      if (handlerMethod == null) {
+        valid = false;
+      } else {
+        handlerMethods.add(handlerMethod);
+      }
+    }
+
+    if (valid) {
+      String factoryName = new InvokerFactoryWriter(filer, messager, elements, types).write(handlerType, handlerMethods);
+      if (factoryName != null) {
+        generatedFactories.add(factoryName);
+      }
+    }
+  }
+
+  private HandlerMethod toHandlerMethod(ExecutableElement method, AnnotationMirror handles) {
+    TypeMirror eventType = (TypeMirror) annotationValue(handles, "value").getValue();
+    boolean batch = Boolean.TRUE.equals(annotationValue(handles, "batch").getValue());
+    List<TypeMirror> dependencies = new ArrayList<>();
+    for (Object dependency : (List<?>) annotationValue(handles, "dependsOn").getValue()) {
+      dependencies.add((TypeMirror) ((AnnotationValue) dependency).getValue());
+    }
+
+    if (method.getParameters().size() != 1) {
+      error(method, handles, batch
+          ? "The batch handler method %s should accept a single List parameter."
+          : "The handler method %s should accept a single parameter.");
+      return null;
+    }
+    TypeMirror parameterType = types.erasure(method.getParameters().get(0).asType());
+    if (batch) {
+      TypeMirror listType = types.erasure(elements.getTypeElement(List.class.getName()).asType());
+      if (!types.isAssignable(listType, parameterType)) {
+        error(method, handles, "The batch handler method %s should accept a single List parameter.");
+        return null;
+      }
+    } else if (!types.isAssignable(types.erasure(eventType), parameterType)) {
+      error(method, handles, "The handler method %s does not accept the event type it handles.");
+      return null;
+    }
+    TypeMirror exceptionType = elements.getTypeElement(Exception.class.getName()).asType();
+    for (TypeMirror thrownType : method.getThrownTypes()) {
+      if (!types.isAssignable(thrownType, exceptionType)
+          && !types.isAssignable(thrownType, elements.getTypeElement(Error.class.getName()).asType())) {
+        error(method, handles, "The handler method %s may only throw exceptions.");
+        return null;
+      }
+    }
+
+    return new HandlerMethod(method.getSimpleName().toString(), eventType, parameterType,
+        method.getReturnType().getKind() != TypeKind.VOID, method.getModifiers().contains(Modifier.STATIC), batch,
+        dependencies);
+  }
+
+  private boolean isAccessibleFromItsPackage(TypeElement type) {
+    Element element = type;
+    while (element instanceof TypeElement) {
+      if (element.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      TypeElement typeElement = (TypeElement) element;
+      if (typeElement.getNestingKind() == NestingKind.LOCAL || typeElement.getNestingKind() == NestingKind.ANONYMOUS) {
+        return false;
+      }
+      element = element.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private AnnotationMirror findAnnotation(Element element, String annotationType) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(annotationType)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  private AnnotationValue annotationValue(AnnotationMirror annotation, String name) {
+    Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+        elements.getElementValuesWithDefaults(annotation);
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue();
+      }
+    }
+    throw new IllegalStateException("The annotation " + annotation + " has no attribute " + name);
+  }
+
+  private void error(ExecutableElement method, AnnotationMirror handles, String message) {
+    messager.printMessage(Diagnostic.Kind.ERROR, String.format(message, method.getSimpleName()), method, handles);
+  }
+
+  private void writeServiceFile() {
+    if (generatedFactories.isEmpty()) {
+      return;
+    }
+    Set<String> factories = new TreeSet<>(generatedFactories);
+    factories.addAll(readExistingServiceFile());
+    try {
+      FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+      try (Writer writer = new OutputStreamWriter(serviceFile.openOutputStream(), StandardCharsets.UTF_8)) {
+        for (String factory : factories) {
+          writer.write(factory);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + SERVICE_FILE + ": " + e.getMessage());
+    }
+  }
+
+  // on an incremental build, the factories of the handlers which were not recompiled are kept.
+  private Set<String> readExistingServiceFile() {
+    Set<String> factories = new TreeSet<>();
+    try {
+      FileObject serviceFile = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(serviceFile.openInputStream(), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          String factory = line.trim();
+          if (!factory.isEmpty() && elements.getTypeElement(factory) != null) {
+            factories.add(factory);
+          }
+        }
+      }
+    } catch (IOException e) {
+      // there is no existing service file.
+    }
+    return factories;
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.apt;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Writes the source of the invoker factory for a single handler type. The factory is generated in the package of the
+ * handler, so that package private handlers can be invoked as well.
+ */
+final class InvokerFactoryWriter {
+
+  private static final String FACTORY_SUFFIX = "_InvokerFactory";
+  private static final String INVOKER_PACKAGE = "eu.tripledframework.eventbus.internal.infrastructure.invoker";
+
+  private final Filer filer;
+  private final Messager messager;
+  private final Elements elements;
+  private final Types types;
+
+  InvokerFactoryWriter(Filer filer, Messager messager, Elements elements, Types types) {
+    this.filer = filer;
+    this.messager = messager;
+    this.elements = elements;
+    this.types = types;
+  }
+
+  /**
+   * Writes the invoker factory for the given handler type.
+   *
+   * @param handlerType    The handler type.
+   * @param handlerMethods The validated handler methods of the handler type.
+   * @return the qualified name of the generated factory, or <code>null</code> when it could not be written.
+   */
+  String write(TypeElement handlerType, List<HandlerMethod> handlerMethods) {
+    String packageName = elements.getPackageOf(handlerType).getQualifiedName().toString();
+    String factoryName = factorySimpleName(handlerType);
+    String qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+    String handlerName = handlerType.getQualifiedName().toString();
+
+    try {
+      JavaFileObject sourceFile = filer.createSourceFile(qualifiedFactoryName, handlerType);
+      try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+        if (!packageName.isEmpty()) {
+          out.printf("package %s;%n%n", packageName);
+        }
+        out.printf("/**%n");
+        out.printf(" * Invoker factory for {@link %s}, generated by %s. Do not edit.%n", handlerName,
+            HandlerProcessor.class.getName());
+        out.printf(" */%n");
+        out.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})%n");
+        out.printf("public final class %s implements %s.GeneratedInvokerFactory {%n%n", factoryName, INVOKER_PACKAGE);
+        out.printf("  @Override%n");
+        out.printf("  public Class<?> getHandlerType() {%n");
+        out.printf("    return %s.class;%n", handlerName);
+        out.printf("  }%n%n");
+        out.printf("  @Override%n");
+        out.printf("  public boolean supports(Object object) {%n");
+        out.printf("    return object instanceof %s;%n", handlerName);
+        out.printf("  }%n%n");
+        out.printf("  @Override%n");
+        out.printf("  public java.util.List<eu.tripledframework.eventbus.internal.domain.Invoker> create("
+                   + "Object eventHandler) {%n");
+        out.printf("    %s handler = (%s) eventHandler;%n", handlerName, handlerName);
+        out.printf("    java.util.List<eu.tripledframework.eventbus.internal.domain.Invoker> invokers = "
+                   + "new java.util.ArrayList<>(%d);%n", handlerMethods.size());
+        for (HandlerMethod method : handlerMethods) {
+          out.printf("    invokers.add(%s);%n", invoker(handlerName, method));
+        }
+        out.printf("    return invokers;%n");
+        out.printf("  }%n");
+        out.printf("}%n");
+      }
+    } catch (IOException e) {
+      messager.printMessage(Diagnostic.Kind.ERROR, "Could not write the invoker factory: " + e.getMessage(),
+          handlerType);
+      return null;
+    }
+    return qualifiedFactoryName;
+  }
+
+  private String invoker(String handlerName, HandlerMethod method) {
+    String target = method.isStatic() ? handlerName : "handler";
+    String call = String.format("%s.%s((%s) event)", target, method.getName(), typeName(method.getParameterType()));
+    String invocation = method.hasReturnType() ? "event -> " + call : "event -> { " + call + "; return null; }";
+
+    StringBuilder dependencies = new StringBuilder();
+    for (TypeMirror dependency : method.getDependencies()) {
+      dependencies.append(dependencies.length() == 0 ? "" : ", ").append(typeName(dependency)).append(".class");
+    }
+
+    String invoker = String.format("new %s.GeneratedInvoker(%s.class, handler, \"%s\", %s,%n"
+                                   + "        new Class<?>[] {%s},%n"
+                                   + "        %s)",
+        INVOKER_PACKAGE, typeName(method.getEventType()), method.getName(), method.hasReturnType(), dependencies,
+        invocation);
+    return method.isBatch() ? String.format("new %s.BatchInvoker(%s)", INVOKER_PACKAGE, invoker) : invoker;
+  }
+
+  private String typeName(TypeMirror type) {
+    return types.erasure(type).toString();
+  }
+
+  private String factorySimpleName(TypeElement handlerType) {
+    StringBuilder name = new StringBuilder(handlerType.getSimpleName());
+    Element enclosing = handlerType.getEnclosingElement();
+    while (enclosing instanceof TypeElement) {
+      name.insert(0, '_').insert(0, enclosing.getSimpleName());
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.append(FACTORY_SUFFIX).toString();
+  }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.apt;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import eu.tripledframework.eventbus.Handler;
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.GeneratedInvokerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+class HandlerProcessorTest {
+
+  private static final String EVENT = "package test;\n"
+                                      + "public class TestEvent {\n"
+                                      + "  public final String value;\n"
+                                      + "  public TestEvent(String value) { this.value = value; }\n"
+                                      + "}\n";
+
+  @TempDir
+  Path directory;
+
+  private Path sources;
+  private Path classes;
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    sources = Files.createDirectories(directory.resolve("src/test"));
+    classes = Files.createDirectories(directory.resolve("classes"));
+    diagnostics = new DiagnosticCollector<>();
+  }
+
+  @Test
+  void whenCompilingAHandler_shouldGenerateAnInvokerFactory() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("TestHandler", "package test;\n"
+                          + "import eu.tripledframework.eventbus.*;\n"
+                          + "@Handler\n"
+                          + "class TestHandler {\n"
+                          + "  @Handles(TestEvent.class)\n"
+                          + "  public String handle(TestEvent event) { return \"handled \" + event.value; }\n"
+                          + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(errors(), compiled, is(true));
+    assertThat(Files.exists(classes.resolve("test/TestHandler_InvokerFactory.class")), is(true));
+    try (URLClassLoader classLoader = classLoader()) {
+      Object handler = newInstance(classLoader, "test.TestHandler");
+      Object event = classLoader.loadClass("test.TestEvent").getConstructor(String.class).newInstance("event");
+      GeneratedInvokerRegistry registry = new GeneratedInvokerRegistry(classLoader);
+      assertThat(registry.supports(handler), is(true));
+      List<Invoker> invokers = registry.create(handler);
+      assertThat(invokers, hasSize(1));
+      assertThat(invokers.get(0).handles(event.getClass()), is(true));
+      assertThat(invokers.get(0).hasReturnType(), is(true));
+      assertThat(invokers.get(0).invoke(event), equalTo("handled event"));
+    }
+  }
+
+  @Test
+  void whenCompilingABatchHandler_shouldGenerateABatchInvoker() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("BatchHandler", "package test;\n"
+                           + "import eu.tripledframework.eventbus.*;\n"
+                           + "import java.util.*;\n"
+                           + "@Handler\n"
+                           + "public class BatchHandler {\n"
+                           + "  public final List<TestEvent> received = new ArrayList<>();\n"
+                           + "  @Handles(value = TestEvent.class, batch = true, dependsOn = String.class)\n"
+                           + "  public void handle(List<TestEvent> events) { received.addAll(events); }\n"
+                           + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(errors(), compiled, is(true));
+    try (URLClassLoader classLoader = classLoader()) {
+      Object handler = newInstance(classLoader, "test.BatchHandler");
+      Class<?> eventType = classLoader.loadClass("test.TestEvent");
+      Object event = eventType.getConstructor(String.class).newInstance("event");
+      Invoker invoker = new GeneratedInvokerRegistry(classLoader).create(handler).get(0);
+      assertThat(invoker.handlesBatches(), is(true));
+      assertThat(invoker.hasReturnType(), is(false));
+      assertThat(invoker.getDependencies(), equalTo(new Class<?>[] {String.class}));
+      invoker.invoke(new EventBatch(eventType, Arrays.asList(event, event)));
+      assertThat((List<?>) handler.getClass().getField("received").get(handler), hasSize(2));
+    }
+  }
+
+  @Test
+  void whenAHandlerMethodAcceptsTwoParameters_shouldFailTheCompilation() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("InvalidHandler", "package test;\n"
+                             + "import eu.tripledframework.eventbus.*;\n"
+                             + "@Handler\n"
+                             + "public class InvalidHandler {\n"
+                             + "  @Handles(TestEvent.class)\n"
+                             + "  public void handle(TestEvent event, String other) { }\n"
+                             + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(compiled, is(false));
+    assertThat(errors(), containsString("The handler method handle should accept a single parameter."));
+  }
+
+  @Test
+  void whenAHandlerMethodDoesNotAcceptTheEventType_shouldFailTheCompilation() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("InvalidHandler", "package test;\n"
+                             + "import eu.tripledframework.eventbus.*;\n"
+                             + "@Handler\n"
+                             + "public class InvalidHandler {\n"
+                             + "  @Handles(TestEvent.class)\n"
+                             + "  public void handle(String event) { }\n"
+                             + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(compiled, is(false));
+    assertThat(errors(), containsString("The handler method handle does not accept the event type it handles."));
+  }
+
+  @Test
+  void whenABatchHandlerMethodDoesNotAcceptAList_shouldFailTheCompilation() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("InvalidHandler", "package test;\n"
+                             + "import eu.tripledframework.eventbus.*;\n"
+                             + "@Handler\n"
+                             + "public class InvalidHandler {\n"
+                             + "  @Handles(value = TestEvent.class, batch = true)\n"
+                             + "  public void handle(TestEvent event) { }\n"
+                             + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(compiled, is(false));
+    assertThat(errors(), containsString("The batch handler method handle should accept a single List parameter."));
+  }
+
+  @Test
+  void whenAHandlerMethodIsNotPublic_shouldIgnoreItWithAWarning() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("TestHandler", "package test;\n"
+                          + "import eu.tripledframework.eventbus.*;\n"
+                          + "@Handler\n"
+                          + "public class TestHandler {\n"
+                          + "  @Handles(TestEvent.class)\n"
+                          + "  void handle(TestEvent event) { }\n"
+                          + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(errors(), compiled, is(true));
+    assertThat(warnings(), containsString("Only public methods can handle events"));
+    try (URLClassLoader classLoader = classLoader()) {
+      Object handler = newInstance(classLoader, "test.TestHandler");
+      assertThat(new GeneratedInvokerRegistry(classLoader).create(handler), hasSize(0));
+    }
+  }
+
+  @Test
+  void whenCompilingNestedHandlers_shouldRegisterAllFactories() throws Exception {
+    // given
+    source("TestEvent", EVENT);
+    source("Handlers", "package test;\n"
+                       + "import eu.tripledframework.eventbus.*;\n"
+                       + "public class Handlers {\n"
+                       + "  @Handler\n"
+                       + "  public static class First {\n"
+                       + "    @Handles(TestEvent.class)\n"
+                       + "    public static void handle(TestEvent event) { }\n"
+                       + "  }\n"
+                       + "  @Handler\n"
+                       + "  public static class Second {\n"
+                       + "    @Handles(Object.class)\n"
+                       + "    public int handle(Object event) throws Exception { return 1; }\n"
+                       + "  }\n"
+                       + "}\n");
+
+    // when
+    boolean compiled = compile();
+
+    // then
+    assertThat(errors(), compiled, is(true));
+    List<String> factories = Files.readAllLines(classes.resolve(HandlerProcessor.SERVICE_FILE));
+    assertThat(factories, equalTo(Arrays.asList("test.Handlers_First_InvokerFactory",
+        "test.Handlers_Second_InvokerFactory")));
+    try (URLClassLoader classLoader = classLoader()) {
+      Object handler = newInstance(classLoader, "test.Handlers$Second");
+      assertThat(new GeneratedInvokerRegistry(classLoader).create(handler).get(0).invoke("event"), equalTo(1));
+    }
+  }
+
+  private void source(String name, String content) throws IOException {
+    Files.write(sources.resolve(name + ".java"), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private boolean compile() throws IOException, URISyntaxException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+        StandardCharsets.UTF_8)) {
+      List<File> files;
+      try (Stream<Path> paths = Files.list(sources)) {
+        files = paths.map(Path::toFile).collect(Collectors.toList());
+      }
+      List<String> options = new ArrayList<>(Arrays.asList("-d", classes.toString(), "-classpath", classpath()));
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+          fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Collections.singletonList(new HandlerProcessor()));
+      return task.call();
+    }
+  }
+
+  private String classpath() throws URISyntaxException {
+    return location(Handler.class) + File.pathSeparator + location(Logger.class);
+  }
+
+  private String location(Class<?> type) throws URISyntaxException {
+    return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+  }
+
+  private URLClassLoader classLoader() throws IOException {
+    return new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader());
+  }
+
+  private Object newInstance(ClassLoader classLoader, String className) throws Exception {
+    Constructor<?> constructor = classLoader.loadClass(className).getDeclaredConstructor();
+    constructor.setAccessible(true);
+    return constructor.newInstance();
+  }
+
+  private String errors() {
+    return messages(Diagnostic.Kind.ERROR);
+  }
+
+  private String warnings() {
+    return messages(Diagnostic.Kind.WARNING);
+  }
+
+  private String messages(Diagnostic.Kind kind) {
+    return diagnostics.getDiagnostics().stream()
+                      .filter(d -> d.getKind() == kind)
+                      .map(d -> d.getMessage(Locale.ROOT))
+                      .collect(Collectors.joining("\n"));
+  }
+}
@@ -17,63 +17,217 @@ package eu.tripledframework.eventbus.autoconfigure;
 
 import eu.tripledframework.eventbus.EventBusInterceptor;
 import eu.tripledframework.eventbus.internal.domain.AsynchronousEventBus;
+import eu.tripledframework.eventbus.internal.domain.DispatchTraceListener;
+import eu.tripledframework.eventbus.internal.domain.InvokerFactory;
+import eu.tripledframework.eventbus.internal.domain.InvokerRepository;
+import eu.tripledframework.eventbus.internal.domain.PartitionedEventBus;
+import eu.tripledframework.eventbus.internal.domain.RingBufferEventBus;
 import eu.tripledframework.eventbus.internal.domain.SynchronousEventBus;
+import eu.tripledframework.eventbus.internal.domain.ThreadLocalAccessor;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWorkFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.BoundedThreadPoolExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.BusySpinWaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.ConcurrencyLimitingExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusThreadFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.ParkingWaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.PartitionedExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.VirtualThreadExecutors;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.WaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.YieldingWaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.LoggingEventBusInterceptor;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.MetricsEventBusInterceptor;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.ValidatingEventBusInterceptor;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.FanOutInvokerRepository;
 import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.GeneratedInvokerRegistry;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.MethodHandleInvokerFactory;
 import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.routing.AnnotationRoutingKeyResolver;
+import eu.tripledframework.eventbus.internal.infrastructure.tracing.SlowDispatchLoggingListener;
 import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.PooledUnitOfWorkFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableConfigurationProperties(EventBusProperties.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 public class EventBusAutoConfiguration {
 
+  private final EventBusProperties properties;
+  private final ObjectProvider<EventBusInterceptor> interceptorBeans;
+  private final ObjectProvider<DispatchTraceListener> dispatchTraceListenerBeans;
+  private final ObjectProvider<ThreadLocalAccessor<?>> threadLocalAccessorBeans;
+
+  public EventBusAutoConfiguration(EventBusProperties properties, ObjectProvider<EventBusInterceptor> interceptorBeans,
+                                   ObjectProvider<DispatchTraceListener> dispatchTraceListenerBeans,
+                                   ObjectProvider<ThreadLocalAccessor<?>> threadLocalAccessorBeans) {
+    this.properties = properties;
+    this.interceptorBeans = interceptorBeans;
+    this.dispatchTraceListenerBeans = dispatchTraceListenerBeans;
+    this.threadLocalAccessorBeans = threadLocalAccessorBeans;
+  }
+
   @Bean
-  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class})
+  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class, RingBufferEventBus.class})
   @ConditionalOnProperty(value = "eu.tripledframework.eventbus.mode", havingValue = "sync")
   public SynchronousEventBus synchronousEventBus() {
-    List<EventBusInterceptor> interceptors =
-        Arrays.asList(new LoggingEventBusInterceptor(),
-            new ValidatingEventBusInterceptor(localValidatorFactoryBean().getValidator()));
-
-    return new SynchronousEventBus(new InMemoryInvokerRepository(), new SimpleInterceptorChainFactory(interceptors), Collections
-        .singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory());
+    return configured(new SynchronousEventBus(invokerRepository(), new SimpleInterceptorChainFactory(interceptors()),
+        invokerFactories(), unitOfWorkFactory()));
   }
 
   @Bean
-  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class})
+  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class, RingBufferEventBus.class})
   @ConditionalOnProperty(value = "eu.tripledframework.eventbus.mode", matchIfMissing = true, havingValue = "async")
   public AsynchronousEventBus asynchronousEventBus() {
-    List<EventBusInterceptor> interceptors =
-        Arrays.asList(new LoggingEventBusInterceptor(),
-            new ValidatingEventBusInterceptor(localValidatorFactoryBean().getValidator()));
+    return configured(new AsynchronousEventBus(invokerRepository(), new SimpleInterceptorChainFactory(interceptors()),
+        invokerFactories(), unitOfWorkFactory(), taskExecutor()));
+  }
+
+  @Bean
+  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class, RingBufferEventBus.class})
+  @ConditionalOnProperty(value = "eu.tripledframework.eventbus.mode", havingValue = "virtual")
+  public AsynchronousEventBus virtualThreadEventBus() {
+    return configured(new AsynchronousEventBus(invokerRepository(), new SimpleInterceptorChainFactory(interceptors()),
+        invokerFactories(), unitOfWorkFactory(), virtualThreadExecutor(),
+        properties.getVirtual().isAsyncEventHandling()));
+  }
+
+  private Executor virtualThreadExecutor() {
+    Executor executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+    int maxConcurrency = properties.getVirtual().getMaxConcurrency();
+    if (maxConcurrency > 0) {
+      return new ConcurrencyLimitingExecutor(executor, maxConcurrency);
+    }
+    return executor;
+  }
+
+  @Bean
+  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class, RingBufferEventBus.class})
+  @ConditionalOnProperty(value = "eu.tripledframework.eventbus.mode", havingValue = "ring-buffer")
+  public RingBufferEventBus ringBufferEventBus() {
+    EventBusProperties.RingBuffer ringBuffer = properties.getRingBuffer();
+
+    return configured(new RingBufferEventBus(invokerRepository(), new SimpleInterceptorChainFactory(interceptors()),
+        invokerFactories(), unitOfWorkFactory(), ringBuffer.getCapacity(), ringBuffer.getConsumers(),
+        new EventBusThreadFactory("eventbus-ring-buffer-"), waitStrategy(ringBuffer.getWaitStrategy()),
+        ringBuffer.getSaturationPolicy(), ringBuffer.isAsyncEventHandling()));
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnMissingBean({SynchronousEventBus.class, AsynchronousEventBus.class, RingBufferEventBus.class})
+  @ConditionalOnProperty(value = "eu.tripledframework.eventbus.mode", havingValue = "partitioned")
+  public PartitionedEventBus partitionedEventBus() {
+    EventBusProperties.Partitioned partitioned = properties.getPartitioned();
+    PartitionedExecutor executor = new PartitionedExecutor(partitioned.getLanes(), partitioned.getQueueCapacity(),
+        partitioned.getSaturationPolicy(), new EventBusThreadFactory("eventbus-partition-"));
+
+    return configured(new PartitionedEventBus(invokerRepository(), new SimpleInterceptorChainFactory(interceptors()),
+        invokerFactories(), unitOfWorkFactory(), executor, new AnnotationRoutingKeyResolver(),
+        partitioned.isAsyncEventHandling()));
+  }
 
-    return new AsynchronousEventBus(new InMemoryInvokerRepository(), new SimpleInterceptorChainFactory(interceptors), Collections
-        .singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), taskExecutor());
+  private WaitStrategy waitStrategy(EventBusProperties.WaitStrategyType type) {
+    switch (type) {
+      case BUSY_SPIN:
+        return new BusySpinWaitStrategy();
+      case YIELDING:
+        return new YieldingWaitStrategy();
+      default:
+        return new ParkingWaitStrategy();
+    }
+  }
+
+  /**
+   * Reports the dispatch traces to the DispatchTraceListeners declared as beans and, when a threshold is configured, to
+   * a listener which logs slow commands. The ThreadLocalAccessors declared as beans are propagated to the threads which
+   * handle the messages.
+   */
+  private <T extends SynchronousEventBus> T configured(T eventBus) {
+    eventBus.setContextPropagator(contextPropagator());
+
+    List<DispatchTraceListener> listeners = dispatchTraceListenerBeans.orderedStream()
+        .collect(Collectors.toCollection(ArrayList::new));
+    if (properties.getSlowDispatchThreshold() != null) {
+      listeners.add(new SlowDispatchLoggingListener(properties.getSlowDispatchThreshold()));
+    }
+    if (listeners.size() == 1) {
+      eventBus.setDispatchTraceListener(listeners.get(0));
+    } else if (!listeners.isEmpty()) {
+      eventBus.setDispatchTraceListener(trace -> listeners.forEach(listener -> listener.onDispatchCompleted(trace)));
+    }
+    return eventBus;
+  }
+
+  private ContextPropagator contextPropagator() {
+    List<ThreadLocalAccessor<?>> accessors = threadLocalAccessorBeans.orderedStream().collect(Collectors.toList());
+    return accessors.isEmpty() ? ContextPropagator.NONE : new ContextPropagator(accessors);
+  }
+
+  /**
+   * The interceptors declared as beans, such as the metrics interceptor, wrap the logging and validating interceptors.
+   */
+  private List<EventBusInterceptor> interceptors() {
+    List<EventBusInterceptor> interceptors = interceptorBeans.orderedStream()
+        .collect(Collectors.toCollection(ArrayList::new));
+    interceptors.add(new LoggingEventBusInterceptor());
+    EventBusProperties.Validation validation = properties.getValidation();
+    interceptors.add(new ValidatingEventBusInterceptor(localValidatorFactoryBean().getValidator(),
+        validation.isEvents(), validation.getGroups()));
+    return interceptors;
+  }
+
+  private UnitOfWorkFactory unitOfWorkFactory() {
+    if (properties.getUnitOfWorkPoolSize() > 0) {
+      return new PooledUnitOfWorkFactory(properties.getUnitOfWorkPoolSize());
+    }
+    return new DefaultUnitOfWorkFactory();
+  }
+
+  private InvokerRepository invokerRepository() {
+    if (properties.isFanOut()) {
+      return new FanOutInvokerRepository(new InMemoryInvokerRepository(), contextPropagator());
+    }
+    return new InMemoryInvokerRepository();
+  }
+
+  private List<InvokerFactory> invokerFactories() {
+    List<InvokerFactory> invokerFactories = new ArrayList<>();
+    // handlers compiled with the eventbus annotation processor do not need reflection to be invoked.
+    GeneratedInvokerRegistry generatedInvokers = new GeneratedInvokerRegistry(getClass().getClassLoader());
+    if (!generatedInvokers.isEmpty()) {
+      invokerFactories.add(generatedInvokers);
+    }
+    if (properties.getInvoker() == EventBusProperties.InvokerType.METHOD_HANDLE) {
+      invokerFactories.add(new MethodHandleInvokerFactory());
+    } else {
+      invokerFactories.add(new SimpleInvokerFactory());
+    }
+    return invokerFactories;
   }
 
 //  @Bean
 //  @ConditionalOnProperty(value = "eu.tripledframework.eventbus.mode", matchIfMissing = true, havingValue = "async")
   private Executor taskExecutor() {
-    ThreadPoolTaskExecutor executorService = new ThreadPoolTaskExecutor();
-    executorService.setCorePoolSize(5);
-    executorService.setMaxPoolSize(10);
-
-    executorService.afterPropertiesSet();
-    return executorService;
+    EventBusProperties.Async async = properties.getAsync();
+    return new BoundedThreadPoolExecutor(async.getCorePoolSize(), async.getMaxPoolSize(), async.getQueueCapacity(),
+        async.getSaturationPolicy(), new EventBusThreadFactory("eventbus-async-"));
   }
 
   @Bean
@@ -82,5 +236,17 @@ public class EventBusAutoConfiguration {
     return new LocalValidatorFactoryBean();
   }
 
+  @Configuration
+  @ConditionalOnClass(MeterRegistry.class)
+  @ConditionalOnBean(MeterRegistry.class)
+  static class MetricsConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MetricsEventBusInterceptor metricsEventBusInterceptor(MeterRegistry meterRegistry) {
+      return new MetricsEventBusInterceptor(meterRegistry);
+    }
+  }
+
 
 }
@@ -15,13 +15,61 @@
  */
 package eu.tripledframework.eventbus.autoconfigure;
 
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "eu.tripledframework.eventbus")
 public class EventBusProperties {
 
   private String mode;
 
+  /**
+   * The strategy used to invoke the handler methods.
+   */
+  private InvokerType invoker = InvokerType.REFLECTION;
+
+  /**
+   * Whether the subscribers of an event are invoked in parallel rather than one after the other.
+   */
+  private boolean fanOut = false;
+
+  /**
+   * When set, the breakdown of every command which took longer is logged.
+   */
+  private Duration slowDispatchThreshold;
+
+  /**
+   * The number of finished units of work kept for reuse, 0 to create a new one for every command.
+   */
+  private int unitOfWorkPoolSize = 0;
+
+  /**
+   * The settings of the async mode.
+   */
+  private final Async async = new Async();
+
+  /**
+   * The settings of the virtual mode.
+   */
+  private final Virtual virtual = new Virtual();
+
+  /**
+   * The settings of the ring-buffer mode.
+   */
+  private final RingBuffer ringBuffer = new RingBuffer();
+
+  /**
+   * The settings of the partitioned mode.
+   */
+  private final Partitioned partitioned = new Partitioned();
+
+  /**
+   * The settings of the validation of commands and events.
+   */
+  private final Validation validation = new Validation();
+
   public String getMode() {
     return mode;
   }
@@ -29,4 +77,319 @@ public class EventBusProperties {
   public void setMode(String mode) {
     this.mode = mode;
   }
+
+  public InvokerType getInvoker() {
+    return invoker;
+  }
+
+  public void setInvoker(InvokerType invoker) {
+    this.invoker = invoker;
+  }
+
+  public boolean isFanOut() {
+    return fanOut;
+  }
+
+  public void setFanOut(boolean fanOut) {
+    this.fanOut = fanOut;
+  }
+
+  public Duration getSlowDispatchThreshold() {
+    return slowDispatchThreshold;
+  }
+
+  public void setSlowDispatchThreshold(Duration slowDispatchThreshold) {
+    this.slowDispatchThreshold = slowDispatchThreshold;
+  }
+
+  public int getUnitOfWorkPoolSize() {
+    return unitOfWorkPoolSize;
+  }
+
+  public void setUnitOfWorkPoolSize(int unitOfWorkPoolSize) {
+    this.unitOfWorkPoolSize = unitOfWorkPoolSize;
+  }
+
+  public Async getAsync() {
+    return async;
+  }
+
+  public Virtual getVirtual() {
+    return virtual;
+  }
+
+  public RingBuffer getRingBuffer() {
+    return ringBuffer;
+  }
+
+  public Partitioned getPartitioned() {
+    return partitioned;
+  }
+
+  public Validation getValidation() {
+    return validation;
+  }
+
+  public enum InvokerType {
+    /**
+     * Invoke handler methods using reflection.
+     */
+    REFLECTION,
+    /**
+     * Invoke handler methods using a MethodHandle bound at subscription time.
+     */
+    METHOD_HANDLE
+  }
+
+  public static class Async {
+
+    /**
+     * The number of threads kept in the pool.
+     */
+    private int corePoolSize = 5;
+
+    /**
+     * The maximum number of threads, additional threads are only started when the queue is full.
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * The number of commands which can wait for a thread.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * What happens when a command is dispatched while both the queue and the pool are full.
+     */
+    private SaturationPolicy saturationPolicy = SaturationPolicy.BLOCK;
+
+    public int getCorePoolSize() {
+      return corePoolSize;
+    }
+
+    public void setCorePoolSize(int corePoolSize) {
+      this.corePoolSize = corePoolSize;
+    }
+
+    public int getMaxPoolSize() {
+      return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+      this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    public SaturationPolicy getSaturationPolicy() {
+      return saturationPolicy;
+    }
+
+    public void setSaturationPolicy(SaturationPolicy saturationPolicy) {
+      this.saturationPolicy = saturationPolicy;
+    }
+  }
+
+  public static class Partitioned {
+
+    /**
+     * The number of lanes, each handling its messages on a single thread.
+     */
+    private int lanes = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of messages which can wait on a single lane.
+     */
+    private int queueCapacity = 1024;
+
+    /**
+     * What happens when a message is dispatched to a lane which is full, either BLOCK or FAIL_FAST. CALLER_RUNS would
+     * handle the message before the messages queued on its lane.
+     */
+    private SaturationPolicy saturationPolicy = SaturationPolicy.BLOCK;
+
+    /**
+     * Whether events are handled on the lanes as well, rather than on the thread publishing them.
+     */
+    private boolean asyncEventHandling = false;
+
+    public int getLanes() {
+      return lanes;
+    }
+
+    public void setLanes(int lanes) {
+      this.lanes = lanes;
+    }
+
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    public SaturationPolicy getSaturationPolicy() {
+      return saturationPolicy;
+    }
+
+    public void setSaturationPolicy(SaturationPolicy saturationPolicy) {
+      this.saturationPolicy = saturationPolicy;
+    }
+
+    public boolean isAsyncEventHandling() {
+      return asyncEventHandling;
+    }
+
+    public void setAsyncEventHandling(boolean asyncEventHandling) {
+      this.asyncEventHandling = asyncEventHandling;
+    }
+  }
+
+  public static class Virtual {
+
+    /**
+     * The maximum number of commands and events handled at the same time, 0 means unlimited.
+     */
+    private int maxConcurrency;
+
+    /**
+     * Whether events are handled on their own virtual thread instead of the publishing thread.
+     */
+    private boolean asyncEventHandling = false;
+
+    public int getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    public boolean isAsyncEventHandling() {
+      return asyncEventHandling;
+    }
+
+    public void setAsyncEventHandling(boolean asyncEventHandling) {
+      this.asyncEventHandling = asyncEventHandling;
+    }
+  }
+
+  public static class RingBuffer {
+
+    /**
+     * The number of slots in the ring buffer, should be a power of two.
+     */
+    private int capacity = 1024;
+
+    /**
+     * The number of threads handling the messages in the ring buffer.
+     */
+    private int consumers = 4;
+
+    /**
+     * What the consumer threads do while the ring buffer is empty.
+     */
+    private WaitStrategyType waitStrategy = WaitStrategyType.PARKING;
+
+    /**
+     * What happens when a message is dispatched while the ring buffer is full.
+     */
+    private SaturationPolicy saturationPolicy = SaturationPolicy.BLOCK;
+
+    /**
+     * Whether events are handled on the consumer threads instead of the publishing thread.
+     */
+    private boolean asyncEventHandling;
+
+    public int getCapacity() {
+      return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+      this.capacity = capacity;
+    }
+
+    public int getConsumers() {
+      return consumers;
+    }
+
+    public void setConsumers(int consumers) {
+      this.consumers = consumers;
+    }
+
+    public WaitStrategyType getWaitStrategy() {
+      return waitStrategy;
+    }
+
+    public void setWaitStrategy(WaitStrategyType waitStrategy) {
+      this.waitStrategy = waitStrategy;
+    }
+
+    public SaturationPolicy getSaturationPolicy() {
+      return saturationPolicy;
+    }
+
+    public void setSaturationPolicy(SaturationPolicy saturationPolicy) {
+      this.saturationPolicy = saturationPolicy;
+    }
+
+    public boolean isAsyncEventHandling() {
+      return asyncEventHandling;
+    }
+
+    public void setAsyncEventHandling(boolean asyncEventHandling) {
+      this.asyncEventHandling = asyncEventHandling;
+    }
+  }
+
+  public static class Validation {
+
+    /**
+     * Whether published events are validated, commands are always validated.
+     */
+    private boolean events = true;
+
+    /**
+     * The validation groups to validate, the default group when empty.
+     */
+    private Class<?>[] groups = new Class<?>[0];
+
+    public boolean isEvents() {
+      return events;
+    }
+
+    public void setEvents(boolean events) {
+      this.events = events;
+    }
+
+    public Class<?>[] getGroups() {
+      return groups;
+    }
+
+    public void setGroups(Class<?>[] groups) {
+      this.groups = groups;
+    }
+  }
+
+  public enum WaitStrategyType {
+    /**
+     * Keep spinning, lowest latency at the cost of a busy core per consumer.
+     */
+    BUSY_SPIN,
+    /**
+     * Spin for a while, then yield to other threads.
+     */
+    YIELDING,
+    /**
+     * Spin, yield and finally park for a short amount of time.
+     */
+    PARKING
+  }
 }
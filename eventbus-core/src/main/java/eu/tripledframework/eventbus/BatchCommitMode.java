@@ -0,0 +1,33 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus;
+
+/**
+ * Defines how the commands of a batch dispatched with {@link CommandDispatcher#dispatchAll(java.util.Collection,
+ * BatchCommitMode)} are committed.
+ */
+public enum BatchCommitMode {
+  /**
+   * All commands are handled in a single unit of work. The events published by the commands are only published when
+   * all commands succeed. The first failing command rolls back the unit of work, the remaining commands are not
+   * handled.
+   */
+  ALL_OR_NOTHING,
+  /**
+   * Every command is handled and committed in its own unit of work. A failing command only rolls back its own events.
+   */
+  PER_ITEM
+}
@@ -29,7 +29,8 @@ package eu.tripledframework.eventbus;
  * <p>
  * If you want to dispatch an event, and you don't want to block the calling thread but still perform some logic when
  * the event is processed, this is the way to do it. If you want to block the calling thread you should use the
- * FutureCommandCallback which implements this callback interface and the adheres to the Future interface.
+ * FutureCommandCallback which implements this callback interface and the adheres to the Future interface. To compose
+ * the result without blocking, use the CompletableFutureCommandCallback returned by CommandDispatcher.dispatchAsync.
  *
  * @param <ReturnType> The ReturnType of the command.
  */
@@ -48,4 +49,14 @@ public interface CommandCallback<ReturnType> {
    * @param exception The exception received from executing the event handling.
    */
   void onFailure(RuntimeException exception);
+
+  /**
+   * Called by the EventBus before handling the command. A command whose callback is cancelled is not handled and none
+   * of the callback methods is called.
+   *
+   * @return true if the command should no longer be handled.
+   */
+  default boolean isCancelled() {
+    return false;
+  }
 }
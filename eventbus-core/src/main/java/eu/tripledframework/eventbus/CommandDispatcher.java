@@ -15,9 +15,15 @@
  */
 package eu.tripledframework.eventbus;
 
-import eu.tripledframework.eventbus.CommandCallback;
+import eu.tripledframework.eventbus.internal.infrastructure.callback.CompletableFutureCommandCallback;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * The basic contract of the EventBus when publishing commands.
@@ -45,4 +51,70 @@ public interface CommandDispatcher {
    */
   <ReturnType> Future<ReturnType> dispatch(Object command);
 
+  /**
+   * Dispatches the given command and returns a CompletableFuture which is completed by the EventBus once the command
+   * is handled. The result can be composed without blocking the calling thread.
+   * <p>
+   * Cancelling the returned future before the command is handled prevents it from being handled.
+   * <p>
+   * The default implementation dispatches the command with a callback which completes the returned future.
+   *
+   * @param command      The command to dispatch.
+   * @param <ReturnType> The return type of the command handling.
+   * @return A CompletableFuture which completes with the result of the command handling.
+   */
+  default <ReturnType> CompletableFuture<ReturnType> dispatchAsync(Object command) {
+    CompletableFutureCommandCallback<ReturnType> future = new CompletableFutureCommandCallback<>();
+    dispatch(command, future);
+    return future;
+  }
+
+  /**
+   * Dispatches the given commands as a single batch, committing every command in its own unit of work.
+   *
+   * @param commands The commands to dispatch.
+   * @return A CompletableFuture which completes with the result of every command, in the order of the commands.
+   * @see #dispatchAll(Collection, BatchCommitMode)
+   */
+  default CompletableFuture<List<CommandResult>> dispatchAll(Collection<?> commands) {
+    return dispatchAll(commands, BatchCommitMode.PER_ITEM);
+  }
+
+  /**
+   * Dispatches the given commands as a single batch.
+   * <p>
+   * Handling a batch is cheaper than dispatching each command on its own: the handler of every command type is only
+   * looked up once, and an asynchronous EventBus handles the whole batch as a single task. The commands are handled
+   * one after the other, in the order of the collection.
+   * <p>
+   * The returned future completes with the outcome of every command, also when some of them failed.
+   * <p>
+   * The default implementation dispatches the commands one by one using {@link #dispatchAsync(Object)}, so it does not
+   * have the advantages of a batch and only supports {@link BatchCommitMode#PER_ITEM}.
+   *
+   * @param commands   The commands to dispatch.
+   * @param commitMode Whether all commands are committed together or each on its own.
+   * @return A CompletableFuture which completes with the result of every command, in the order of the commands.
+   * @throws UnsupportedOperationException when the commit mode is not supported by the implementation.
+   */
+  default CompletableFuture<List<CommandResult>> dispatchAll(Collection<?> commands, BatchCommitMode commitMode) {
+    if (commitMode != BatchCommitMode.PER_ITEM) {
+      throw new UnsupportedOperationException(String.format("The commit mode %s is not supported.", commitMode));
+    }
+    List<CompletableFuture<CommandResult>> results = new ArrayList<>(commands.size());
+    for (Object command : commands) {
+      results.add(dispatchAsync(command).handle((result, exception) -> {
+        if (exception == null) {
+          return CommandResult.success(command, result);
+        }
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause() : exception;
+        return CommandResult.failure(command,
+            cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause));
+      }));
+    }
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus;
+
+/**
+ * The outcome of a single command of a batch dispatched with {@link CommandDispatcher#dispatchAll(java.util.Collection,
+ * BatchCommitMode)}. It either holds the result of the command handler, or the exception which made it fail.
+ */
+public final class CommandResult {
+
+  private final Object command;
+  private final Object result;
+  private final RuntimeException exception;
+
+  private CommandResult(Object command, Object result, RuntimeException exception) {
+    this.command = command;
+    this.result = result;
+    this.exception = exception;
+  }
+
+  public static CommandResult success(Object command, Object result) {
+    return new CommandResult(command, result, null);
+  }
+
+  public static CommandResult failure(Object command, RuntimeException exception) {
+    return new CommandResult(command, null, exception);
+  }
+
+  public boolean isSuccess() {
+    return exception == null;
+  }
+
+  public Object getCommand() {
+    return command;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <ReturnType> ReturnType getResult() {
+    return (ReturnType) result;
+  }
+
+  public RuntimeException getException() {
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    return "CommandResult{" +
+        "command=" + command +
+        ", result=" + result +
+        ", exception=" + exception +
+        '}';
+  }
+}
@@ -45,4 +45,17 @@ public interface EventBusInterceptor {
    */
   <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork);
 
+  /**
+   * Method to verify if this interceptor applies to messages of the given type. Interceptors which do not apply are
+   * left out of the chain.
+   * <p>
+   * The interceptor chain factories cache the result per type, so it should not change over time.
+   *
+   * @param messageType The type of the command or event. For a batch of events, the type of the events.
+   * @return <code>true</code> if the interceptor applies to messages of the given type, <code>false</code> otherwise.
+   */
+  default boolean supports(Class<?> messageType) {
+    return true;
+  }
+
 }
@@ -15,6 +15,7 @@
  */
 package eu.tripledframework.eventbus;
 
+import java.util.Collection;
 
 /**
  * Basic interface to interact with the eventbus when publishing events. The events are published in a fire and forget mode. Implying that
@@ -32,4 +33,15 @@ public interface EventPublisher {
    * @param event The event to publish.
    */
   void publish(Object event);
+
+  /**
+   * Publishes all the given events, in the given order. Implementations may group consecutive events of the same type,
+   * so that the handlers of a type are looked up only once and handlers accepting a batch receive those events at
+   * once.
+   *
+   * @param events The events to publish.
+   */
+  default void publishAll(Collection<?> events) {
+    events.forEach(this::publish);
+  }
 }
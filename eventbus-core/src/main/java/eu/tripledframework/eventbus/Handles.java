@@ -28,4 +28,17 @@ public @interface Handles {
 
   Class<?> value();
 
+  /**
+   * Whether the annotated method handles a batch of events. The method should then accept a {@link java.util.List} of
+   * events of the type given by {@link #value()}. When the events are published one by one, the list contains only
+   * the published event.
+   */
+  boolean batch() default false;
+
+  /**
+   * The handler types which should have handled the event before the annotated method is invoked. Only relevant when
+   * the subscribers of an event are invoked in parallel, otherwise the subscribers are invoked one after the other.
+   */
+  Class<?>[] dependsOn() default {};
+
 }
\ No newline at end of file
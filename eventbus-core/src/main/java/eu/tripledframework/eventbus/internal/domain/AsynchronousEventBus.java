@@ -15,20 +15,48 @@
  */
 package eu.tripledframework.eventbus.internal.domain;
 
+import eu.tripledframework.eventbus.BatchCommitMode;
 import eu.tripledframework.eventbus.CommandCallback;
+import eu.tripledframework.eventbus.CommandResult;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.BoundedThreadPoolExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusSaturatedException;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusThreadFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextSnapshot;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.UnitOfWorkRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * An Implementation of the CommandDispatcher which executes the command in an asynchronous fashion.
  * This implementation uses a ThreadPool to dispatch events to separate threads.
+ * <p>
+ * When no executor is given, a {@link BoundedThreadPoolExecutor} is used which blocks the caller once its queue is
+ * full. When the executor rejects a command, the callback of that command receives an
+ * {@link EventBusSaturatedException}.
+ * <p>
+ * When the callback is a CompletableFuture which is cancelled while the command is still queued in a
+ * ThreadPoolExecutor, the command is removed from the queue.
+ * <p>
+ * A batch of commands is handled as a single task. When events are handled asynchronously, the same goes for the events
+ * published by a committing unit of work.
+ * <p>
+ * The thread-bound values of the context propagator of the bus are captured when a task is handed to the executor, and
+ * applied on the thread which runs the task for as long as it runs.
  */
 public class AsynchronousEventBus extends SynchronousEventBus {
 
+  private static final int DEFAULT_CORE_POOL_SIZE = 5;
+  private static final int DEFAULT_MAX_POOL_SIZE = 10;
+  private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
   private final Logger logger = LoggerFactory.getLogger(AsynchronousEventBus.class);
 
   private Executor executor;
@@ -37,7 +65,8 @@ public class AsynchronousEventBus extends SynchronousEventBus {
   public AsynchronousEventBus(InvokerRepository invokerRepository, InterceptorChainFactory interceptorChainFactory,
                               List<InvokerFactory> invokerFactories, UnitOfWorkFactory unitOfWorkFactory) {
     super(invokerRepository, interceptorChainFactory, invokerFactories, unitOfWorkFactory);
-    executor = Executors.newCachedThreadPool();
+    executor = new BoundedThreadPoolExecutor(DEFAULT_CORE_POOL_SIZE, DEFAULT_MAX_POOL_SIZE, DEFAULT_QUEUE_CAPACITY,
+        SaturationPolicy.BLOCK, new EventBusThreadFactory("tripled-eventbus-"));
     asyncEventHandling = false;
   }
 
@@ -57,19 +86,138 @@ public class AsynchronousEventBus extends SynchronousEventBus {
 
   @Override
   protected <ReturnType> void dispatchInternal(Object message, CommandCallback<ReturnType> callback, UnitOfWork unitOfWork) {
-    executor.execute(new RunnableCommand<>(message, callback, unitOfWork));
+    RunnableCommand<ReturnType> command = new RunnableCommand<>(message, callback, unitOfWork);
+    try {
+      execute(message, command);
+    } catch (RejectedExecutionException exception) {
+      callback.onFailure(new EventBusSaturatedException(
+          String.format("Could not dispatch %s, the executor rejected it.", message.getClass().getSimpleName()),
+          exception));
+      return;
+    }
+    if (callback instanceof CompletableFuture && executor instanceof ThreadPoolExecutor) {
+      removeFromQueueWhenCancelled((CompletableFuture<?>) callback, (ThreadPoolExecutor) executor, command);
+    }
+  }
+
+  @Override
+  protected void dispatchBatchInternal(List<Object> commands, BatchCommitMode commitMode,
+                                       CommandCallback<List<CommandResult>> callback) {
+    RunnableBatch batch = new RunnableBatch(commands, commitMode, callback);
+    try {
+      executeBatch(commands, batch);
+    } catch (RejectedExecutionException exception) {
+      callback.onFailure(new EventBusSaturatedException(
+          String.format("Could not dispatch a batch of %s commands, the executor rejected it.", commands.size()),
+          exception));
+      return;
+    }
+    if (callback instanceof CompletableFuture && executor instanceof ThreadPoolExecutor) {
+      removeFromQueueWhenCancelled((CompletableFuture<?>) callback, (ThreadPoolExecutor) executor, batch);
+    }
+  }
+
+  /**
+   * Hands the task which handles the given message to the executor. A batch of events is handed over as a single task,
+   * with its first event as the given message.
+   *
+   * @param message The message which is handled by the task.
+   * @param task    The task to execute.
+   * @throws RejectedExecutionException when the executor does not accept the task.
+   */
+  protected void execute(Object message, Runnable task) {
+    executor.execute(task);
+  }
+
+  /**
+   * Hands the task which handles the given batch of commands to the executor. By default, the batch is handed over
+   * with its first command as the message.
+   *
+   * @param commands The commands which are handled by the task.
+   * @param task     The task to execute.
+   * @throws RejectedExecutionException when the executor does not accept the task.
+   */
+  protected void executeBatch(List<Object> commands, Runnable task) {
+    execute(commands.get(0), task);
+  }
+
+  private void removeFromQueueWhenCancelled(CompletableFuture<?> future, ThreadPoolExecutor threadPoolExecutor,
+                                            Runnable command) {
+    future.whenComplete((result, exception) -> {
+      if (exception instanceof CancellationException && threadPoolExecutor.remove(command)) {
+        getLogger().debug("Removed a cancelled command from the queue.");
+      }
+    });
   }
 
   @Override
   protected void publishInternal(Object event, UnitOfWork unitOfWork) {
     if (asyncEventHandling) {
-      executor.execute(new RunnablePublish(event, unitOfWork));
+      retain(unitOfWork);
+      try {
+        execute(event, new RunnablePublish(event, unitOfWork));
+      } catch (RejectedExecutionException exception) {
+        release(unitOfWork);
+        throw new EventBusSaturatedException(
+            String.format("Could not publish %s, the executor rejected it.", event.getClass().getSimpleName()),
+            exception);
+      }
     } else {
       super.publishInternal(event, unitOfWork);
     }
   }
 
-  private class RunnableCommand<ReturnType> implements Runnable {
+  @Override
+  protected void publishBatchInternal(List<EventBatch> batches, UnitOfWork unitOfWork) {
+    if (asyncEventHandling) {
+      retain(unitOfWork);
+      try {
+        execute(batches.get(0).getEvents().get(0), new RunnablePublishBatch(batches, unitOfWork));
+      } catch (RejectedExecutionException exception) {
+        release(unitOfWork);
+        throw new EventBusSaturatedException(
+            String.format("Could not publish %s batches of events, the executor rejected them.", batches.size()),
+            exception);
+      }
+    } else {
+      super.publishBatchInternal(batches, unitOfWork);
+    }
+  }
+
+  // the events are handled after the command which published them finished, its UnitOfWork should not be reused.
+  private static void retain(UnitOfWork unitOfWork) {
+    if (unitOfWork != null) {
+      unitOfWork.retain();
+    }
+  }
+
+  private static void release(UnitOfWork unitOfWork) {
+    if (unitOfWork != null) {
+      unitOfWork.release();
+    }
+  }
+
+  /**
+   * A task which captures the context of the thread which creates it, and applies that context while it runs.
+   */
+  private abstract class ContextAwareRunnable implements Runnable {
+
+    private final ContextSnapshot context = captureContext();
+
+    @Override
+    public final void run() {
+      ContextSnapshot previous = context.apply();
+      try {
+        runInContext();
+      } finally {
+        previous.restore();
+      }
+    }
+
+    protected abstract void runInContext();
+  }
+
+  private class RunnableCommand<ReturnType> extends ContextAwareRunnable {
 
     private final Object message;
     private final CommandCallback<ReturnType> callback;
@@ -82,12 +230,46 @@ public class AsynchronousEventBus extends SynchronousEventBus {
     }
 
     @Override
-    public void run() {
-      AsynchronousEventBus.super.dispatchInternal(message, callback, unitOfWork);
+    protected void runInContext() {
+      // when the executor runs the command on the calling thread, the UnitOfWork of that thread should survive it.
+      UnitOfWork current = UnitOfWorkRepository.get();
+      try {
+        AsynchronousEventBus.super.dispatchInternal(message, callback, unitOfWork);
+      } finally {
+        if (current != null) {
+          UnitOfWorkRepository.store(current);
+        }
+      }
     }
   }
 
-  private class RunnablePublish implements Runnable {
+  private class RunnableBatch extends ContextAwareRunnable {
+
+    private final List<Object> commands;
+    private final BatchCommitMode commitMode;
+    private final CommandCallback<List<CommandResult>> callback;
+
+    private RunnableBatch(List<Object> commands, BatchCommitMode commitMode,
+                          CommandCallback<List<CommandResult>> callback) {
+      this.commands = commands;
+      this.commitMode = commitMode;
+      this.callback = callback;
+    }
+
+    @Override
+    protected void runInContext() {
+      UnitOfWork current = UnitOfWorkRepository.get();
+      try {
+        AsynchronousEventBus.super.dispatchBatchInternal(commands, commitMode, callback);
+      } finally {
+        if (current != null) {
+          UnitOfWorkRepository.store(current);
+        }
+      }
+    }
+  }
+
+  private class RunnablePublish extends ContextAwareRunnable {
 
     private UnitOfWork unitOfWork;
     private Object event;
@@ -98,11 +280,34 @@ public class AsynchronousEventBus extends SynchronousEventBus {
     }
 
     @Override
-    public void run() {
-      AsynchronousEventBus.super.publishInternal(event, unitOfWork);
+    protected void runInContext() {
+      try {
+        AsynchronousEventBus.super.publishInternal(event, unitOfWork);
+      } finally {
+        release(unitOfWork);
+      }
     }
   }
 
+  private class RunnablePublishBatch extends ContextAwareRunnable {
+
+    private final List<EventBatch> batches;
+    private final UnitOfWork unitOfWork;
+
+    private RunnablePublishBatch(List<EventBatch> batches, UnitOfWork unitOfWork) {
+      this.batches = batches;
+      this.unitOfWork = unitOfWork;
+    }
+
+    @Override
+    protected void runInContext() {
+      try {
+        AsynchronousEventBus.super.publishBatchInternal(batches, unitOfWork);
+      } finally {
+        release(unitOfWork);
+      }
+    }
+  }
 
   @Override
   protected Logger getLogger() {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed key under which contextual data is stored in a {@link UnitOfWork}.
+ * <p>
+ * Every key is assigned an index when it is created, which units of work can use to store the value in an array
+ * instead of a map. Keys are meant to be created once and kept in a constant, creating a key with the name of an
+ * existing key returns the existing key.
+ *
+ * @param <T> The type of the value stored under the key.
+ */
+public final class ContextKey<T> {
+
+  private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+  private static final ConcurrentMap<String, ContextKey<?>> KEYS_BY_NAME = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final Class<T> type;
+  private final int index;
+
+  private ContextKey(String name, Class<T> type, int index) {
+    this.name = name;
+    this.type = type;
+    this.index = index;
+  }
+
+  /**
+   * Returns the key with the given name, creating it when it does not exist yet.
+   *
+   * @param name The name of the key, which is also the key of the value when it is accessed by name.
+   * @param type The type of the value stored under the key.
+   * @param <T>  The type of the value stored under the key.
+   * @return the key with the given name.
+   * @throws IllegalArgumentException when a key with the given name exists for another type.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> ContextKey<T> of(String name, Class<T> type) {
+    ContextKey<?> key = KEYS_BY_NAME.computeIfAbsent(name,
+        keyName -> new ContextKey<>(keyName, type, NEXT_INDEX.getAndIncrement()));
+    if (key.type != type) {
+      throw new IllegalArgumentException(String.format("The context key %s already exists for type %s.", name,
+          key.type.getName()));
+    }
+    return (ContextKey<T>) key;
+  }
+
+  /**
+   * Returns the key with the given name, if it exists.
+   *
+   * @param name The name of the key.
+   * @return the key with the given name, or <code>null</code> when no such key was created.
+   */
+  public static ContextKey<?> find(String name) {
+    return KEYS_BY_NAME.get(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public String toString() {
+    return "ContextKey{" +
+           "name='" + name + '\'' +
+           ", type=" + type.getName() +
+           '}';
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timestamps of the stages a dispatched command went through: waiting to be handled, the interceptors, the handler
+ * and the commit of its unit of work, which publishes the events it scheduled. A trace is only recorded when a
+ * {@link DispatchTraceListener} is set on the event bus, which receives it once the command has been handled.
+ * <p>
+ * The timestamps are taken with {@link System#nanoTime()}. A stage which was not reached, e.g. the handler when an
+ * interceptor rejected the command, has a duration of zero.
+ */
+public final class DispatchTrace {
+
+  /**
+   * The key under which the trace of a command is stored in its unit of work.
+   */
+  public static final ContextKey<DispatchTrace> UNIT_OF_WORK_KEY =
+      ContextKey.of(DispatchTrace.class.getName(), DispatchTrace.class);
+
+  private static final int DISPATCHED = 0;
+  private static final int STARTED = 1;
+  private static final int HANDLER_STARTED = 2;
+  private static final int HANDLER_FINISHED = 3;
+  private static final int CHAIN_FINISHED = 4;
+  private static final int FINISHED = 5;
+
+  private final Object message;
+  private final long[] stamps = new long[FINISHED + 1];
+  private RuntimeException exception;
+
+  public DispatchTrace(Object message) {
+    this.message = message;
+    this.stamps[DISPATCHED] = System.nanoTime();
+  }
+
+  void started() {
+    stamps[STARTED] = System.nanoTime();
+  }
+
+  void handlerStarted() {
+    stamps[HANDLER_STARTED] = System.nanoTime();
+  }
+
+  void handlerFinished() {
+    stamps[HANDLER_FINISHED] = System.nanoTime();
+  }
+
+  void chainFinished() {
+    stamps[CHAIN_FINISHED] = System.nanoTime();
+  }
+
+  void finished(RuntimeException exception) {
+    stamps[FINISHED] = System.nanoTime();
+    this.exception = exception;
+    // a stage which was not reached takes no time.
+    for (int i = STARTED; i < FINISHED; i++) {
+      if (stamps[i] == 0) {
+        stamps[i] = stamps[i - 1];
+      }
+    }
+  }
+
+  public Object getMessage() {
+    return message;
+  }
+
+  public boolean isSuccessful() {
+    return exception == null;
+  }
+
+  /**
+   * @return the exception with which the command failed, or <code>null</code> if it succeeded.
+   */
+  public RuntimeException getException() {
+    return exception;
+  }
+
+  public long getQueueWaitNanos() {
+    return stamps[STARTED] - stamps[DISPATCHED];
+  }
+
+  public long getInterceptorNanos() {
+    return stamps[HANDLER_STARTED] - stamps[STARTED] + stamps[CHAIN_FINISHED] - stamps[HANDLER_FINISHED];
+  }
+
+  public long getHandlerNanos() {
+    return stamps[HANDLER_FINISHED] - stamps[HANDLER_STARTED];
+  }
+
+  public long getCommitNanos() {
+    return stamps[FINISHED] - stamps[CHAIN_FINISHED];
+  }
+
+  public long getTotalNanos() {
+    return stamps[FINISHED] - stamps[DISPATCHED];
+  }
+
+  @Override
+  public String toString() {
+    return "DispatchTrace{" +
+           "message=" + message.getClass().getSimpleName() +
+           ", successful=" + isSuccessful() +
+           ", totalMs=" + toMillis(getTotalNanos()) +
+           ", queueWaitMs=" + toMillis(getQueueWaitNanos()) +
+           ", interceptorsMs=" + toMillis(getInterceptorNanos()) +
+           ", handlerMs=" + toMillis(getHandlerNanos()) +
+           ", commitMs=" + toMillis(getCommitNanos()) +
+           '}';
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+/**
+ * Receives the {@link DispatchTrace} of every command handled by the event bus. Listeners are invoked on the thread
+ * which handled the command, so they should return quickly.
+ */
+@FunctionalInterface
+public interface DispatchTraceListener {
+
+  /**
+   * Called once a command has been handled and its unit of work committed or rolled back.
+   *
+   * @param trace The timestamps of the stages the command went through.
+   */
+  void onDispatchCompleted(DispatchTrace trace);
+}
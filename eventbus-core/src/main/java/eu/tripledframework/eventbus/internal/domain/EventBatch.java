@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A number of events of the same type which are handed to the invokers as a whole. Invokers which handle batches
+ * receive all the events at once, see {@link Invoker#handlesBatches()}.
+ */
+public final class EventBatch {
+
+  private final Class<?> eventType;
+  private final List<Object> events;
+
+  public EventBatch(Class<?> eventType, List<Object> events) {
+    this.eventType = eventType;
+    this.events = Collections.unmodifiableList(events);
+  }
+
+  public Class<?> getEventType() {
+    return eventType;
+  }
+
+  public List<Object> getEvents() {
+    return events;
+  }
+
+  public int size() {
+    return events.size();
+  }
+
+  @Override
+  public String toString() {
+    return "EventBatch{" +
+           "eventType=" + eventType +
+           ", size=" + events.size() +
+           '}';
+  }
+}
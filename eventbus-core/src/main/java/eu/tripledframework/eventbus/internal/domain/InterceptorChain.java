@@ -28,4 +28,13 @@ public interface InterceptorChain<ReturnType> {
    * @return The return object of the command.
    */
   ReturnType proceed();
+
+  /**
+   * Method which checks if the chain handles a dispatched command, rather than a published event.
+   *
+   * @return <code>true</code> if the chain handles a command, <code>false</code> if it handles an event.
+   */
+  default boolean isCommand() {
+    return true;
+  }
 }
@@ -46,4 +46,32 @@ public interface Invoker {
    * @return an optional response from the method handler.
    */
   Object invoke(Object object);
+
+  /**
+   * Method which checks if the method which is being invoked by this invoker accepts a batch of events. Such an invoker
+   * can also be invoked with an {@link EventBatch}.
+   *
+   * @return <code>true</code> if the invoked method accepts a batch of events, <code>false</code> otherwise.
+   */
+  default boolean handlesBatches() {
+    return false;
+  }
+
+  /**
+   * Method which returns the type of the object on which the method is invoked.
+   *
+   * @return the type of the handler, or <code>null</code> when it is unknown.
+   */
+  default Class<?> getHandlerType() {
+    return null;
+  }
+
+  /**
+   * Method which returns the handler types which should have handled an event before this invoker is invoked.
+   *
+   * @return the handler types this invoker depends on, empty if it does not depend on any.
+   */
+  default Class<?>[] getDependencies() {
+    return new Class<?>[0];
+  }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.BatchCommitMode;
+import eu.tripledframework.eventbus.CommandCallback;
+import eu.tripledframework.eventbus.CommandResult;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.PartitionedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An asynchronous event bus which routes every message to a lane of a {@link PartitionedExecutor} by its routing key.
+ * Messages with the same routing key, e.g. the commands for one aggregate, are handled one after the other in the
+ * order in which they were dispatched, while messages with different routing keys are handled in parallel. This gives
+ * single writer semantics per routing key without any locking.
+ * <p>
+ * Messages without a routing key are spread over the lanes. A batch of messages with different routing keys is split
+ * into a batch per routing key, so every message is still handled on the lane of its own key, and the messages without
+ * a routing key form a batch of their own. The commands of an ALL_OR_NOTHING batch share a single unit of work and
+ * cannot be split, such a batch is routed by the routing key of its commands and rejected when they have different
+ * routing keys.
+ * <p>
+ * The lanes are stopped by {@link #close()}, which waits until the messages queued on the lanes are handled.
+ */
+public class PartitionedEventBus extends AsynchronousEventBus implements AutoCloseable {
+
+  private final Logger logger = LoggerFactory.getLogger(PartitionedEventBus.class);
+
+  private final PartitionedExecutor executor;
+  private final RoutingKeyResolver routingKeyResolver;
+  private final boolean asyncEventHandling;
+
+  public PartitionedEventBus(InvokerRepository invokerRepository, InterceptorChainFactory interceptorChainFactory,
+                             List<InvokerFactory> invokerFactories, UnitOfWorkFactory unitOfWorkFactory,
+                             PartitionedExecutor executor, RoutingKeyResolver routingKeyResolver,
+                             boolean asyncEventHandling) {
+    super(invokerRepository, interceptorChainFactory, invokerFactories, unitOfWorkFactory, executor,
+        asyncEventHandling);
+    this.executor = executor;
+    this.routingKeyResolver = routingKeyResolver;
+    this.asyncEventHandling = asyncEventHandling;
+  }
+
+  @Override
+  protected void execute(Object message, Runnable task) {
+    executor.execute(routingKeyResolver.resolve(message), task);
+  }
+
+  /**
+   * Routes a batch by the first routing key of its commands, commands without a routing key can run on any lane.
+   */
+  @Override
+  protected void executeBatch(List<Object> commands, Runnable task) {
+    Object routingKey = null;
+    for (int i = 0; i < commands.size() && routingKey == null; i++) {
+      routingKey = routingKeyResolver.resolve(commands.get(i));
+    }
+    executor.execute(routingKey, task);
+  }
+
+  @Override
+  protected void dispatchBatchInternal(List<Object> commands, BatchCommitMode commitMode,
+                                       CommandCallback<List<CommandResult>> callback) {
+    Map<Object, List<Integer>> indexesByKey = new LinkedHashMap<>();
+    for (int i = 0; i < commands.size(); i++) {
+      indexesByKey.computeIfAbsent(routingKeyResolver.resolve(commands.get(i)), key -> new ArrayList<>()).add(i);
+    }
+
+    if (indexesByKey.size() == 1 || commitMode == BatchCommitMode.ALL_OR_NOTHING && !hasDifferentKeys(indexesByKey)) {
+      super.dispatchBatchInternal(commands, commitMode, callback);
+    } else if (commitMode == BatchCommitMode.ALL_OR_NOTHING) {
+      callback.onFailure(new IllegalArgumentException(String.format(
+          "The commands of an ALL_OR_NOTHING batch should have the same routing key, but found %s.",
+          indexesByKey.keySet())));
+    } else {
+      dispatchPerRoutingKey(commands, indexesByKey, callback);
+    }
+  }
+
+  private static boolean hasDifferentKeys(Map<Object, List<Integer>> indexesByKey) {
+    return indexesByKey.keySet().stream().filter(Objects::nonNull).count() > 1;
+  }
+
+  /**
+   * Dispatches a batch per routing key and completes the given callback with the results of all the batches, in the
+   * order of the given commands.
+   */
+  private void dispatchPerRoutingKey(List<Object> commands, Map<Object, List<Integer>> indexesByKey,
+                                     CommandCallback<List<CommandResult>> callback) {
+    CommandResult[] results = new CommandResult[commands.size()];
+    AtomicInteger remaining = new AtomicInteger(indexesByKey.size());
+    for (List<Integer> indexes : indexesByKey.values()) {
+      List<Object> commandsOfKey = new ArrayList<>(indexes.size());
+      indexes.forEach(index -> commandsOfKey.add(commands.get(index)));
+
+      super.dispatchBatchInternal(commandsOfKey, BatchCommitMode.PER_ITEM, new CommandCallback<List<CommandResult>>() {
+        @Override
+        public void onSuccess(List<CommandResult> resultsOfKey) {
+          for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = resultsOfKey.get(i);
+          }
+          completeWhenLast();
+        }
+
+        @Override
+        public void onFailure(RuntimeException exception) {
+          indexes.forEach(index -> results[index] = CommandResult.failure(commands.get(index), exception));
+          completeWhenLast();
+        }
+
+        @Override
+        public boolean isCancelled() {
+          return callback.isCancelled();
+        }
+
+        private void completeWhenLast() {
+          if (remaining.decrementAndGet() == 0) {
+            callback.onSuccess(Arrays.asList(results));
+          }
+        }
+      });
+    }
+  }
+
+  @Override
+  protected void publishBatchInternal(List<EventBatch> batches, UnitOfWork unitOfWork) {
+    if (!asyncEventHandling) {
+      super.publishBatchInternal(batches, unitOfWork);
+      return;
+    }
+
+    Map<Object, List<EventBatch>> batchesByKey = new LinkedHashMap<>();
+    for (EventBatch batch : batches) {
+      Map<Object, List<Object>> eventsByKey = new LinkedHashMap<>();
+      batch.getEvents().forEach(
+          event -> eventsByKey.computeIfAbsent(routingKeyResolver.resolve(event), key -> new ArrayList<>()).add(event));
+      eventsByKey.forEach((key, events) -> batchesByKey.computeIfAbsent(key, k -> new ArrayList<>())
+          .add(new EventBatch(batch.getEventType(), events)));
+    }
+
+    if (batchesByKey.size() == 1) {
+      super.publishBatchInternal(batches, unitOfWork);
+    } else {
+      batchesByKey.values().forEach(batchesOfKey -> super.publishBatchInternal(batchesOfKey, unitOfWork));
+    }
+  }
+
+  /**
+   * Stops accepting messages and waits until the lanes have handled the messages which were queued. When called by a
+   * message handler, the lanes are stopped without waiting for them.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    if (executor.isRunningTask()) {
+      return;
+    }
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+        getLogger().debug("Waiting for the lanes to handle their queued messages.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  protected Logger getLogger() {
+    return logger;
+  }
+}
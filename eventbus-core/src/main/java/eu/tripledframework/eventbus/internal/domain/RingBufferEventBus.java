@@ -0,0 +1,333 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.BatchCommitMode;
+import eu.tripledframework.eventbus.CommandCallback;
+import eu.tripledframework.eventbus.CommandResult;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusSaturatedException;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusThreadFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.ParkingWaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.RingBuffer;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.WaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextSnapshot;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.UnitOfWorkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An Implementation of the CommandDispatcher which executes the command in an asynchronous fashion.
+ * <p>
+ * Instead of submitting a task per message to an Executor, this implementation writes the messages into the
+ * preallocated slots of a {@link RingBuffer} which is drained by a fixed number of consumer threads. The number of
+ * threads and the amount of memory used by the bus are therefore fixed, no matter how many messages are dispatched.
+ * The {@link WaitStrategy} defines what idle consumers do and the {@link SaturationPolicy} what happens when a message
+ * is dispatched while the ring buffer is full.
+ * <p>
+ * When a consumer thread itself dispatches a message into a full ring buffer, that message is always handled on the
+ * consumer thread, since waiting for capacity could otherwise deadlock the bus.
+ * <p>
+ * The consumer threads are stopped by {@link #close()}, which waits until the messages in the ring buffer are handled.
+ */
+public class RingBufferEventBus extends SynchronousEventBus implements AutoCloseable {
+
+  private static final String DEFAULT_THREAD_NAME_PREFIX = "tripled-ring-buffer-";
+
+  private final Logger logger = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+  private final RingBuffer<Slot> ringBuffer;
+  private final WaitStrategy waitStrategy;
+  private final SaturationPolicy saturationPolicy;
+  private final boolean asyncEventHandling;
+  private final Thread[] consumers;
+  // the number of threads between the running check and the publication of their slot, consumers keep draining the
+  // ring buffer while any are left so that a message accepted just before close() is not lost.
+  private final AtomicInteger producers = new AtomicInteger();
+  private volatile boolean running;
+
+  public RingBufferEventBus(InvokerRepository invokerRepository, InterceptorChainFactory interceptorChainFactory,
+                            List<InvokerFactory> invokerFactories, UnitOfWorkFactory unitOfWorkFactory,
+                            int capacity, int consumerCount) {
+    this(invokerRepository, interceptorChainFactory, invokerFactories, unitOfWorkFactory, capacity, consumerCount,
+        new EventBusThreadFactory(DEFAULT_THREAD_NAME_PREFIX), new ParkingWaitStrategy(), SaturationPolicy.BLOCK, false);
+  }
+
+  public RingBufferEventBus(InvokerRepository invokerRepository, InterceptorChainFactory interceptorChainFactory,
+                            List<InvokerFactory> invokerFactories, UnitOfWorkFactory unitOfWorkFactory,
+                            int capacity, int consumerCount, ThreadFactory threadFactory, WaitStrategy waitStrategy,
+                            SaturationPolicy saturationPolicy, boolean asyncEventHandling) {
+    super(invokerRepository, interceptorChainFactory, invokerFactories, unitOfWorkFactory);
+    if (consumerCount < 1) {
+      throw new IllegalArgumentException(String.format("At least one consumer is required, but was %s.", consumerCount));
+    }
+    this.ringBuffer = new RingBuffer<>(capacity, Slot::new);
+    this.waitStrategy = waitStrategy;
+    this.saturationPolicy = saturationPolicy;
+    this.asyncEventHandling = asyncEventHandling;
+    this.consumers = new Thread[consumerCount];
+    this.running = true;
+    for (int i = 0; i < consumerCount; i++) {
+      consumers[i] = threadFactory.newThread(this::consume);
+      consumers[i].start();
+    }
+  }
+
+  @Override
+  protected <ReturnType> void dispatchInternal(Object command, CommandCallback<ReturnType> callback, UnitOfWork unitOfWork) {
+    boolean enqueued;
+    try {
+      enqueued = enqueue(Kind.COMMAND, command, callback, unitOfWork, null);
+    } catch (IllegalStateException exception) {
+      // the event bus was closed, the caller is told through the callback like for any other rejection.
+      callback.onFailure(exception);
+      return;
+    }
+    if (!enqueued) {
+      callback.onFailure(new EventBusSaturatedException(
+          String.format("Could not dispatch %s, the ring buffer is full.", command.getClass().getSimpleName())));
+    }
+  }
+
+  @Override
+  protected void dispatchBatchInternal(List<Object> commands, BatchCommitMode commitMode,
+                                       CommandCallback<List<CommandResult>> callback) {
+    boolean enqueued;
+    try {
+      enqueued = enqueue(Kind.COMMAND_BATCH, commands, callback, null, commitMode);
+    } catch (IllegalStateException exception) {
+      callback.onFailure(exception);
+      return;
+    }
+    if (!enqueued) {
+      callback.onFailure(new EventBusSaturatedException(
+          String.format("Could not dispatch a batch of %s commands, the ring buffer is full.", commands.size())));
+    }
+  }
+
+  @Override
+  protected void publishInternal(Object event, UnitOfWork unitOfWork) {
+    if (!asyncEventHandling) {
+      super.publishInternal(event, unitOfWork);
+    } else if (!enqueue(Kind.EVENT, event, null, unitOfWork, null)) {
+      throw new EventBusSaturatedException(
+          String.format("Could not publish %s, the ring buffer is full.", event.getClass().getSimpleName()));
+    }
+  }
+
+  @Override
+  protected void publishBatchInternal(List<EventBatch> batches, UnitOfWork unitOfWork) {
+    if (!asyncEventHandling) {
+      super.publishBatchInternal(batches, unitOfWork);
+    } else if (!enqueue(Kind.EVENT_BATCH, batches, null, unitOfWork, null)) {
+      throw new EventBusSaturatedException(
+          String.format("Could not publish %s batches of events, the ring buffer is full.", batches.size()));
+    }
+  }
+
+  private boolean enqueue(Kind kind, Object message, CommandCallback<?> callback, UnitOfWork unitOfWork,
+                          BatchCommitMode commitMode) {
+    producers.incrementAndGet();
+    try {
+      if (!running) {
+        throw new IllegalStateException("The event bus has been closed.");
+      }
+      long sequence = claim();
+      if (sequence < 0) {
+        if (saturationPolicy == SaturationPolicy.CALLER_RUNS || isConsumerThread()) {
+          getLogger().debug("The ring buffer is full, handling {} on the calling thread.", message);
+          handle(kind, message, callback, unitOfWork, commitMode);
+          return true;
+        }
+        return false;
+      }
+
+      if (unitOfWork != null && (kind == Kind.EVENT || kind == Kind.EVENT_BATCH)) {
+        // the events are handled after the command which published them finished, its UnitOfWork should not be reused.
+        unitOfWork.retain();
+      }
+      Slot slot = ringBuffer.get(sequence);
+      slot.kind = kind;
+      slot.message = message;
+      slot.callback = callback;
+      slot.unitOfWork = unitOfWork;
+      slot.commitMode = commitMode;
+      slot.context = captureContext();
+      ringBuffer.publish(sequence);
+      return true;
+    } finally {
+      producers.decrementAndGet();
+    }
+  }
+
+  private long claim() {
+    long sequence = ringBuffer.tryClaim();
+    if (sequence < 0 && saturationPolicy == SaturationPolicy.BLOCK && !isConsumerThread()) {
+      int attempt = 0;
+      while ((sequence = ringBuffer.tryClaim()) < 0) {
+        if (!running) {
+          throw new IllegalStateException("The event bus has been closed while waiting for capacity.");
+        }
+        waitStrategy.idle(attempt);
+        attempt = nextAttempt(attempt);
+      }
+    }
+    return sequence;
+  }
+
+  private void consume() {
+    int attempt = 0;
+    while (true) {
+      long sequence = ringBuffer.tryTake();
+      if (sequence < 0 && !running && producers.get() == 0) {
+        // a producer which was still publishing when the ring buffer looked empty has finished by now.
+        sequence = ringBuffer.tryTake();
+        if (sequence < 0) {
+          return;
+        }
+      }
+      if (sequence < 0) {
+        waitStrategy.idle(attempt);
+        attempt = nextAttempt(attempt);
+        continue;
+      }
+      attempt = 0;
+
+      // copy the message out of the slot so the slot can be reused while the message is being handled.
+      Slot slot = ringBuffer.get(sequence);
+      Kind kind = slot.kind;
+      Object message = slot.message;
+      CommandCallback<?> callback = slot.callback;
+      UnitOfWork unitOfWork = slot.unitOfWork;
+      BatchCommitMode commitMode = slot.commitMode;
+      ContextSnapshot context = slot.context;
+      slot.clear();
+      ringBuffer.release(sequence);
+
+      ContextSnapshot previous = context.apply();
+      try {
+        handle(kind, message, callback, unitOfWork, commitMode);
+      } catch (RuntimeException exception) {
+        getLogger().error("An exception occurred while handling {}", message, exception);
+      } finally {
+        previous.restore();
+        if (unitOfWork != null && (kind == Kind.EVENT || kind == Kind.EVENT_BATCH)) {
+          unitOfWork.release();
+        }
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void handle(Kind kind, Object message, CommandCallback<?> callback, UnitOfWork unitOfWork,
+                      BatchCommitMode commitMode) {
+    // a message handled on the calling thread should not lose the UnitOfWork that thread might be running.
+    UnitOfWork current = UnitOfWorkRepository.get();
+    try {
+      switch (kind) {
+        case COMMAND:
+          super.dispatchInternal(message, callback, unitOfWork);
+          break;
+        case COMMAND_BATCH:
+          super.dispatchBatchInternal((List<Object>) message, commitMode,
+              (CommandCallback<List<CommandResult>>) callback);
+          break;
+        case EVENT:
+          super.publishInternal(message, unitOfWork);
+          break;
+        case EVENT_BATCH:
+          super.publishBatchInternal((List<EventBatch>) message, unitOfWork);
+          break;
+        default:
+          throw new IllegalStateException(String.format("Unknown kind of message %s.", kind));
+      }
+    } finally {
+      if (current != null) {
+        UnitOfWorkRepository.store(current);
+      }
+    }
+  }
+
+  private boolean isConsumerThread() {
+    Thread currentThread = Thread.currentThread();
+    for (Thread consumer : consumers) {
+      if (consumer == currentThread) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int nextAttempt(int attempt) {
+    return attempt == Integer.MAX_VALUE ? attempt : attempt + 1;
+  }
+
+  /**
+   * Stops accepting messages and waits until the consumer threads have handled the messages in the ring buffer,
+   * including the messages of producers which were accepted before the bus was closed. A command dispatched afterwards
+   * fails its callback with an IllegalStateException.
+   */
+  @Override
+  public void close() {
+    running = false;
+    for (Thread consumer : consumers) {
+      if (consumer == Thread.currentThread()) {
+        continue;
+      }
+      LockSupport.unpark(consumer);
+      try {
+        consumer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  protected Logger getLogger() {
+    return logger;
+  }
+
+  private enum Kind {
+    COMMAND, COMMAND_BATCH, EVENT, EVENT_BATCH
+  }
+
+  private static final class Slot {
+
+    private Kind kind;
+    private Object message;
+    private CommandCallback<?> callback;
+    private UnitOfWork unitOfWork;
+    // only set when the message is a batch of commands.
+    private BatchCommitMode commitMode;
+    private ContextSnapshot context;
+
+    private void clear() {
+      kind = null;
+      message = null;
+      callback = null;
+      unitOfWork = null;
+      commitMode = null;
+      context = null;
+    }
+  }
+}
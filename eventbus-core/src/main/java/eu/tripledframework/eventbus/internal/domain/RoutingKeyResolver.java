@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+/**
+ * Resolves the routing key of a command or event. Messages with the same routing key are handled in order, by the same
+ * thread, on a partitioned event bus.
+ */
+public interface RoutingKeyResolver {
+
+  /**
+   * Resolves the routing key of the given message.
+   *
+   * @param message The command or event.
+   * @return the routing key, or <code>null</code> if the message has no routing key.
+   */
+  Object resolve(Object message);
+}
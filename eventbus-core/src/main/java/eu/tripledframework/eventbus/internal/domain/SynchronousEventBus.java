@@ -15,17 +15,30 @@
  */
 package eu.tripledframework.eventbus.internal.domain;
 
+import eu.tripledframework.eventbus.BatchCommitMode;
 import eu.tripledframework.eventbus.CommandCallback;
 import eu.tripledframework.eventbus.CommandDispatcher;
+import eu.tripledframework.eventbus.CommandResult;
 import eu.tripledframework.eventbus.EventPublisher;
 import eu.tripledframework.eventbus.EventSubscriber;
+import eu.tripledframework.eventbus.internal.infrastructure.callback.CompletableFutureCommandCallback;
 import eu.tripledframework.eventbus.internal.infrastructure.callback.FutureCommandCallback;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextSnapshot;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.BatchAbortedException;
 import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.UnitOfWorkRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 public class SynchronousEventBus implements CommandDispatcher, EventPublisher, EventSubscriber {
@@ -36,6 +49,8 @@ public class SynchronousEventBus implements CommandDispatcher, EventPublisher, E
     private final InterceptorChainFactory interceptorChainFactory;
     private UnitOfWorkFactory unitOfWorkFactory;
     private List<InvokerFactory> eventHandlerInvokerFactories;
+    private volatile DispatchTraceListener dispatchTraceListener;
+    private volatile ContextPropagator contextPropagator = ContextPropagator.NONE;
 
     public SynchronousEventBus(InvokerRepository invokerRepository, InterceptorChainFactory interceptorChainFactory,
                                List<InvokerFactory> invokerFactories, UnitOfWorkFactory unitOfWorkFactory) {
@@ -45,6 +60,34 @@ public class SynchronousEventBus implements CommandDispatcher, EventPublisher, E
         this.unitOfWorkFactory = unitOfWorkFactory;
     }
 
+    /**
+     * Sets the listener which receives a {@link DispatchTrace} of every dispatched command. Commands are only traced
+     * while a listener is set.
+     *
+     * @param dispatchTraceListener The listener, or <code>null</code> to stop tracing.
+     */
+    public void setDispatchTraceListener(DispatchTraceListener dispatchTraceListener) {
+        this.dispatchTraceListener = dispatchTraceListener;
+    }
+
+    /**
+     * Sets the propagator which captures the thread-bound values that should be available to the handlers of the
+     * messages dispatched by the current thread. Only event buses which handle messages on other threads use it.
+     *
+     * @param contextPropagator The propagator, or <code>null</code> to stop propagating.
+     */
+    public void setContextPropagator(ContextPropagator contextPropagator) {
+        this.contextPropagator = contextPropagator == null ? ContextPropagator.NONE : contextPropagator;
+    }
+
+    /**
+     * @return a snapshot of the thread-bound values which should be applied when handling a message dispatched by the
+     * current thread.
+     */
+    protected ContextSnapshot captureContext() {
+        return contextPropagator.capture();
+    }
+
     @Override
     public void subscribe(Object eventHandler) {
         eventHandlerInvokerFactories.stream()
@@ -74,13 +117,26 @@ public class SynchronousEventBus implements CommandDispatcher, EventPublisher, E
         getLogger().debug("Received a command for publication: {}", command);
 
         UnitOfWork unitOfWork = unitOfWorkFactory.create();
+        if (dispatchTraceListener != null) {
+            unitOfWork.addData(DispatchTrace.UNIT_OF_WORK_KEY, new DispatchTrace(command));
+        }
         dispatchInternal(command, callback, unitOfWork);
 
         getLogger().debug("Dispatched command {}", command);
     }
 
     protected <ReturnType> void dispatchInternal(Object event, CommandCallback<ReturnType> callback, UnitOfWork unitOfWork) {
+        if (callback.isCancelled()) {
+            getLogger().debug("Not handling command {} because it was cancelled.", event);
+            return;
+        }
+        DispatchTrace trace = dispatchTraceListener == null ? null
+                : unitOfWork.getData(DispatchTrace.UNIT_OF_WORK_KEY);
         Invoker invoker = invokerRepository.getByEventType(event.getClass());
+        if (trace != null) {
+            trace.started();
+            invoker = new TracingInvoker(invoker, trace);
+        }
         InterceptorChain<ReturnType> interceptorChain = interceptorChainFactory.createChain(event, unitOfWork, invoker);
 
         ReturnType response = null;
@@ -88,16 +144,165 @@ public class SynchronousEventBus implements CommandDispatcher, EventPublisher, E
         try {
             UnitOfWorkRepository.store(unitOfWork);
             response = interceptorChain.proceed();
-            UnitOfWorkRepository.get().commit(this);
+            if (trace != null) {
+                trace.chainFinished();
+            }
+            unitOfWork.commit(this);
         } catch (RuntimeException exception) {
-            UnitOfWorkRepository.get().rollback();
+            unitOfWork.rollback();
             thrownException = exception;
         }
 
+        if (trace != null) {
+            trace.finished(thrownException);
+            reportTrace(trace);
+        }
         invokeAppropriateCallbackMethod(callback, response, thrownException);
         UnitOfWorkRepository.clear();
     }
 
+    private void reportTrace(DispatchTrace trace) {
+        DispatchTraceListener listener = dispatchTraceListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onDispatchCompleted(trace);
+        } catch (RuntimeException exception) {
+            getLogger().warn("The DispatchTraceListener failed for {}", trace, exception);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<CommandResult>> dispatchAll(Collection<?> commands, BatchCommitMode commitMode) {
+        Objects.requireNonNull(commands, "The commands cannot be null.");
+        Objects.requireNonNull(commitMode, "The commit mode cannot be null.");
+        List<Object> batch = new ArrayList<>(commands);
+        batch.forEach(command -> Objects.requireNonNull(command, "The commands cannot contain null."));
+        getLogger().debug("Received a batch of {} commands for publication.", batch.size());
+
+        CompletableFutureCommandCallback<List<CommandResult>> future = new CompletableFutureCommandCallback<>();
+        if (batch.isEmpty()) {
+            future.onSuccess(Collections.emptyList());
+            return future;
+        }
+        dispatchBatchInternal(batch, commitMode, future);
+
+        getLogger().debug("Dispatched a batch of {} commands.", batch.size());
+        return future;
+    }
+
+    protected void dispatchBatchInternal(List<Object> commands, BatchCommitMode commitMode,
+                                         CommandCallback<List<CommandResult>> callback) {
+        if (callback.isCancelled()) {
+            getLogger().debug("Not handling a batch of {} commands because it was cancelled.", commands.size());
+            return;
+        }
+
+        CommandResult[] results = new CommandResult[commands.size()];
+        try {
+            Invoker[] invokers = resolveInvokers(commands, results);
+            if (commitMode == BatchCommitMode.ALL_OR_NOTHING) {
+                handleAllOrNothing(commands, invokers, results);
+            } else {
+                handleEachInItsOwnUnitOfWork(commands, invokers, results);
+            }
+        } catch (RuntimeException exception) {
+            callback.onFailure(exception);
+            return;
+        }
+        callback.onSuccess(Collections.unmodifiableList(Arrays.asList(results)));
+    }
+
+    /**
+     * Looks up the invoker of every command, only once per command type. A command for which no invoker could be found
+     * gets a failed result.
+     */
+    private Invoker[] resolveInvokers(List<Object> commands, CommandResult[] results) {
+        Map<Class<?>, Invoker> invokersByType = new HashMap<>();
+        Invoker[] invokers = new Invoker[commands.size()];
+        for (int i = 0; i < invokers.length; i++) {
+            Object command = commands.get(i);
+            try {
+                invokers[i] = invokersByType.computeIfAbsent(command.getClass(), invokerRepository::getByEventType);
+            } catch (RuntimeException exception) {
+                results[i] = CommandResult.failure(command, exception);
+            }
+        }
+        return invokers;
+    }
+
+    private void handleEachInItsOwnUnitOfWork(List<Object> commands, Invoker[] invokers, CommandResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Object command = commands.get(i);
+            UnitOfWork unitOfWork = unitOfWorkFactory.create();
+            try {
+                UnitOfWorkRepository.store(unitOfWork);
+                Object response = interceptorChainFactory.createChain(command, unitOfWork, invokers[i]).proceed();
+                unitOfWork.commit(this);
+                results[i] = CommandResult.success(command, response);
+            } catch (RuntimeException exception) {
+                unitOfWork.rollback();
+                results[i] = CommandResult.failure(command, exception);
+            }
+            UnitOfWorkRepository.clear();
+        }
+    }
+
+    private void handleAllOrNothing(List<Object> commands, Invoker[] invokers, CommandResult[] results) {
+        int failedIndex = indexOfFirstFailure(results);
+        RuntimeException failure = failedIndex < 0 ? null : results[failedIndex].getException();
+        Object[] responses = new Object[results.length];
+
+        if (failure == null) {
+            UnitOfWork unitOfWork = unitOfWorkFactory.create();
+            UnitOfWorkRepository.store(unitOfWork);
+            for (int i = 0; i < results.length && failure == null; i++) {
+                try {
+                    responses[i] = interceptorChainFactory.createChain(commands.get(i), unitOfWork, invokers[i]).proceed();
+                } catch (RuntimeException exception) {
+                    failedIndex = i;
+                    failure = exception;
+                }
+            }
+            try {
+                if (failure == null) {
+                    unitOfWork.commit(this);
+                }
+            } catch (RuntimeException exception) {
+                failure = exception;
+            }
+            if (failure != null) {
+                unitOfWork.rollback();
+            }
+            UnitOfWorkRepository.clear();
+        }
+
+        if (failure == null) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = CommandResult.success(commands.get(i), responses[i]);
+            }
+        } else {
+            BatchAbortedException aborted = new BatchAbortedException(failedIndex < 0
+                    ? "The batch was rolled back because it could not be committed."
+                    : String.format("The batch was rolled back because command %s failed.", failedIndex), failure);
+            for (int i = 0; i < results.length; i++) {
+                results[i] = CommandResult.failure(commands.get(i), i == failedIndex ? failure : aborted);
+            }
+        }
+    }
+
+    private static int indexOfFirstFailure(CommandResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
 
     private <ReturnType> void invokeAppropriateCallbackMethod(CommandCallback<ReturnType> eventCallback,
                                                               ReturnType response, RuntimeException thrownException) {
@@ -113,16 +318,82 @@ public class SynchronousEventBus implements CommandDispatcher, EventPublisher, E
         Objects.requireNonNull(event, "The event should not be null.");
         getLogger().debug("Received an event to publish. {}", event);
 
-        if (UnitOfWorkRepository.isRunning()) {
-            UnitOfWorkRepository.get().scheduleEvent(event);
+        UnitOfWork unitOfWork = UnitOfWorkRepository.get();
+        if (unitOfWork != null && unitOfWork.isRunning()) {
+            unitOfWork.scheduleEvent(event);
             getLogger().debug("Scheduled event to be published later because a UnitOfWork exists for this thread.");
         } else {
-            publishInternal(event, UnitOfWorkRepository.get());
+            publishInternal(event, unitOfWork);
             getLogger().debug("Published event {}", event);
         }
 
     }
 
+    @Override
+    public void publishAll(Collection<?> events) {
+        Objects.requireNonNull(events, "The events should not be null.");
+        events.forEach(event -> Objects.requireNonNull(event, "The events should not contain null."));
+        getLogger().debug("Received {} events to publish.", events.size());
+
+        UnitOfWork unitOfWork = UnitOfWorkRepository.get();
+        if (unitOfWork != null && unitOfWork.isRunning()) {
+            events.forEach(unitOfWork::scheduleEvent);
+            getLogger().debug("Scheduled events to be published later because a UnitOfWork exists for this thread.");
+        } else if (!events.isEmpty()) {
+            publishBatchInternal(groupConsecutiveByType(events), unitOfWork);
+            getLogger().debug("Published {} events", events.size());
+        }
+    }
+
+    /**
+     * Groups the consecutive events of the same type, so the events are still published in the given order. Grouping
+     * all events of a type would reorder them for the handlers of a common supertype, or of several types.
+     */
+    private static List<EventBatch> groupConsecutiveByType(Collection<?> events) {
+        List<EventBatch> batches = new ArrayList<>();
+        Class<?> currentType = null;
+        List<Object> eventsOfType = null;
+        for (Object event : events) {
+            if (event.getClass() != currentType) {
+                if (eventsOfType != null) {
+                    batches.add(new EventBatch(currentType, eventsOfType));
+                }
+                currentType = event.getClass();
+                eventsOfType = new ArrayList<>();
+            }
+            eventsOfType.add(event);
+        }
+        if (eventsOfType != null) {
+            batches.add(new EventBatch(currentType, eventsOfType));
+        }
+        return batches;
+    }
+
+    protected void publishBatchInternal(List<EventBatch> batches, UnitOfWork unitOfWork) {
+        batches.forEach(batch -> publishBatchOfType(batch, unitOfWork));
+    }
+
+    private void publishBatchOfType(EventBatch batch, UnitOfWork unitOfWork) {
+        List<Invoker> invokers = invokerRepository.findAllByEventType(batch.getEventType());
+        if (invokers.isEmpty()) {
+            getLogger().warn("{} events were published for which no EventHandler exists! {}", batch.size(), batch);
+            return;
+        }
+
+        List<Invoker> batchInvokers = new ArrayList<>();
+        List<Invoker> eventInvokers = new ArrayList<>();
+        invokers.forEach(invoker -> (invoker.handlesBatches() ? batchInvokers : eventInvokers).add(invoker));
+
+        if (!batchInvokers.isEmpty()) {
+            interceptorChainFactory.createChain(batch, unitOfWork, batchInvokers).proceed();
+        }
+        if (!eventInvokers.isEmpty()) {
+            for (Object event : batch.getEvents()) {
+                interceptorChainFactory.createChain(event, unitOfWork, eventInvokers).proceed();
+            }
+        }
+    }
+
     protected void publishInternal(Object event, UnitOfWork unitOfWork) {
         List<Invoker> invokers = invokerRepository.findAllByEventType(event.getClass());
         if (invokers.isEmpty()) {
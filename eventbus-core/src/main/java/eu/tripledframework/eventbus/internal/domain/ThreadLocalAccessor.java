@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+/**
+ * Gives access to a value bound to the current thread, such as the value of a ThreadLocal, so that an event bus can
+ * propagate it to the threads on which it handles the messages dispatched by the current thread.
+ *
+ * @param <T> The type of the value.
+ */
+public interface ThreadLocalAccessor<T> {
+
+  /**
+   * @return the value bound to the current thread, or <code>null</code> when there is none.
+   */
+  T getValue();
+
+  /**
+   * Binds the given value to the current thread.
+   *
+   * @param value The value, never <code>null</code>.
+   */
+  void setValue(T value);
+
+  /**
+   * Removes the value bound to the current thread.
+   */
+  void reset();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+/**
+ * An Invoker which records on a {@link DispatchTrace} when the handler started and finished.
+ */
+final class TracingInvoker implements Invoker {
+
+  private final Invoker delegate;
+  private final DispatchTrace trace;
+
+  TracingInvoker(Invoker delegate, DispatchTrace trace) {
+    this.delegate = delegate;
+    this.trace = trace;
+  }
+
+  @Override
+  public boolean handles(Class<?> eventTypeToHandle) {
+    return delegate.handles(eventTypeToHandle);
+  }
+
+  @Override
+  public boolean hasReturnType() {
+    return delegate.hasReturnType();
+  }
+
+  @Override
+  public Object invoke(Object object) {
+    trace.handlerStarted();
+    try {
+      return delegate.invoke(object);
+    } finally {
+      trace.handlerFinished();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+}
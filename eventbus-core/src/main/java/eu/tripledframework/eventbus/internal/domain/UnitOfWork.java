@@ -34,4 +34,41 @@ public interface UnitOfWork {
   void scheduleEvent(Object event);
 
   Object getData(String key);
+
+  /**
+   * Stores a value under the given typed key.
+   *
+   * @param key   The key.
+   * @param value The value, or <code>null</code> to remove the value.
+   * @param <T>   The type of the value.
+   */
+  default <T> void addData(ContextKey<T> key, T value) {
+    addData(key.getName(), value);
+  }
+
+  /**
+   * Returns the value stored under the given typed key.
+   *
+   * @param key The key.
+   * @param <T> The type of the value.
+   * @return the value, or <code>null</code> when no value of the type of the key is stored under the key.
+   */
+  default <T> T getData(ContextKey<T> key) {
+    Object value = getData(key.getName());
+    return key.getType().isInstance(value) ? key.getType().cast(value) : null;
+  }
+
+  /**
+   * Signals that the unit of work is referenced by a thread or a task, and should not be reused before it is released
+   * again. Pooling implementations are only reused when every reference was released after they were committed or
+   * rolled back.
+   */
+  default void retain() {
+  }
+
+  /**
+   * Signals that a reference obtained through {@link #retain()} is no longer used.
+   */
+  default void release() {
+  }
 }
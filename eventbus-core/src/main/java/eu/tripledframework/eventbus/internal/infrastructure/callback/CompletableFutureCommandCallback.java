@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.callback;
+
+import eu.tripledframework.eventbus.CommandCallback;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A CommandCallback which is also a CompletableFuture, completed directly by the EventBus once the command is handled.
+ * <p>
+ * Cancelling the future before the command is handled prevents the EventBus from handling it.
+ *
+ * @param <ReturnType> The ReturnType of the command.
+ */
+public class CompletableFutureCommandCallback<ReturnType> extends CompletableFuture<ReturnType>
+    implements CommandCallback<ReturnType> {
+
+  @Override
+  public void onSuccess(ReturnType result) {
+    complete(result);
+  }
+
+  @Override
+  public void onFailure(RuntimeException exception) {
+    completeExceptionally(exception);
+  }
+}
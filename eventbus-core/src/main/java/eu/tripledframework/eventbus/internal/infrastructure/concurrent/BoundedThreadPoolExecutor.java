@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ThreadPoolExecutor with a bounded queue, which applies a {@link SaturationPolicy} once both the queue and the pool
+ * are full. With the FAIL_FAST policy, a {@link RejectedExecutionException} is thrown by {@link #execute(Runnable)}.
+ * <p>
+ * A task submitted by a task of the pool itself while the pool is saturated is always run by the submitting thread,
+ * since blocking or failing it could otherwise deadlock the pool or fail the outer task. Executors can share the marker
+ * of the threads running their tasks, a task which one of them submits to another saturated one is then rejected
+ * instead of blocking, since the two could otherwise wait for each other.
+ */
+public class BoundedThreadPoolExecutor extends ThreadPoolExecutor {
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final ThreadLocal<ThreadPoolExecutor> runningTask;
+
+  public BoundedThreadPoolExecutor(int corePoolSize, int maxPoolSize, int queueCapacity,
+                                   SaturationPolicy saturationPolicy, ThreadFactory threadFactory) {
+    this(corePoolSize, maxPoolSize, queueCapacity, saturationPolicy, threadFactory, new ThreadLocal<>());
+  }
+
+  /**
+   * Creates an executor which marks its threads in the given ThreadLocal, which can be shared with other executors.
+   * A task submitted by a thread of one of those other executors is never blocked on a full queue, but rejected.
+   */
+  BoundedThreadPoolExecutor(int corePoolSize, int maxPoolSize, int queueCapacity, SaturationPolicy saturationPolicy,
+                            ThreadFactory threadFactory, ThreadLocal<ThreadPoolExecutor> runningTask) {
+    super(corePoolSize, maxPoolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+        threadFactory, rejectedExecutionHandler(saturationPolicy));
+    this.runningTask = runningTask;
+  }
+
+  @Override
+  protected void beforeExecute(Thread thread, Runnable runnable) {
+    runningTask.set(this);
+    super.beforeExecute(thread, runnable);
+  }
+
+  @Override
+  protected void afterExecute(Runnable runnable, Throwable throwable) {
+    super.afterExecute(runnable, throwable);
+    runningTask.remove();
+  }
+
+  private boolean isRunningTask() {
+    return runningTask.get() == this;
+  }
+
+  private boolean isRunningTaskOfOtherExecutor() {
+    ThreadPoolExecutor executor = runningTask.get();
+    return executor != null && executor != this;
+  }
+
+  private static RejectedExecutionHandler rejectedExecutionHandler(SaturationPolicy saturationPolicy) {
+    switch (saturationPolicy) {
+      case FAIL_FAST:
+        return new FailFastPolicy();
+      case CALLER_RUNS:
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+      default:
+        return new BlockPolicy();
+    }
+  }
+
+  private static class FailFastPolicy implements RejectedExecutionHandler {
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+      if (!executor.isShutdown() && ((BoundedThreadPoolExecutor) executor).isRunningTask()) {
+        runnable.run();
+      } else {
+        throw new RejectedExecutionException(String.format(
+            "The executor is saturated: %s active threads and %s queued tasks.", executor.getActiveCount(),
+            executor.getQueue().size()));
+      }
+    }
+  }
+
+  private static class BlockPolicy implements RejectedExecutionHandler {
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+      if (executor.isShutdown()) {
+        throw new RejectedExecutionException("The executor has been shut down.");
+      }
+      BoundedThreadPoolExecutor boundedExecutor = (BoundedThreadPoolExecutor) executor;
+      if (boundedExecutor.isRunningTask()) {
+        runnable.run();
+        return;
+      }
+      if (boundedExecutor.isRunningTaskOfOtherExecutor()) {
+        throw new RejectedExecutionException(String.format(
+            "The executor is saturated: %s queued tasks, and waiting for it could deadlock the submitting executor.",
+            executor.getQueue().size()));
+      }
+      try {
+        executor.getQueue().put(runnable);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException("Interrupted while waiting for the executor to accept the task.", e);
+      }
+      // the workers may already have stopped if the executor was shut down while we were waiting.
+      if (executor.isShutdown() && executor.remove(runnable)) {
+        throw new RejectedExecutionException("The executor has been shut down.");
+      }
+    }
+  }
+}
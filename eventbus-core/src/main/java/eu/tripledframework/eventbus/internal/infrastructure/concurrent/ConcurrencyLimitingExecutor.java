@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An Executor which limits the number of tasks of a delegate executor that run at the same time.
+ * <p>
+ * Tasks are handed to the delegate right away and wait for a permit on the thread of the delegate, so submitting never
+ * blocks the caller. This is meant to be combined with a virtual thread executor, where a waiting task only costs a
+ * parked virtual thread, to protect a limited resource such as a connection pool.
+ */
+public class ConcurrencyLimitingExecutor implements Executor {
+
+  private final Executor delegate;
+  private final Semaphore permits;
+
+  public ConcurrencyLimitingExecutor(Executor delegate, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException(
+          String.format("The maximum concurrency should be at least 1, but was %s.", maxConcurrency));
+    }
+    this.delegate = delegate;
+    this.permits = new Semaphore(maxConcurrency);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    delegate.execute(() -> {
+      permits.acquireUninterruptibly();
+      try {
+        task.run();
+      } finally {
+        permits.release();
+      }
+    });
+  }
+}
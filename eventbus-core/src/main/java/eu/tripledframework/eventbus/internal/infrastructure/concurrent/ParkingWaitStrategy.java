@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A WaitStrategy which spins, then yields and finally parks the thread for a short, fixed amount of time. An idle thread
+ * uses next to no CPU, at the cost of up to one park period of extra latency for the first message after a quiet period.
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+
+  private static final int SPIN_TRIES = 100;
+  private static final int YIELD_TRIES = 100;
+  private static final long DEFAULT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final long parkNanos;
+
+  public ParkingWaitStrategy() {
+    this(DEFAULT_PARK_NANOS);
+  }
+
+  public ParkingWaitStrategy(long parkNanos) {
+    this.parkNanos = parkNanos;
+  }
+
+  @Override
+  public void idle(int attempt) {
+    if (attempt < SPIN_TRIES) {
+      return;
+    }
+    if (attempt < SPIN_TRIES + YIELD_TRIES) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(parkNanos);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An Executor which spreads its tasks over a fixed number of lanes, each served by a single thread with a bounded queue.
+ * Tasks with the same key always run on the same lane, so they run one after the other in the order in which they were
+ * submitted, while tasks with different keys run in parallel. Tasks without a key are spread over the lanes round robin.
+ * <p>
+ * A full lane applies the {@link SaturationPolicy}, see {@link BoundedThreadPoolExecutor}. Only the thread of a lane
+ * runs a task of that lane, so the CALLER_RUNS policy is not supported. A task submitted to a full lane by the task of
+ * another lane is rejected rather than blocked, since two lanes could otherwise wait for each other.
+ */
+public class PartitionedExecutor implements Executor {
+
+  private final ThreadPoolExecutor[] lanes;
+  private final AtomicInteger nextLane = new AtomicInteger();
+  // marks the threads running a task with the lane they belong to.
+  private final ThreadLocal<ThreadPoolExecutor> runningTask = new ThreadLocal<>();
+
+  public PartitionedExecutor(int laneCount, int queueCapacity, SaturationPolicy saturationPolicy,
+                             ThreadFactory threadFactory) {
+    if (laneCount < 1) {
+      throw new IllegalArgumentException(String.format("At least one lane is required, but was %s.", laneCount));
+    }
+    if (saturationPolicy == SaturationPolicy.CALLER_RUNS) {
+      throw new IllegalArgumentException(
+          "The CALLER_RUNS policy would handle a task before the tasks queued on its lane, use BLOCK or FAIL_FAST.");
+    }
+    lanes = new ThreadPoolExecutor[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] = new BoundedThreadPoolExecutor(1, 1, queueCapacity, saturationPolicy, threadFactory, runningTask);
+    }
+  }
+
+  /**
+   * Executes the given task on the lane of the given key.
+   *
+   * @param key  The key of the task, or <code>null</code> if the task can run on any lane.
+   * @param task The task to execute.
+   */
+  public void execute(Object key, Runnable task) {
+    laneFor(key).execute(task);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    execute(null, task);
+  }
+
+  public int getLaneCount() {
+    return lanes.length;
+  }
+
+  /**
+   * Returns whether the calling thread is running a task of one of the lanes.
+   */
+  public boolean isRunningTask() {
+    return runningTask.get() != null;
+  }
+
+  private ThreadPoolExecutor laneFor(Object key) {
+    if (key == null) {
+      return lanes[Math.floorMod(nextLane.getAndIncrement(), lanes.length)];
+    }
+    int hash = key.hashCode();
+    // spread the higher bits, keys often only differ in those.
+    return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+  }
+
+  /**
+   * Stops accepting tasks. The tasks which were already submitted are still executed.
+   */
+  public void shutdown() {
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+  }
+
+  /**
+   * Waits until all lanes have executed their tasks after a {@link #shutdown()}.
+   *
+   * @return <code>true</code> if all lanes terminated within the given timeout.
+   * @throws InterruptedException when interrupted while waiting.
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (ThreadPoolExecutor lane : lanes) {
+      if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer ring buffer with preallocated entries.
+ * <p>
+ * Every slot of the buffer carries a sequence number which tells producers and consumers whether the slot is free to be
+ * written or ready to be read. Claiming a slot is a single compare-and-set on the producer or consumer cursor, no
+ * locks are taken and no objects are allocated once the buffer is created.
+ * <p>
+ * Writing and reading are two phase operations. A producer first claims a sequence using {@link #tryClaim()}, fills the
+ * entry returned by {@link #get(long)} and then makes it visible to consumers using {@link #publish(long)}. A consumer
+ * takes a sequence using {@link #tryTake()}, reads the entry and hands the slot back using {@link #release(long)}.
+ *
+ * @param <E> the type of the preallocated entries.
+ */
+public final class RingBuffer<E> {
+
+  private final Object[] entries;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong producerCursor = new AtomicLong();
+  private final AtomicLong consumerCursor = new AtomicLong();
+
+  /**
+   * Creates a new ring buffer.
+   *
+   * @param capacity     the number of slots, this should be a power of two of at least 2.
+   * @param entryFactory the factory used to preallocate an entry for every slot.
+   */
+  public RingBuffer(int capacity, Supplier<E> entryFactory) {
+    // with a single slot, a published sequence could not be told apart from a free one.
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException(
+          String.format("The capacity should be a power of two of at least 2, but was %s.", capacity));
+    }
+    this.entries = new Object[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      entries[i] = entryFactory.get();
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Claims the next slot for writing.
+   *
+   * @return the claimed sequence, or -1 when the buffer is full.
+   */
+  public long tryClaim() {
+    long cursor = producerCursor.get();
+    while (true) {
+      long difference = sequences.get(index(cursor)) - cursor;
+      if (difference == 0) {
+        if (producerCursor.compareAndSet(cursor, cursor + 1)) {
+          return cursor;
+        }
+        cursor = producerCursor.get();
+      } else if (difference < 0) {
+        return -1;
+      } else {
+        cursor = producerCursor.get();
+      }
+    }
+  }
+
+  /**
+   * Makes a claimed slot available to the consumers.
+   *
+   * @param sequence the sequence returned by {@link #tryClaim()}.
+   */
+  public void publish(long sequence) {
+    sequences.lazySet(index(sequence), sequence + 1);
+  }
+
+  /**
+   * Takes the next published slot for reading.
+   *
+   * @return the taken sequence, or -1 when there is nothing to read.
+   */
+  public long tryTake() {
+    long cursor = consumerCursor.get();
+    while (true) {
+      long difference = sequences.get(index(cursor)) - (cursor + 1);
+      if (difference == 0) {
+        if (consumerCursor.compareAndSet(cursor, cursor + 1)) {
+          return cursor;
+        }
+        cursor = consumerCursor.get();
+      } else if (difference < 0) {
+        return -1;
+      } else {
+        cursor = consumerCursor.get();
+      }
+    }
+  }
+
+  /**
+   * Hands a slot which was read back to the producers.
+   *
+   * @param sequence the sequence returned by {@link #tryTake()}.
+   */
+  public void release(long sequence) {
+    sequences.lazySet(index(sequence), sequence + entries.length);
+  }
+
+  /**
+   * Returns the entry of the slot with the given sequence. It should only be accessed by the thread which claimed or
+   * took the sequence.
+   */
+  @SuppressWarnings("unchecked")
+  public E get(long sequence) {
+    return (E) entries[index(sequence)];
+  }
+
+  public int getCapacity() {
+    return entries.length;
+  }
+
+  /**
+   * Returns an estimate of the number of slots which are claimed but not yet released.
+   */
+  public int size() {
+    long size = producerCursor.get() - consumerCursor.get();
+    return (int) Math.max(0, Math.min(size, entries.length));
+  }
+
+  private int index(long sequence) {
+    return (int) sequence & mask;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors which run every task on a new virtual thread.
+ * <p>
+ * The framework is compiled for Java 8, so the executor is looked up reflectively. Virtual threads are only available
+ * when running on Java 21 or later, which can be checked using {@link #isAvailable()}.
+ */
+public final class VirtualThreadExecutors {
+
+  private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+  private VirtualThreadExecutors() {
+    // cannot be instantiated.
+  }
+
+  public static boolean isAvailable() {
+    return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  /**
+   * Creates an ExecutorService which starts a new virtual thread for every task.
+   *
+   * @throws IllegalStateException when virtual threads are not supported by the running JVM.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (!isAvailable()) {
+      throw new IllegalStateException(String.format(
+          "Virtual threads require Java 21 or later, but the JVM runs Java %s.", System.getProperty("java.version")));
+    }
+    try {
+      return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException("Could not create a virtual thread executor.", e);
+    }
+  }
+
+  private static Method findFactoryMethod() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
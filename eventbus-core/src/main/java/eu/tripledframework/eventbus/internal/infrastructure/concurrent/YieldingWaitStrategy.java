@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+/**
+ * A WaitStrategy which spins for a number of attempts and then yields the processor to other threads.
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+  private static final int DEFAULT_SPIN_TRIES = 100;
+
+  private final int spinTries;
+
+  public YieldingWaitStrategy() {
+    this(DEFAULT_SPIN_TRIES);
+  }
+
+  public YieldingWaitStrategy(int spinTries) {
+    this.spinTries = spinTries;
+  }
+
+  @Override
+  public void idle(int attempt) {
+    if (attempt >= spinTries) {
+      Thread.yield();
+    }
+  }
+}
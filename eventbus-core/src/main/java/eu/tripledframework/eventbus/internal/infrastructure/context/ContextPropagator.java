@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.context;
+
+import eu.tripledframework.eventbus.internal.domain.ThreadLocalAccessor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Captures the values of the registered {@link ThreadLocalAccessor}s in a {@link ContextSnapshot}, so they can be
+ * restored on the thread which handles a message.
+ */
+public final class ContextPropagator {
+
+  /**
+   * A ContextPropagator without accessors, its snapshots are empty and cost nothing to capture or apply.
+   */
+  public static final ContextPropagator NONE = new ContextPropagator(Collections.emptyList());
+
+  private final ThreadLocalAccessor<?>[] accessors;
+
+  public ContextPropagator(List<? extends ThreadLocalAccessor<?>> accessors) {
+    this.accessors = accessors.toArray(new ThreadLocalAccessor<?>[0]);
+  }
+
+  /**
+   * @return a snapshot of the values which the accessors return on the current thread.
+   */
+  public ContextSnapshot capture() {
+    if (accessors.length == 0) {
+      return ContextSnapshot.EMPTY;
+    }
+    return ContextSnapshot.capture(accessors);
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.context;
+
+import eu.tripledframework.eventbus.internal.domain.ThreadLocalAccessor;
+
+/**
+ * The values of a fixed set of {@link ThreadLocalAccessor}s, captured on one thread to be applied on another.
+ * <p>
+ * A task applies the snapshot before it runs and restores the snapshot returned by {@link #apply()} when it is done, so
+ * the thread which ran it is left as it was:
+ * <pre>
+ * ContextSnapshot previous = snapshot.apply();
+ * try {
+ *   ...
+ * } finally {
+ *   previous.restore();
+ * }
+ * </pre>
+ */
+public final class ContextSnapshot {
+
+  static final ContextSnapshot EMPTY = new ContextSnapshot(new ThreadLocalAccessor<?>[0], new Object[0]);
+
+  private final ThreadLocalAccessor<?>[] accessors;
+  private final Object[] values;
+
+  private ContextSnapshot(ThreadLocalAccessor<?>[] accessors, Object[] values) {
+    this.accessors = accessors;
+    this.values = values;
+  }
+
+  static ContextSnapshot capture(ThreadLocalAccessor<?>[] accessors) {
+    Object[] values = new Object[accessors.length];
+    for (int i = 0; i < accessors.length; i++) {
+      values[i] = accessors[i].getValue();
+    }
+    return new ContextSnapshot(accessors, values);
+  }
+
+  /**
+   * Binds the captured values to the current thread.
+   *
+   * @return a snapshot of the values which were bound to the current thread before.
+   */
+  public ContextSnapshot apply() {
+    if (accessors.length == 0) {
+      return this;
+    }
+    ContextSnapshot previous = capture(accessors);
+    restore();
+    return previous;
+  }
+
+  /**
+   * Binds the captured values to the current thread without keeping the values they replace, the accessors of which the
+   * captured value was <code>null</code> are reset.
+   */
+  @SuppressWarnings("unchecked")
+  public void restore() {
+    for (int i = 0; i < accessors.length; i++) {
+      ThreadLocalAccessor<Object> accessor = (ThreadLocalAccessor<Object>) accessors[i];
+      if (values[i] == null) {
+        accessor.reset();
+      } else {
+        accessor.setValue(values[i]);
+      }
+    }
+  }
+}
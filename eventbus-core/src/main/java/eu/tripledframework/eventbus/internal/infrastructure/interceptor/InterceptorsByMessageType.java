@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+
+/**
+ * The interceptors of an interceptor chain factory, specialized per message type. The interceptors which apply to a
+ * message type are selected once, in order, and kept as an array.
+ */
+final class InterceptorsByMessageType {
+
+  private final EventBusInterceptor[] interceptors;
+  private final ClassValue<EventBusInterceptor[]> interceptorsByType = new ClassValue<EventBusInterceptor[]>() {
+    @Override
+    protected EventBusInterceptor[] computeValue(Class<?> messageType) {
+      return select(messageType);
+    }
+  };
+
+  InterceptorsByMessageType(List<EventBusInterceptor> interceptors) {
+    this.interceptors = interceptors.toArray(new EventBusInterceptor[0]);
+  }
+
+  /**
+   * Returns the interceptors which apply to the given message. The returned array should not be modified.
+   */
+  EventBusInterceptor[] get(Object message) {
+    Class<?> messageType = message instanceof EventBatch ? ((EventBatch) message).getEventType() : message.getClass();
+    return interceptorsByType.get(messageType);
+  }
+
+  private EventBusInterceptor[] select(Class<?> messageType) {
+    EventBusInterceptor[] selected = Arrays.stream(interceptors)
+                                           .filter(interceptor -> interceptor.supports(messageType))
+                                           .toArray(EventBusInterceptor[]::new);
+    // share the array when every interceptor applies, which is the common case.
+    return selected.length == interceptors.length ? interceptors : selected;
+  }
+}
@@ -21,8 +21,7 @@ import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
 public class LoggingEventBusInterceptor implements EventBusInterceptor {
 
@@ -30,8 +29,11 @@ public class LoggingEventBusInterceptor implements EventBusInterceptor {
 
   @Override
   public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
+    if (!LOGGER.isDebugEnabled()) {
+      return chain.proceed();
+    }
     LOGGER.debug("Executing command {}", event.getClass().getSimpleName());
-    Instant start = Instant.now();
+    long start = System.nanoTime();
     try {
       ReturnType proceed = chain.proceed();
       LOGGER.debug("Finished executing command {}.", event.getClass().getSimpleName());
@@ -40,9 +42,8 @@ public class LoggingEventBusInterceptor implements EventBusInterceptor {
       LOGGER.debug("Command {} failed", event.getClass().getSimpleName());
       throw ex;
     } finally {
-      Instant end = Instant.now();
       LOGGER.debug("Execution of {} took {}ms", event.getClass().getSimpleName(),
-          Duration.between(start, end).toMillis());
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An EventBusInterceptor which records a Micrometer Timer per type of command or event. The timers are named
+ * {@value #METRIC_NAME}, tagged with the type of the message and the outcome (success or failure), and publish the
+ * given percentiles. A batch of events is recorded under the type of its events.
+ * <p>
+ * The timers are looked up once per message type, after which recording a message does not allocate.
+ */
+public class MetricsEventBusInterceptor implements EventBusInterceptor {
+
+  public static final String METRIC_NAME = "tripled.eventbus.messages";
+
+  private static final double[] DEFAULT_PERCENTILES = {0.5, 0.99, 0.999};
+
+  private final MeterRegistry meterRegistry;
+  private final double[] percentiles;
+  private final ClassValue<Timers> timers = new ClassValue<Timers>() {
+    @Override
+    protected Timers computeValue(Class<?> type) {
+      return new Timers(createTimer(type, "success"), createTimer(type, "failure"));
+    }
+  };
+
+  public MetricsEventBusInterceptor(MeterRegistry meterRegistry) {
+    this(meterRegistry, DEFAULT_PERCENTILES);
+  }
+
+  public MetricsEventBusInterceptor(MeterRegistry meterRegistry, double... percentiles) {
+    this.meterRegistry = meterRegistry;
+    this.percentiles = percentiles.clone();
+  }
+
+  @Override
+  public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
+    Timers timersOfType = timers.get(typeOf(event));
+    long start = System.nanoTime();
+    try {
+      ReturnType response = chain.proceed();
+      timersOfType.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return response;
+    } catch (RuntimeException exception) {
+      timersOfType.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw exception;
+    }
+  }
+
+  private static Class<?> typeOf(Object event) {
+    if (event instanceof EventBatch) {
+      return ((EventBatch) event).getEventType();
+    }
+    return event.getClass();
+  }
+
+  private Timer createTimer(Class<?> type, String outcome) {
+    return Timer.builder(METRIC_NAME)
+        .description("The time it took to handle a command or event")
+        .tag("type", type.getName())
+        .tag("outcome", outcome)
+        .publishPercentiles(percentiles)
+        .register(meterRegistry);
+  }
+
+  private static final class Timers {
+
+    private final Timer success;
+    private final Timer failure;
+
+    private Timers(Timer success, Timer failure) {
+      this.success = success;
+      this.failure = failure;
+    }
+  }
+}
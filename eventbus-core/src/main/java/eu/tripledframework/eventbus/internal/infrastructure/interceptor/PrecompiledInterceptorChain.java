@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import java.util.List;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+
+/**
+ * An InterceptorChain which walks a precomputed array of interceptors using an index.
+ * <p>
+ * Instances are reused by the {@link PrecompiledInterceptorChainFactory}. An instance is bound to a message and the
+ * interceptors which apply to it when the chain is created and released again as soon as the outermost call to
+ * proceed() returns.
+ *
+ * @param <ReturnType> The Type of the return object of the command.
+ */
+public final class PrecompiledInterceptorChain<ReturnType> implements InterceptorChain<ReturnType> {
+
+  private static final EventBusInterceptor[] NO_INTERCEPTORS = new EventBusInterceptor[0];
+
+  private EventBusInterceptor[] interceptors = NO_INTERCEPTORS;
+  private Object event;
+  private UnitOfWork unitOfWork;
+  private Invoker invoker;
+  private List<Invoker> invokers;
+  private boolean command;
+  private int index;
+  private boolean inUse;
+
+  void bind(EventBusInterceptor[] interceptors, Object event, UnitOfWork unitOfWork, Invoker invoker,
+            List<Invoker> invokers) {
+    this.interceptors = interceptors;
+    this.event = event;
+    this.unitOfWork = unitOfWork;
+    this.invoker = invoker;
+    this.invokers = invokers;
+    this.command = invoker != null;
+    this.index = 0;
+    this.inUse = true;
+  }
+
+  boolean isInUse() {
+    return inUse;
+  }
+
+  @Override
+  public ReturnType proceed() {
+    int current = index++;
+    if (current == 0) {
+      try {
+        return proceed(current);
+      } finally {
+        release();
+      }
+    }
+    return proceed(current);
+  }
+
+  @Override
+  public boolean isCommand() {
+    return command;
+  }
+
+  private ReturnType proceed(int current) {
+    if (current < interceptors.length) {
+      return interceptors[current].intercept(this, event, unitOfWork);
+    } else if (current == interceptors.length) {
+      return invokeEventHandlers();
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private ReturnType invokeEventHandlers() {
+    if (invoker != null) {
+      return (ReturnType) invoker.invoke(event);
+    }
+
+    ReturnType response = null;
+    for (int i = 0; i < invokers.size(); i++) {
+      Invoker current = invokers.get(i);
+      if (current.hasReturnType()) {
+        response = (ReturnType) current.invoke(event);
+      } else {
+        current.invoke(event);
+      }
+    }
+    return response;
+  }
+
+  private void release() {
+    interceptors = NO_INTERCEPTORS;
+    event = null;
+    unitOfWork = null;
+    invoker = null;
+    invokers = null;
+    inUse = false;
+  }
+}
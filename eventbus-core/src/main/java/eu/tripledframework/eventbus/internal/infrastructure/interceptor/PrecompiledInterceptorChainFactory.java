@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import java.util.Collections;
+import java.util.List;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+
+/**
+ * An InterceptorChainFactory which copies the interceptors which apply to a message type into an immutable array once
+ * per type and reuses a chain instance per thread.
+ * <p>
+ * In steady state, creating and proceeding a chain does not allocate. When a chain is created while the thread's
+ * chain is still running, for example because a handler dispatches another command synchronously, a new chain is
+ * allocated for the nested message.
+ */
+public class PrecompiledInterceptorChainFactory implements InterceptorChainFactory {
+
+  private final InterceptorsByMessageType interceptors;
+  private final ThreadLocal<PrecompiledInterceptorChain<Object>> chains;
+
+  public PrecompiledInterceptorChainFactory() {
+    this(Collections.emptyList());
+  }
+
+  public PrecompiledInterceptorChainFactory(List<EventBusInterceptor> interceptors) {
+    this.interceptors = new InterceptorsByMessageType(interceptors);
+    this.chains = ThreadLocal.withInitial(PrecompiledInterceptorChain::new);
+  }
+
+  @Override
+  public <ReturnType> InterceptorChain<ReturnType> createChain(Object event, UnitOfWork unitOfWork, List<Invoker> invokers) {
+    PrecompiledInterceptorChain<ReturnType> chain = acquire();
+    chain.bind(interceptors.get(event), event, unitOfWork, null, invokers);
+    return chain;
+  }
+
+  @Override
+  public <ReturnType> InterceptorChain<ReturnType> createChain(Object event, UnitOfWork unitOfWork, Invoker invoker) {
+    PrecompiledInterceptorChain<ReturnType> chain = acquire();
+    chain.bind(interceptors.get(event), event, unitOfWork, invoker, null);
+    return chain;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <ReturnType> PrecompiledInterceptorChain<ReturnType> acquire() {
+    PrecompiledInterceptorChain<Object> chain = chains.get();
+    if (chain.isInUse()) {
+      return new PrecompiledInterceptorChain<>();
+    }
+    return (PrecompiledInterceptorChain<ReturnType>) chain;
+  }
+}
@@ -28,13 +28,20 @@ public class SimpleInterceptorChain<ReturnType> implements InterceptorChain<Retu
   private final UnitOfWork unitOfWork;
   private final Iterator<EventBusInterceptor> interceptors;
   private final Iterator<Invoker> invokers;
+  private final boolean command;
 
   public SimpleInterceptorChain(Object event, UnitOfWork unitOfWork, Iterator<Invoker> invokers,
                                 Iterator<EventBusInterceptor> interceptors) {
+    this(event, unitOfWork, invokers, interceptors, true);
+  }
+
+  public SimpleInterceptorChain(Object event, UnitOfWork unitOfWork, Iterator<Invoker> invokers,
+                                Iterator<EventBusInterceptor> interceptors, boolean command) {
     this.event = event;
     this.unitOfWork = unitOfWork;
     this.invokers = invokers;
     this.interceptors = interceptors;
+    this.command = command;
   }
 
   @Override
@@ -47,6 +54,11 @@ public class SimpleInterceptorChain<ReturnType> implements InterceptorChain<Retu
     }
   }
 
+  @Override
+  public boolean isCommand() {
+    return command;
+  }
+
   @SuppressWarnings("unchecked")
   private ReturnType invokeEventHandlers() {
     ReturnType response = null;
@@ -21,29 +21,36 @@ import eu.tripledframework.eventbus.internal.domain.InterceptorChainFactory;
 import eu.tripledframework.eventbus.internal.domain.Invoker;
 import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 public class SimpleInterceptorChainFactory implements InterceptorChainFactory {
 
-  private final List<EventBusInterceptor> interceptors;
+  private final InterceptorsByMessageType interceptors;
 
   public SimpleInterceptorChainFactory() {
-    this.interceptors = Collections.unmodifiableList(Collections.emptyList());
+    this(Collections.emptyList());
   }
 
   public SimpleInterceptorChainFactory(List<EventBusInterceptor> interceptors) {
-    this.interceptors = Collections.unmodifiableList(interceptors);
+    this.interceptors = new InterceptorsByMessageType(interceptors);
   }
 
   @Override
   public <ReturnType> InterceptorChain<ReturnType> createChain(Object event, UnitOfWork unitOfWork, List<Invoker> invokers) {
-    return new SimpleInterceptorChain<>(event, unitOfWork, invokers.iterator(), interceptors.iterator());
+    return new SimpleInterceptorChain<>(event, unitOfWork, invokers.iterator(), interceptors(event), false);
   }
 
   @Override
   public <ReturnType> InterceptorChain<ReturnType> createChain(Object event, UnitOfWork unitOfWork, Invoker invoker) {
-    return new SimpleInterceptorChain<>(event, unitOfWork, Collections.singletonList(invoker).iterator(), interceptors.iterator());
+    return new SimpleInterceptorChain<>(event, unitOfWork, Collections.singletonList(invoker).iterator(),
+        interceptors(event), true);
+  }
+
+  private Iterator<EventBusInterceptor> interceptors(Object event) {
+    return Arrays.asList(interceptors.get(event)).iterator();
   }
 
 }
@@ -19,30 +19,87 @@ import java.util.Set;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
 
 import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
 import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
 import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
 
+/**
+ * An EventBusInterceptor which validates commands and, unless disabled, events before they are handled.
+ * <p>
+ * Whether a type has constraints is looked up once through its {@link BeanDescriptor}, messages of a type without
+ * constraints are not validated at all, the interceptor is then left out of their chain. When the validator does not
+ * describe a type, it is always validated.
+ */
 public class ValidatingEventBusInterceptor implements EventBusInterceptor {
 
-  private Validator validator;
+  private final Validator validator;
+  private final boolean validateEvents;
+  private final Class<?>[] groups;
+  private final ClassValue<Boolean> constrainedTypes = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      return isConstrained(type);
+    }
+  };
 
   public ValidatingEventBusInterceptor(Validator validator) {
+    this(validator, true);
+  }
+
+  /**
+   * Creates an interceptor which validates the given groups only.
+   *
+   * @param validator      The validator.
+   * @param validateEvents Whether published events should be validated as well as dispatched commands.
+   * @param groups         The groups to validate, the default group when none are given.
+   */
+  public ValidatingEventBusInterceptor(Validator validator, boolean validateEvents, Class<?>... groups) {
     this.validator = validator;
+    this.validateEvents = validateEvents;
+    this.groups = groups.clone();
   }
 
   @Override
   public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
-    validate(event);
+    if (chain.isCommand()) {
+      validate(event, "The command failed the validation step.");
+    } else if (validateEvents) {
+      if (event instanceof EventBatch) {
+        validateAll((EventBatch) event);
+      } else {
+        validate(event, "The event failed the validation step.");
+      }
+    }
     return chain.proceed();
   }
 
-  private void validate(Object event) {
-    Set<ConstraintViolation<Object>> constraintViolations = validator.validate(event);
+  @Override
+  public boolean supports(Class<?> messageType) {
+    return constrainedTypes.get(messageType);
+  }
+
+  private void validateAll(EventBatch batch) {
+    for (Object event : batch.getEvents()) {
+      validate(event, "The event failed the validation step.");
+    }
+  }
+
+  private void validate(Object event, String message) {
+    if (!constrainedTypes.get(event.getClass())) {
+      return;
+    }
+    Set<ConstraintViolation<Object>> constraintViolations = validator.validate(event, groups);
     if (!constraintViolations.isEmpty()) {
-      throw new CommandValidationException("The command failed the validation step.", constraintViolations);
+      throw new CommandValidationException(message, constraintViolations);
     }
   }
 
+  private boolean isConstrained(Class<?> type) {
+    BeanDescriptor descriptor = validator.getConstraintsForClass(type);
+    return descriptor == null || descriptor.isBeanConstrained();
+  }
+
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.util.Collections;
+import java.util.Objects;
+
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+
+/**
+ * An Invoker for a method which handles a batch of events. When invoked with an {@link EventBatch}, the method receives
+ * the events of the batch, when invoked with a single event it receives a list containing only that event.
+ */
+public final class BatchInvoker implements Invoker {
+
+  private final Invoker delegate;
+
+  public BatchInvoker(Invoker delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean handles(Class<?> eventTypeToHandle) {
+    return delegate.handles(eventTypeToHandle);
+  }
+
+  @Override
+  public boolean hasReturnType() {
+    return delegate.hasReturnType();
+  }
+
+  @Override
+  public boolean handlesBatches() {
+    return true;
+  }
+
+  @Override
+  public Class<?> getHandlerType() {
+    return delegate.getHandlerType();
+  }
+
+  @Override
+  public Class<?>[] getDependencies() {
+    return delegate.getDependencies();
+  }
+
+  @Override
+  public Object invoke(Object object) {
+    if (object instanceof EventBatch) {
+      return delegate.invoke(((EventBatch) object).getEvents());
+    }
+    return delegate.invoke(Collections.singletonList(object));
+  }
+
+  @Override
+  public String toString() {
+    return "BatchInvoker{" +
+           "delegate=" + delegate +
+           '}';
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(delegate);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final BatchInvoker other = (BatchInvoker) obj;
+    return Objects.equals(this.delegate, other.delegate);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when several subscribers of an event, invoked in parallel, failed. The exceptions of the individual
+ * subscribers are available through {@link #getFailures()} and are added as suppressed exceptions.
+ */
+public class EventHandlersFailedException extends RuntimeException {
+
+  private final List<RuntimeException> failures;
+
+  public EventHandlersFailedException(String message, List<RuntimeException> failures) {
+    super(message, failures.get(0));
+    this.failures = Collections.unmodifiableList(failures);
+    failures.forEach(this::addSuppressed);
+  }
+
+  public List<RuntimeException> getFailures() {
+    return failures;
+  }
+}
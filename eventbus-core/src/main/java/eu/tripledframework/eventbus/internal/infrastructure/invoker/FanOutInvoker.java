@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextSnapshot;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.UnitOfWorkRepository;
+
+/**
+ * An Invoker which invokes several invokers of the same event in parallel. The invokers are divided into levels: an
+ * invoker which depends on the handler of another invoker is put on a later level than that invoker. The invokers of a
+ * level are invoked in parallel, the levels one after the other. When an invoker of a level fails, the later levels
+ * are not invoked.
+ * <p>
+ * The invokers running on other threads see the UnitOfWork and the values of the context propagator of the publishing
+ * thread.
+ * <p>
+ * When a single invoker failed, its exception is rethrown. When several failed, an
+ * {@link EventHandlersFailedException} is thrown. An Error is rethrown as is, but only once every invoker of its level
+ * finished, since those still use the UnitOfWork of the publishing thread.
+ */
+final class FanOutInvoker implements Invoker {
+
+  private final Invoker[][] levels;
+  private final Executor executor;
+  private final ContextPropagator contextPropagator;
+  private final boolean handlesBatches;
+
+  FanOutInvoker(Invoker[][] levels, Executor executor, ContextPropagator contextPropagator, boolean handlesBatches) {
+    this.levels = levels;
+    this.executor = executor;
+    this.contextPropagator = contextPropagator;
+    this.handlesBatches = handlesBatches;
+  }
+
+  @Override
+  public boolean handles(Class<?> eventTypeToHandle) {
+    for (Invoker[] level : levels) {
+      for (Invoker invoker : level) {
+        if (invoker.handles(eventTypeToHandle)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasReturnType() {
+    return false;
+  }
+
+  @Override
+  public boolean handlesBatches() {
+    return handlesBatches;
+  }
+
+  @Override
+  public Object invoke(Object object) {
+    for (Invoker[] level : levels) {
+      invokeLevel(level, object);
+    }
+    return null;
+  }
+
+  private void invokeLevel(Invoker[] level, Object object) {
+    if (level.length == 1) {
+      level[0].invoke(object);
+      return;
+    }
+
+    // the subscribers running on other threads should see the context of the publishing thread.
+    UnitOfWork unitOfWork = UnitOfWorkRepository.get();
+    ContextSnapshot context = contextPropagator.capture();
+    List<CompletableFuture<Void>> futures = new ArrayList<>(level.length - 1);
+    for (int i = 1; i < level.length; i++) {
+      Invoker invoker = level[i];
+      futures.add(CompletableFuture.runAsync(() -> invokeInContext(invoker, object, unitOfWork, context), executor));
+    }
+
+    List<RuntimeException> failures = new ArrayList<>();
+    Error error = null;
+    try {
+      level[0].invoke(object);
+    } catch (RuntimeException exception) {
+      failures.add(exception);
+    } catch (Error e) {
+      error = e;
+    }
+    for (CompletableFuture<Void> future : futures) {
+      try {
+        future.join();
+      } catch (CompletionException exception) {
+        if (exception.getCause() instanceof Error && error == null) {
+          error = (Error) exception.getCause();
+        } else {
+          failures.add(unwrap(exception));
+        }
+      }
+    }
+
+    if (error != null) {
+      throw error;
+    } else if (failures.size() == 1) {
+      throw failures.get(0);
+    } else if (!failures.isEmpty()) {
+      throw new EventHandlersFailedException(
+          String.format("%s subscribers failed to handle %s.", failures.size(), object), failures);
+    }
+  }
+
+  private static void invokeInContext(Invoker invoker, Object object, UnitOfWork unitOfWork,
+                                      ContextSnapshot context) {
+    UnitOfWork current = UnitOfWorkRepository.get();
+    UnitOfWorkRepository.store(unitOfWork);
+    ContextSnapshot previous = context.apply();
+    try {
+      invoker.invoke(object);
+    } finally {
+      previous.restore();
+      if (current != null) {
+        UnitOfWorkRepository.store(current);
+      } else {
+        UnitOfWorkRepository.clear();
+      }
+    }
+  }
+
+  private static RuntimeException unwrap(CompletionException exception) {
+    if (exception.getCause() instanceof RuntimeException) {
+      return (RuntimeException) exception.getCause();
+    }
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    return "FanOutInvoker{" +
+           "levels=" + levels.length +
+           '}';
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import eu.tripledframework.eventbus.Handles;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.InvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.BoundedThreadPoolExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusThreadFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
+
+/**
+ * An InvokerRepository which makes the subscribers of an event run in parallel. When several invokers handle an event
+ * type, they are combined into an invoker which invokes them concurrently on the given Executor, taking the
+ * dependencies declared with {@link Handles#dependsOn()} into account. Invokers which handle batches are combined
+ * separately from the other invokers, so dependencies between those two kinds are not taken into account.
+ * <p>
+ * The subscribers may block, so they should not run on a shared pool such as the common ForkJoinPool. When no executor
+ * is given, a dedicated bounded pool is used which runs a subscriber on the publishing thread once it is saturated. The
+ * values of the given {@link ContextPropagator}, which should be the one of the event bus, are propagated to the
+ * subscribers running on the pool.
+ * <p>
+ * Looking up the single invoker of a command is delegated as is.
+ */
+public class FanOutInvokerRepository implements InvokerRepository {
+
+  private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final InvokerRepository delegate;
+  private final Executor executor;
+  private final ContextPropagator contextPropagator;
+  private volatile ConcurrentMap<Class<?>, List<Invoker>> invokersByEventType;
+
+  public FanOutInvokerRepository(InvokerRepository delegate) {
+    this(delegate, ContextPropagator.NONE);
+  }
+
+  public FanOutInvokerRepository(InvokerRepository delegate, ContextPropagator contextPropagator) {
+    this(delegate, defaultExecutor(), contextPropagator);
+  }
+
+  public FanOutInvokerRepository(InvokerRepository delegate, Executor executor) {
+    this(delegate, executor, ContextPropagator.NONE);
+  }
+
+  public FanOutInvokerRepository(InvokerRepository delegate, Executor executor, ContextPropagator contextPropagator) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.contextPropagator = contextPropagator;
+    this.invokersByEventType = new ConcurrentHashMap<>();
+  }
+
+  private static Executor defaultExecutor() {
+    int threads = Runtime.getRuntime().availableProcessors();
+    BoundedThreadPoolExecutor executor = new BoundedThreadPoolExecutor(threads, threads, DEFAULT_QUEUE_CAPACITY,
+        SaturationPolicy.CALLER_RUNS, new EventBusThreadFactory("tripled-fan-out-"));
+    // the repository has no lifecycle, idle threads stop on their own.
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Override
+  public void add(Invoker invoker) {
+    delegate.add(invoker);
+    invokersByEventType = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public Invoker getByEventType(Class<?> eventType) {
+    return delegate.getByEventType(eventType);
+  }
+
+  @Override
+  public List<Invoker> findAllByEventType(Class<?> eventType) {
+    return invokersByEventType.computeIfAbsent(eventType, this::resolveInvokers);
+  }
+
+  private List<Invoker> resolveInvokers(Class<?> eventType) {
+    List<Invoker> invokers = delegate.findAllByEventType(eventType);
+    if (invokers.size() < 2) {
+      return invokers;
+    }
+    List<Invoker> batchInvokers = new ArrayList<>();
+    List<Invoker> eventInvokers = new ArrayList<>();
+    invokers.forEach(invoker -> (invoker.handlesBatches() ? batchInvokers : eventInvokers).add(invoker));
+
+    List<Invoker> fanOutInvokers = new ArrayList<>(2);
+    if (!batchInvokers.isEmpty()) {
+      fanOutInvokers.add(fanOut(eventType, batchInvokers, true));
+    }
+    if (!eventInvokers.isEmpty()) {
+      fanOutInvokers.add(fanOut(eventType, eventInvokers, false));
+    }
+    return Collections.unmodifiableList(fanOutInvokers);
+  }
+
+  private Invoker fanOut(Class<?> eventType, List<Invoker> invokers, boolean handlesBatches) {
+    if (invokers.size() == 1) {
+      return invokers.get(0);
+    }
+    int[] levels = computeLevels(eventType, invokers);
+    int levelCount = 0;
+    for (int level : levels) {
+      levelCount = Math.max(levelCount, level + 1);
+    }
+
+    List<List<Invoker>> invokersByLevel = new ArrayList<>(levelCount);
+    for (int i = 0; i < levelCount; i++) {
+      invokersByLevel.add(new ArrayList<>());
+    }
+    for (int i = 0; i < levels.length; i++) {
+      invokersByLevel.get(levels[i]).add(invokers.get(i));
+    }
+    Invoker[][] invokerLevels = new Invoker[levelCount][];
+    for (int i = 0; i < levelCount; i++) {
+      invokerLevels[i] = invokersByLevel.get(i).toArray(new Invoker[0]);
+    }
+    return new FanOutInvoker(invokerLevels, executor, contextPropagator, handlesBatches);
+  }
+
+  /**
+   * Puts every invoker one level after the latest invoker it depends on.
+   */
+  private static int[] computeLevels(Class<?> eventType, List<Invoker> invokers) {
+    int[] levels = new int[invokers.size()];
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i < levels.length; i++) {
+        for (int j = 0; j < levels.length; j++) {
+          if (i != j && dependsOn(invokers.get(i), invokers.get(j)) && levels[i] <= levels[j]) {
+            levels[i] = levels[j] + 1;
+            if (levels[i] >= levels.length) {
+              throw new IllegalStateException(String.format(
+                  "The subscribers of %s have a cyclic dependency.", eventType.getSimpleName()));
+            }
+            changed = true;
+          }
+        }
+      }
+    }
+    return levels;
+  }
+
+  private static boolean dependsOn(Invoker invoker, Invoker other) {
+    Class<?> handlerType = other.getHandlerType();
+    if (handlerType == null) {
+      return false;
+    }
+    for (Class<?> dependency : invoker.getDependencies()) {
+      if (dependency.isAssignableFrom(handlerType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.util.Objects;
+
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An Invoker which calls the handler method through an {@link Invocation} generated at compile time, instead of
+ * looking up and invoking the method reflectively.
+ * <p>
+ * Instances are created by the invoker factories which are generated by the eventbus annotation processor.
+ */
+public final class GeneratedInvoker implements Invoker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedInvoker.class);
+
+  private final Class<?> eventType;
+  private final Object eventHandler;
+  private final String methodName;
+  private final boolean hasReturnType;
+  private final Class<?>[] dependencies;
+  private final Invocation invocation;
+
+  public GeneratedInvoker(Class<?> eventType, Object eventHandler, String methodName, boolean hasReturnType,
+                          Class<?>[] dependencies, Invocation invocation) {
+    this.eventType = eventType;
+    this.eventHandler = eventHandler;
+    this.methodName = methodName;
+    this.hasReturnType = hasReturnType;
+    this.dependencies = dependencies;
+    this.invocation = invocation;
+  }
+
+  @Override
+  public boolean handles(Class<?> eventTypeToHandle) {
+    return this.eventType.isAssignableFrom(eventTypeToHandle);
+  }
+
+  @Override
+  public boolean hasReturnType() {
+    return hasReturnType;
+  }
+
+  @Override
+  public Object invoke(Object object) {
+    LOGGER.debug("About to invoke {}.{}() with event {}", eventHandler.getClass().getSimpleName(), methodName, object);
+    try {
+      return invocation.invoke(object);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new InvocationException("The invocation of the event handler threw an unknown checked exception.", e);
+    }
+  }
+
+  @Override
+  public Class<?> getHandlerType() {
+    return eventHandler.getClass();
+  }
+
+  @Override
+  public Class<?>[] getDependencies() {
+    return dependencies.clone();
+  }
+
+  @Override
+  public String toString() {
+    return "GeneratedInvoker{" +
+           "eventType=" + eventType +
+           ", eventHandler=" + eventHandler +
+           ", method=" + methodName +
+           '}';
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(eventType, eventHandler, methodName);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final GeneratedInvoker other = (GeneratedInvoker) obj;
+    return Objects.equals(this.eventType, other.eventType)
+        && Objects.equals(this.eventHandler, other.eventHandler)
+        && Objects.equals(this.methodName, other.methodName);
+  }
+
+  /**
+   * The generated call of a handler method.
+   */
+  @FunctionalInterface
+  public interface Invocation {
+
+    /**
+     * Calls the handler method with the given event.
+     *
+     * @param event The event, already known to be of a type the method accepts.
+     * @return the value returned by the method, or <code>null</code> if it does not return anything.
+     * @throws Exception when the handler method throws.
+     */
+    Object invoke(Object event) throws Exception;
+  }
+}
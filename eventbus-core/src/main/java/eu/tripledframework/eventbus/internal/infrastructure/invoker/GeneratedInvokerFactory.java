@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import eu.tripledframework.eventbus.internal.domain.InvokerFactory;
+
+/**
+ * An InvokerFactory generated at compile time for a single handler type. Implementations are registered as a
+ * {@link java.util.ServiceLoader} service, so that they can be found by the {@link GeneratedInvokerRegistry}.
+ */
+public interface GeneratedInvokerFactory extends InvokerFactory {
+
+  /**
+   * Method which returns the handler type for which this factory was generated.
+   *
+   * @return the handler type.
+   */
+  Class<?> getHandlerType();
+}
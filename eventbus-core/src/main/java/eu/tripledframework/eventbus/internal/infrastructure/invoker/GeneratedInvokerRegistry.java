@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.InvokerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An InvokerFactory which delegates to the {@link GeneratedInvokerFactory} instances found on the classpath. Handlers
+ * for which no factory was generated are not supported, so this factory should be followed by a reflection based
+ * factory when the bus is configured.
+ * <p>
+ * A factory is looked up by the exact type of the handler. Since cglib does not propagate annotations, the factory of
+ * the superclass is used for proxied handlers.
+ */
+public class GeneratedInvokerRegistry implements InvokerFactory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedInvokerRegistry.class);
+  private static final String PROXY_CLASS_SEPARATOR = "$$";
+
+  private final Map<Class<?>, GeneratedInvokerFactory> factories = new HashMap<>();
+
+  public GeneratedInvokerRegistry() {
+    this(Thread.currentThread().getContextClassLoader());
+  }
+
+  public GeneratedInvokerRegistry(ClassLoader classLoader) {
+    this(ServiceLoader.load(GeneratedInvokerFactory.class, classLoader));
+  }
+
+  public GeneratedInvokerRegistry(Iterable<? extends GeneratedInvokerFactory> generatedFactories) {
+    for (GeneratedInvokerFactory factory : generatedFactories) {
+      GeneratedInvokerFactory existing = factories.putIfAbsent(factory.getHandlerType(), factory);
+      if (existing != null) {
+        LOGGER.warn("Ignoring {} since {} was already registered for {}.", factory.getClass().getName(),
+            existing.getClass().getName(), factory.getHandlerType().getName());
+      }
+    }
+    LOGGER.debug("Found {} generated invoker factories.", factories.size());
+  }
+
+  @Override
+  public List<Invoker> create(Object eventHandler) {
+    GeneratedInvokerFactory factory = findFactory(eventHandler.getClass());
+    if (factory == null) {
+      return Collections.emptyList();
+    }
+    return factory.create(eventHandler);
+  }
+
+  @Override
+  public boolean supports(Object object) {
+    return findFactory(object.getClass()) != null;
+  }
+
+  /**
+   * Method to verify if any generated factory was found.
+   *
+   * @return <code>true</code> if no generated factory was found, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return factories.isEmpty();
+  }
+
+  private GeneratedInvokerFactory findFactory(Class<?> handlerType) {
+    GeneratedInvokerFactory factory = factories.get(handlerType);
+    if (factory == null && handlerType.getName().contains(PROXY_CLASS_SEPARATOR)) {
+      factory = factories.get(handlerType.getSuperclass());
+    }
+    return factory;
+  }
+}
@@ -3,46 +3,62 @@ package eu.tripledframework.eventbus.internal.infrastructure.invoker;
 import eu.tripledframework.eventbus.internal.domain.Invoker;
 import eu.tripledframework.eventbus.internal.domain.InvokerRepository;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
+/**
+ * An InvokerRepository which keeps all invokers in memory.
+ * <p>
+ * Resolving the invokers for a concrete event type requires matching it against every registered invoker, taking the
+ * superclasses and interfaces of the type into account. The result of that resolution is cached per concrete type so
+ * that subsequent lookups for the same type are a single map lookup. The cache is discarded whenever a new invoker is
+ * added.
+ */
 public class InMemoryInvokerRepository implements InvokerRepository {
 
-    private Set<Invoker> invokers;
+    private final Set<Invoker> invokers;
+    private volatile ConcurrentMap<Class<?>, List<Invoker>> invokersByEventType;
 
     public InMemoryInvokerRepository() {
         this.invokers = new CopyOnWriteArraySet<>();
+        this.invokersByEventType = new ConcurrentHashMap<>();
     }
 
     @Override
     public void add(Invoker invoker) {
-        invokers.add(invoker);
+        if (invokers.add(invoker)) {
+            // Replace the cache rather than clearing it, a concurrent lookup still resolving against the old set of
+            // invokers can then only populate the discarded map.
+            invokersByEventType = new ConcurrentHashMap<>();
+        }
     }
 
-
     @Override
     public Invoker getByEventType(Class<?> eventType) {
-        return findByEventType(eventType)
-                .orElseThrow(() -> new InvokerNotFoundException(String.format("Could not find an event handler for %s", eventType)));
+        List<Invoker> found = findAllByEventType(eventType);
+        if (found.size() > 1) {
+            throw new DuplicateInvokerFoundException(String
+                    .format("Found multiple handlers for %s. Expected only one.", eventType.getSimpleName()));
+        }
+        if (found.isEmpty()) {
+            throw new InvokerNotFoundException(String.format("Could not find an event handler for %s", eventType));
+        }
+        return found.get(0);
     }
 
     @Override
     public List<Invoker> findAllByEventType(Class<?> eventType) {
-        return invokers.stream()
-                .filter(p -> p.handles(eventType))
-                .collect(Collectors.toList());
+        return invokersByEventType.computeIfAbsent(eventType, this::resolveInvokers);
     }
 
-    private Optional<Invoker> findByEventType(Class<?> eventType) {
-        List<Invoker> found = invokers.stream().filter(p -> p.handles(eventType)).collect(Collectors.toList());
-        if (found.size() > 1) {
-            throw new DuplicateInvokerFoundException(String
-                    .format("Found multiple handlers for %s. Expected only one.", eventType.getSimpleName()));
-        }
-        return found.stream().findFirst();
+    private List<Invoker> resolveInvokers(Class<?> eventType) {
+        return Collections.unmodifiableList(invokers.stream()
+                .filter(p -> p.handles(eventType))
+                .collect(Collectors.toList()));
     }
 }
-
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+import eu.tripledframework.eventbus.Handles;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An Invoker which calls the handler method through a MethodHandle which is bound to the handler instance when the
+ * invoker is created.
+ * <p>
+ * Compared to the {@link SimpleInvoker} this avoids the access checks and argument boxing of a reflective call on
+ * every invocation. The exception semantics are the same: runtime exceptions thrown by the handler are rethrown as is,
+ * anything else is wrapped in an {@link InvocationException}.
+ */
+public final class MethodHandleInvoker implements Invoker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandleInvoker.class);
+  private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private final Class<?> eventType;
+  private final Object eventHandler;
+  private final Method method;
+  private final MethodHandle methodHandle;
+  private final boolean hasReturnType;
+
+  public MethodHandleInvoker(Class<?> eventType, Object eventHandler, Method eventHandlerMethod, MethodHandle methodHandle) {
+    this.eventType = eventType;
+    this.eventHandler = eventHandler;
+    this.method = eventHandlerMethod;
+    this.methodHandle = methodHandle.bindTo(eventHandler).asType(INVOKER_TYPE);
+    this.hasReturnType = eventHandlerMethod.getReturnType() != void.class;
+  }
+
+  @Override
+  public boolean handles(Class<?> eventTypeToHandle) {
+    return this.eventType.isAssignableFrom(eventTypeToHandle);
+  }
+
+  @Override
+  public boolean hasReturnType() {
+    return hasReturnType;
+  }
+
+  @Override
+  public Object invoke(Object object) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("About to invoke {}.{}() with event {}", eventHandler.getClass().getSimpleName(), method.getName(), object);
+    }
+    try {
+      return methodHandle.invokeExact(object);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new InvocationException("The invocation of the event handler threw an unknown checked exception.", e);
+    }
+  }
+
+  @Override
+  public Class<?> getHandlerType() {
+    return eventHandler.getClass();
+  }
+
+  @Override
+  public Class<?>[] getDependencies() {
+    Handles annotation = method.getAnnotation(Handles.class);
+    return annotation == null ? new Class<?>[0] : annotation.dependsOn();
+  }
+
+  @Override
+  public String toString() {
+    return "Invoker{" +
+           "eventType=" + eventType +
+           ", eventHandler=" + eventHandler +
+           ", method=" + method +
+           '}';
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(eventType, eventHandler, method);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final MethodHandleInvoker other = (MethodHandleInvoker) obj;
+    return Objects.equals(this.eventType, other.eventType)
+        && Objects.equals(this.eventHandler, other.eventHandler)
+        && Objects.equals(this.method, other.method);
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An InvokerFactory which binds every handler method to a MethodHandle at subscription time.
+ * <p>
+ * Handler methods are discovered in the same way as the {@link SimpleInvokerFactory} does. Methods which cannot be
+ * accessed through a public lookup fall back to a {@link SimpleInvoker}, so that they fail the same way on
+ * invocation.
+ */
+public class MethodHandleInvokerFactory extends SimpleInvokerFactory {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandleInvokerFactory.class);
+
+  private final MethodHandles.Lookup lookup;
+
+  public MethodHandleInvokerFactory() {
+    this.lookup = MethodHandles.publicLookup();
+  }
+
+  @Override
+  protected Invoker createInvoker(Class<?> eventType, Object eventHandler, Method method) {
+    try {
+      MethodHandle methodHandle = lookup.unreflect(method);
+      return new MethodHandleInvoker(eventType, eventHandler, method, methodHandle);
+    } catch (IllegalAccessException e) {
+      LOGGER.warn("Could not create a MethodHandle for {}, falling back to reflection.", method, e);
+      return super.createInvoker(eventType, eventHandler, method);
+    }
+  }
+}
@@ -19,6 +19,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Objects;
 
+import eu.tripledframework.eventbus.Handles;
 import eu.tripledframework.eventbus.internal.domain.Invoker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,11 +31,13 @@ public final class SimpleInvoker implements Invoker {
   private final Class<?> eventType;
   private final Object eventHandler;
   private final Method method;
+  private final boolean hasReturnType;
 
   public SimpleInvoker(Class eventType, Object eventHandler, Method eventHandlerMethod) {
     this.eventType = eventType;
     this.eventHandler = eventHandler;
     this.method = eventHandlerMethod;
+    this.hasReturnType = eventHandlerMethod.getReturnType() != void.class;
   }
 
   @Override
@@ -44,7 +47,7 @@ public final class SimpleInvoker implements Invoker {
 
   @Override
   public boolean hasReturnType() {
-    return !method.getReturnType().getName().equals("void");
+    return hasReturnType;
   }
 
   @Override
@@ -65,6 +68,17 @@ public final class SimpleInvoker implements Invoker {
     }
   }
 
+  @Override
+  public Class<?> getHandlerType() {
+    return eventHandler.getClass();
+  }
+
+  @Override
+  public Class<?>[] getDependencies() {
+    Handles annotation = method.getAnnotation(Handles.class);
+    return annotation == null ? new Class<?>[0] : annotation.dependsOn();
+  }
+
   @Override
   public String toString() {
     return "Invoker{" +
@@ -39,13 +39,33 @@ public class SimpleInvokerFactory implements InvokerFactory {
 
     for (Method method : methods) {
       Handles annotation = method.getAnnotation(Handles.class);
-      Invoker invoker = new SimpleInvoker(annotation.value(), eventHandler, method);
-      invokers.add(invoker);
+      Invoker invoker = createInvoker(annotation.value(), eventHandler, method);
+      invokers.add(annotation.batch() ? createBatchInvoker(invoker, method) : invoker);
     }
 
     return invokers;
   }
 
+  /**
+   * Creates the Invoker for a single method annotated with {@link Handles}.
+   *
+   * @param eventType    The type of event declared on the annotation.
+   * @param eventHandler The object on which the method should be invoked.
+   * @param method       The annotated method.
+   * @return The Invoker for the given method.
+   */
+  protected Invoker createInvoker(Class<?> eventType, Object eventHandler, Method method) {
+    return new SimpleInvoker(eventType, eventHandler, method);
+  }
+
+  private Invoker createBatchInvoker(Invoker invoker, Method method) {
+    if (method.getParameterCount() != 1 || !method.getParameterTypes()[0].isAssignableFrom(List.class)) {
+      throw new IllegalArgumentException(String.format(
+          "The batch handler method %s should accept a single List parameter.", method.getName()));
+    }
+    return new BatchInvoker(invoker);
+  }
+
   @Override
   public boolean supports(Object object) {
     Handler annotation = object.getClass().getAnnotation(Handler.class);
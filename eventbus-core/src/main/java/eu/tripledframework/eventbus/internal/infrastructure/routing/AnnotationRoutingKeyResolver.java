@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.routing;
+
+import eu.tripledframework.eventbus.RoutingKey;
+import eu.tripledframework.eventbus.internal.domain.RoutingKeyResolver;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A RoutingKeyResolver which reads the field or method annotated with {@link RoutingKey}. The annotated member is looked
+ * up once per message type. Messages without an annotated member have no routing key.
+ */
+public class AnnotationRoutingKeyResolver implements RoutingKeyResolver {
+
+  private static final Function<Object, Object> NO_ROUTING_KEY = message -> null;
+
+  private final ConcurrentMap<Class<?>, Function<Object, Object>> accessorsByType = new ConcurrentHashMap<>();
+
+  @Override
+  public Object resolve(Object message) {
+    return accessorsByType.computeIfAbsent(message.getClass(), this::createAccessor).apply(message);
+  }
+
+  private Function<Object, Object> createAccessor(Class<?> messageType) {
+    List<AccessibleObject> members = findAnnotatedMembers(messageType);
+    if (members.isEmpty()) {
+      return NO_ROUTING_KEY;
+    }
+    if (members.size() > 1) {
+      throw new IllegalArgumentException(String.format(
+          "%s has %s members annotated with @RoutingKey, expected only one.", messageType.getSimpleName(),
+          members.size()));
+    }
+    AccessibleObject member = members.get(0);
+    member.setAccessible(true);
+    if (member instanceof Field) {
+      return message -> readField((Field) member, message);
+    }
+    Method method = (Method) member;
+    if (method.getParameterCount() != 0) {
+      throw new IllegalArgumentException(String.format(
+          "The @RoutingKey method %s of %s should not have any parameters.", method.getName(),
+          messageType.getSimpleName()));
+    }
+    return message -> invokeMethod(method, message);
+  }
+
+  private static List<AccessibleObject> findAnnotatedMembers(Class<?> messageType) {
+    List<AccessibleObject> members = new ArrayList<>();
+    for (Class<?> type = messageType; type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        if (field.isAnnotationPresent(RoutingKey.class)) {
+          members.add(field);
+        }
+      }
+      for (Method method : type.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(RoutingKey.class)) {
+          members.add(method);
+        }
+      }
+    }
+    return members;
+  }
+
+  private static Object readField(Field field, Object message) {
+    try {
+      return field.get(message);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(String.format("Could not read the routing key %s.", field.getName()), e);
+    }
+  }
+
+  private static Object invokeMethod(Method method, Object message) {
+    try {
+      return method.invoke(message);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(String.format("Could not read the routing key %s.", method.getName()), e);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(String.format("Could not read the routing key %s.", method.getName()), e);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.tracing;
+
+import eu.tripledframework.eventbus.internal.domain.DispatchTrace;
+import eu.tripledframework.eventbus.internal.domain.DispatchTraceListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * A DispatchTraceListener which logs the breakdown of every command which took longer than the given threshold, from
+ * the moment it was dispatched until its unit of work was committed.
+ */
+public class SlowDispatchLoggingListener implements DispatchTraceListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SlowDispatchLoggingListener.class);
+
+  private final long thresholdNanos;
+
+  public SlowDispatchLoggingListener(Duration threshold) {
+    this.thresholdNanos = threshold.toNanos();
+  }
+
+  @Override
+  public void onDispatchCompleted(DispatchTrace trace) {
+    if (trace.getTotalNanos() >= thresholdNanos) {
+      LOGGER.warn("Slow command {}", trace);
+    }
+  }
+}
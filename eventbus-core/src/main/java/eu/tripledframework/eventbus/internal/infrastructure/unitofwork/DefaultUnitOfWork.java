@@ -16,37 +16,55 @@
 package eu.tripledframework.eventbus.internal.infrastructure.unitofwork;
 
 import eu.tripledframework.eventbus.EventPublisher;
+import eu.tripledframework.eventbus.internal.domain.ContextKey;
 import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * The default UnitOfWork. The containers for contextual data and scheduled events are only allocated when they are
+ * first used, since most commands do not need them.
+ * <p>
+ * Data stored under a {@link ContextKey} is kept in an array indexed by the key. Data stored by name is kept in the
+ * same array when a key with that name exists and the value is of its type, and in a map otherwise. A value of another
+ * type is thus only visible by name, and does not replace the value of the key.
+ */
 public class DefaultUnitOfWork implements UnitOfWork {
 
+  private static final int INITIAL_SLOTS = 4;
+
+  private Object[] slots;
   private Map<String, Object> contextualData;
   private List<Object> delayedEvents;
   private UnitOfWorkStatus status;
 
 
   public DefaultUnitOfWork() {
-    contextualData = new HashMap<>();
-    delayedEvents = new ArrayList<>();
     status = UnitOfWorkStatus.STARTED;
   }
 
   @Override
   public void commit(EventPublisher eventPublisher) {
     status = UnitOfWorkStatus.COMMITTING;
-    delayedEvents.forEach(eventPublisher::publish);
+    if (delayedEvents != null && !delayedEvents.isEmpty()) {
+      // hand the events over, the publisher might hold on to them after the unit of work is reused.
+      List<Object> events = delayedEvents;
+      delayedEvents = null;
+      eventPublisher.publishAll(events);
+    }
     status = UnitOfWorkStatus.COMMITED;
   }
 
   @Override
   public void rollback() {
     status = UnitOfWorkStatus.ROLLING_BACK;
-    delayedEvents.clear();
+    if (delayedEvents != null) {
+      delayedEvents.clear();
+    }
     status = UnitOfWorkStatus.ROLLED_BACK;
   }
 
@@ -57,19 +75,81 @@ public class DefaultUnitOfWork implements UnitOfWork {
 
   @Override
   public void addData(String key, Object value) {
+    ContextKey<?> contextKey = ContextKey.find(key);
+    if (contextKey != null && (value == null || contextKey.getType().isInstance(value))) {
+      setSlot(contextKey, value);
+      if (contextualData != null) {
+        contextualData.remove(key);
+      }
+      return;
+    }
+    if (contextualData == null) {
+      contextualData = new HashMap<>();
+    }
     contextualData.put(key, value);
   }
 
+  @Override
+  public <T> void addData(ContextKey<T> key, T value) {
+    setSlot(key, value);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T getData(ContextKey<T> key) {
+    int index = key.getIndex();
+    return slots != null && index < slots.length ? (T) slots[index] : null;
+  }
+
   @Override
   public void scheduleEvent(Object event) {
+    if (delayedEvents == null) {
+      delayedEvents = new ArrayList<>();
+    }
     delayedEvents.add(event);
   }
 
   @Override
   public Object getData(String key) {
-    if (contextualData != null) {
+    if (contextualData != null && contextualData.containsKey(key)) {
       return contextualData.get(key);
     }
-    return null;
+    ContextKey<?> contextKey = ContextKey.find(key);
+    return contextKey != null ? getData(contextKey) : null;
+  }
+
+  private void setSlot(ContextKey<?> key, Object value) {
+    int index = key.getIndex();
+    if (slots == null) {
+      slots = new Object[Math.max(INITIAL_SLOTS, index + 1)];
+    } else if (index >= slots.length) {
+      slots = Arrays.copyOf(slots, Math.max(slots.length * 2, index + 1));
+    }
+    slots[index] = value;
+  }
+
+  UnitOfWorkStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Brings the unit of work back to its initial state. The containers which were allocated are kept for reuse, unless
+   * they grew beyond the given size.
+   */
+  void reset(int maxRetainedSize) {
+    if (slots != null) {
+      Arrays.fill(slots, null);
+    }
+    if (contextualData != null && contextualData.size() > maxRetainedSize) {
+      contextualData = null;
+    } else if (contextualData != null) {
+      contextualData.clear();
+    }
+    if (delayedEvents != null && delayedEvents.size() > maxRetainedSize) {
+      delayedEvents = null;
+    } else if (delayedEvents != null) {
+      delayedEvents.clear();
+    }
+    status = UnitOfWorkStatus.STARTED;
   }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.unitofwork;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import eu.tripledframework.eventbus.EventPublisher;
+import eu.tripledframework.eventbus.internal.domain.ContextKey;
+
+/**
+ * A DefaultUnitOfWork which is handed back to the pool of its {@link PooledUnitOfWorkFactory} as soon as it was
+ * committed or rolled back and every reference on it was released.
+ * <p>
+ * A pooled instance rejects any use until it is created again by the factory, so that a reference which was kept
+ * without being retained fails instead of seeing the data of another command.
+ */
+public final class PooledUnitOfWork extends DefaultUnitOfWork {
+
+  private final PooledUnitOfWorkFactory factory;
+  private final AtomicInteger references = new AtomicInteger();
+  private volatile boolean pooled;
+
+  PooledUnitOfWork(PooledUnitOfWorkFactory factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  public void commit(EventPublisher eventPublisher) {
+    checkNotPooled();
+    super.commit(eventPublisher);
+  }
+
+  @Override
+  public void rollback() {
+    checkNotPooled();
+    super.rollback();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return !pooled && super.isRunning();
+  }
+
+  @Override
+  public void addData(String key, Object value) {
+    checkNotPooled();
+    super.addData(key, value);
+  }
+
+  @Override
+  public void scheduleEvent(Object event) {
+    checkNotPooled();
+    super.scheduleEvent(event);
+  }
+
+  @Override
+  public Object getData(String key) {
+    checkNotPooled();
+    return super.getData(key);
+  }
+
+  @Override
+  public <T> void addData(ContextKey<T> key, T value) {
+    checkNotPooled();
+    super.addData(key, value);
+  }
+
+  @Override
+  public <T> T getData(ContextKey<T> key) {
+    checkNotPooled();
+    return super.getData(key);
+  }
+
+  @Override
+  public void retain() {
+    checkNotPooled();
+    references.incrementAndGet();
+  }
+
+  @Override
+  public void release() {
+    int remaining = references.decrementAndGet();
+    if (remaining < 0) {
+      references.incrementAndGet();
+      throw new IllegalStateException("The unit of work was released more often than it was retained.");
+    }
+    if (remaining == 0 && isFinished()) {
+      pooled = true;
+      factory.recycle(this);
+    }
+  }
+
+  void reuse() {
+    pooled = false;
+  }
+
+  private boolean isFinished() {
+    UnitOfWorkStatus status = getStatus();
+    return status == UnitOfWorkStatus.COMMITED || status == UnitOfWorkStatus.ROLLED_BACK;
+  }
+
+  private void checkNotPooled() {
+    if (pooled) {
+      throw new IllegalStateException("The unit of work was used after it was handed back to the pool.");
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.unitofwork;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWorkFactory;
+
+/**
+ * A UnitOfWorkFactory which reuses the units of work of finished commands. A unit of work is returned to a bounded pool
+ * when its last reference is released, typically when the thread which handled the command clears it from the
+ * {@link UnitOfWorkRepository}. The pool is shared by all threads, since an asynchronous event bus creates the unit of
+ * work on the dispatching thread but releases it on the thread which handled the command.
+ * <p>
+ * Handlers should not keep a reference to the unit of work once their command is finished.
+ */
+public class PooledUnitOfWorkFactory implements UnitOfWorkFactory {
+
+  private static final int DEFAULT_POOL_SIZE = 16;
+  private static final int MAX_RETAINED_SIZE = 64;
+
+  private final BlockingQueue<PooledUnitOfWork> pool;
+
+  public PooledUnitOfWorkFactory() {
+    this(DEFAULT_POOL_SIZE);
+  }
+
+  public PooledUnitOfWorkFactory(int poolSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("The pool size should be at least 1.");
+    }
+    this.pool = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  @Override
+  public UnitOfWork create() {
+    PooledUnitOfWork unitOfWork = pool.poll();
+    if (unitOfWork == null) {
+      return new PooledUnitOfWork(this);
+    }
+    unitOfWork.reuse();
+    return unitOfWork;
+  }
+
+  void recycle(PooledUnitOfWork unitOfWork) {
+    // reset before it is offered, another thread may take it from the pool right away.
+    unitOfWork.reset(MAX_RETAINED_SIZE);
+    pool.offer(unitOfWork);
+  }
+}
@@ -29,15 +29,36 @@ public final class UnitOfWorkRepository {
     return holder.get();
   }
 
+  /**
+   * Removes the UnitOfWork of the current thread, releasing the reference the thread held on it.
+   */
   public static void clear() {
+    UnitOfWork previous = holder.get();
     holder.remove();
+    if (previous != null) {
+      previous.release();
+    }
   }
 
+  /**
+   * Stores the UnitOfWork of the current thread. The thread retains a reference on it until it is cleared or replaced.
+   */
   public static void store(UnitOfWork unitOfWork) {
+    UnitOfWork previous = holder.get();
+    if (previous == unitOfWork) {
+      return;
+    }
     holder.set(unitOfWork);
+    if (unitOfWork != null) {
+      unitOfWork.retain();
+    }
+    if (previous != null) {
+      previous.release();
+    }
   }
 
   public static boolean isRunning() {
-    return holder.get() != null && holder.get().isRunning();
+    UnitOfWork unitOfWork = holder.get();
+    return unitOfWork != null && unitOfWork.isRunning();
   }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus;
+
+import eu.tripledframework.eventbus.internal.infrastructure.callback.FutureCommandCallback;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class CommandDispatcherTest {
+
+  private final CommandDispatcher commandDispatcher = new EchoingCommandDispatcher();
+
+  @Test
+  void whenDispatchingAsyncWithTheDefaultImplementation_shouldCompleteWithTheResult() throws Exception {
+    // when
+    CompletableFuture<String> future = commandDispatcher.dispatchAsync("Domenique");
+
+    // then
+    assertThat(future.get(), equalTo("Domenique"));
+  }
+
+  @Test
+  void whenDispatchingAsyncWithTheDefaultImplementation_shouldCompleteWithTheFailure() {
+    // when
+    CompletableFuture<String> future = commandDispatcher.dispatchAsync(42);
+
+    // then
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause(), instanceOf(IllegalArgumentException.class));
+  }
+
+  @Test
+  void whenDispatchingAllWithTheDefaultImplementation_shouldReturnTheResultOfEveryCommandInOrder() throws Exception {
+    // when
+    List<CommandResult> results = commandDispatcher.dispatchAll(Arrays.asList("Domenique", 42, "Tripled")).get();
+
+    // then
+    assertThat(results.size(), equalTo(3));
+    assertThat(results.get(0).getResult(), equalTo("Domenique"));
+    assertThat(results.get(1).isSuccess(), is(false));
+    assertThat(results.get(1).getException(), instanceOf(IllegalArgumentException.class));
+    assertThat(results.get(2).getResult(), equalTo("Tripled"));
+  }
+
+  @Test
+  void whenDispatchingAllOrNothingWithTheDefaultImplementation_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(UnsupportedOperationException.class,
+        () -> commandDispatcher.dispatchAll(Collections.singletonList("Domenique"), BatchCommitMode.ALL_OR_NOTHING));
+  }
+
+  /**
+   * A CommandDispatcher which only implements the abstract methods, it returns String commands and fails others.
+   */
+  private static class EchoingCommandDispatcher implements CommandDispatcher {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ReturnType> void dispatch(Object command, CommandCallback<ReturnType> callback) {
+      if (command instanceof String) {
+        callback.onSuccess((ReturnType) command);
+      } else {
+        callback.onFailure(new IllegalArgumentException("Only strings can be dispatched."));
+      }
+    }
+
+    @Override
+    public <ReturnType> Future<ReturnType> dispatch(Object command) {
+      FutureCommandCallback<ReturnType> future = new FutureCommandCallback<>();
+      dispatch(command, future);
+      return future;
+    }
+  }
+}
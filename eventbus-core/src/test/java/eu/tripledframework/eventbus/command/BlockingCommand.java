@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.command;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A command whose handler blocks until the command is released, used to keep the threads of an event bus busy.
+ */
+public class BlockingCommand {
+
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch released = new CountDownLatch(1);
+
+  public void awaitStarted() throws InterruptedException {
+    started.await(5, TimeUnit.SECONDS);
+  }
+
+  public void release() {
+    released.countDown();
+  }
+
+  public void block() throws InterruptedException {
+    started.countDown();
+    released.await(5, TimeUnit.SECONDS);
+  }
+}
@@ -18,6 +18,7 @@ package eu.tripledframework.eventbus.handler;
 import eu.tripledframework.eventbus.Handler;
 import eu.tripledframework.eventbus.Handles;
 import eu.tripledframework.eventbus.command.AnCommandHandledByMultipleHandlers;
+import eu.tripledframework.eventbus.command.BlockingCommand;
 import eu.tripledframework.eventbus.command.CommandHandledByAPrivateMethod;
 import eu.tripledframework.eventbus.command.FailingCommand;
 import eu.tripledframework.eventbus.command.FailingCommandWithCheckedException;
@@ -76,4 +77,9 @@ public class TestCommandHandler {
     return "Handled by second.";
   }
 
+  @Handles(BlockingCommand.class)
+  public void handleBlockingCommand(BlockingCommand command) throws InterruptedException {
+    command.block();
+  }
+
 }
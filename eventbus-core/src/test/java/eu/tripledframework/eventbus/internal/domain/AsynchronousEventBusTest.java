@@ -17,25 +17,37 @@ package eu.tripledframework.eventbus.internal.domain;
 
 import eu.tripledframework.eventbus.CommandDispatcher;
 import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.command.BlockingCommand;
 import eu.tripledframework.eventbus.command.HelloCommand;
 import eu.tripledframework.eventbus.command.ValidatingCommand;
 import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.BoundedThreadPoolExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusSaturatedException;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.VirtualThreadExecutors;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.TestValidator;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.ValidatingEventBusInterceptor;
 import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
 import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
 import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -131,4 +143,100 @@ class AsynchronousEventBusTest {
     assertThat(eventHandler.isValidatingCommandHandled, is(true));
     assertThat(eventHandler.threadNameForExecute, equalTo(THREAD_POOL_WITH_VALIDATION_PREFIX + "0"));
   }
-}
\ No newline at end of file
+
+  @Test
+  void whenTheExecutorIsSaturated_shouldFailTheCommandWithASaturatedException() throws Exception {
+    // given
+    BoundedThreadPoolExecutor executor = new BoundedThreadPoolExecutor(1, 1, 1, SaturationPolicy.FAIL_FAST,
+        new NamedThreadFactory(THREAD_POOL_PREFIX));
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections
+        .singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), executor);
+    eventBus.subscribe(eventHandler);
+    BlockingCommand blockingCommand = new BlockingCommand();
+    eventBus.dispatch(blockingCommand);
+    blockingCommand.awaitStarted();
+    eventBus.dispatch(new HelloCommand("Queued"));
+
+    // when
+    Future<Void> future = eventBus.dispatch(new HelloCommand("Domenique"));
+
+    // then
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause(), instanceOf(EventBusSaturatedException.class));
+    blockingCommand.release();
+    executor.shutdown();
+  }
+
+  @Test
+  void whenUsingVirtualThreads_everyCommandShouldBeExecuted() throws Exception {
+    // given
+    Assumptions.assumeTrue(VirtualThreadExecutors.isAvailable());
+    ExecutorService executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections
+        .singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), executor, true);
+    eventBus.subscribe(eventHandler);
+    List<Future<String>> futures = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 1000; i++) {
+      futures.add(eventBus.dispatch(new HelloCommand("Domenique " + i)));
+    }
+
+    // then
+    for (int i = 0; i < futures.size(); i++) {
+      assertThat(futures.get(i).get(), equalTo("Hello Domenique " + i));
+    }
+    executor.shutdown();
+  }
+
+  @Test
+  void whenCancelledWhileQueued_shouldRemoveTheCommandFromTheQueue() throws Exception {
+    // given
+    BoundedThreadPoolExecutor executor = new BoundedThreadPoolExecutor(1, 1, 10, SaturationPolicy.BLOCK,
+        new NamedThreadFactory(THREAD_POOL_PREFIX));
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections
+        .singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), executor);
+    eventBus.subscribe(eventHandler);
+    BlockingCommand blockingCommand = new BlockingCommand();
+    Future<Void> blockingFuture = eventBus.dispatch(blockingCommand);
+    blockingCommand.awaitStarted();
+    CompletableFuture<String> future = eventBus.dispatchAsync(new HelloCommand("Domenique"));
+
+    // when
+    future.cancel(false);
+
+    // then
+    assertThat(executor.getQueue().isEmpty(), is(true));
+    blockingCommand.release();
+    blockingFuture.get();
+    assertThat(eventHandler.isHelloCommandHandled, is(false));
+    executor.shutdown();
+  }
+
+  @Test
+  void whenCancelledBeforeExecution_shouldNotExecuteTheCommand() throws Exception {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor(new NamedThreadFactory(THREAD_POOL_PREFIX));
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections
+        .singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), command -> executor.execute(command));
+    eventBus.subscribe(eventHandler);
+    BlockingCommand blockingCommand = new BlockingCommand();
+    Future<Void> blockingFuture = eventBus.dispatch(blockingCommand);
+    blockingCommand.awaitStarted();
+    CompletableFuture<String> future = eventBus.dispatchAsync(new HelloCommand("Domenique"));
+
+    // when
+    future.cancel(false);
+    blockingCommand.release();
+    blockingFuture.get();
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(eventHandler.isHelloCommandHandled, is(false));
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.BatchCommitMode;
+import eu.tripledframework.eventbus.CommandResult;
+import eu.tripledframework.eventbus.command.FailingCommand;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.command.UnhandledCommand;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InvokerNotFoundException;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.BatchAbortedException;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.TestingUnitOfWorkFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.UnitOfWorkRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class BatchDispatchingTests extends AbstractEventBusTest {
+
+  private SynchronousEventBus eventBus;
+  private TestCommandHandler commandHandler;
+  private TestingUnitOfWorkFactory unitOfWorkFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    unitOfWorkFactory = new TestingUnitOfWorkFactory();
+    eventBus = createSynchronousEventBus(Collections.emptyList(), unitOfWorkFactory);
+
+    commandHandler = new TestCommandHandler();
+    eventBus.subscribe(commandHandler);
+  }
+
+  @AfterEach
+  void tearDown() {
+    UnitOfWorkRepository.clear();
+  }
+
+  @Test
+  void whenDispatchingABatchPerItem_failingCommandShouldNotAffectTheOthers() throws Exception {
+    // given
+    List<Object> commands = Arrays.asList(new HelloCommand("Domenique"), new FailingCommand(), new HelloCommand("Bob"));
+
+    // when
+    List<CommandResult> results = eventBus.dispatchAll(commands, BatchCommitMode.PER_ITEM).get();
+
+    // then
+    assertThat(results.size(), equalTo(3));
+    assertThat(results.get(0).isSuccess(), is(true));
+    assertThat(results.get(0).getResult(), equalTo("Hello Domenique"));
+    assertThat(results.get(1).isSuccess(), is(false));
+    assertThat(results.get(1).getException(), instanceOf(IllegalStateException.class));
+    assertThat(results.get(2).isSuccess(), is(true));
+    assertThat(results.get(2).getResult(), equalTo("Hello Bob"));
+    assertThat(unitOfWorkFactory.getCreatedUoW().isCommitCalled, is(true));
+  }
+
+  @Test
+  void whenDispatchingABatchAllOrNothing_shouldCommitASingleUnitOfWork() throws Exception {
+    // given
+    List<Object> commands = Arrays.asList(new HelloCommand("Domenique"), new HelloCommand("Bob"));
+
+    // when
+    List<CommandResult> results = eventBus.dispatchAll(commands, BatchCommitMode.ALL_OR_NOTHING).get();
+
+    // then
+    assertThat(results.get(0).getResult(), equalTo("Hello Domenique"));
+    assertThat(results.get(1).getResult(), equalTo("Hello Bob"));
+    assertThat(unitOfWorkFactory.getCreatedUoW().isCommitCalled, is(true));
+  }
+
+  @Test
+  void whenACommandOfAnAllOrNothingBatchFails_theWholeBatchShouldBeAborted() throws Exception {
+    // given
+    List<Object> commands = Arrays.asList(new HelloCommand("Domenique"), new FailingCommand(), new HelloCommand("Bob"));
+
+    // when
+    List<CommandResult> results = eventBus.dispatchAll(commands, BatchCommitMode.ALL_OR_NOTHING).get();
+
+    // then
+    assertThat(unitOfWorkFactory.getCreatedUoW().isCommitCalled, is(false));
+    assertThat(results.get(1).getException(), instanceOf(IllegalStateException.class));
+    assertThat(results.get(0).getException(), instanceOf(BatchAbortedException.class));
+    assertThat(results.get(0).getException().getCause(), sameInstance(results.get(1).getException()));
+    assertThat(results.get(2).getException(), instanceOf(BatchAbortedException.class));
+  }
+
+  @Test
+  void whenAnAllOrNothingBatchContainsAnUnhandledCommand_noCommandShouldBeHandled() throws Exception {
+    // given
+    List<Object> commands = Arrays.asList(new HelloCommand("Domenique"), new UnhandledCommand());
+
+    // when
+    List<CommandResult> results = eventBus.dispatchAll(commands, BatchCommitMode.ALL_OR_NOTHING).get();
+
+    // then
+    assertThat(commandHandler.isHelloCommandHandled, is(false));
+    assertThat(results.get(0).getException(), instanceOf(BatchAbortedException.class));
+    assertThat(results.get(1).getException(), instanceOf(InvokerNotFoundException.class));
+  }
+
+  @Test
+  void whenDispatchingABatchAsynchronously_shouldHandleTheBatchOnASingleThread() throws Exception {
+    // given
+    AsynchronousEventBus asynchronousEventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections.singletonList(new SimpleInvokerFactory()),
+        new DefaultUnitOfWorkFactory(), Executors.newSingleThreadExecutor(new NamedThreadFactory("CDBatch-pool-")));
+    asynchronousEventBus.subscribe(commandHandler);
+    List<Object> commands = Arrays.asList(new HelloCommand("Domenique"), new HelloCommand("Bob"));
+
+    // when
+    List<CommandResult> results = asynchronousEventBus.dispatchAll(commands).get(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(results.get(0).getResult(), equalTo("Hello Domenique"));
+    assertThat(results.get(1).getResult(), equalTo("Hello Bob"));
+    assertThat(commandHandler.threadNameForExecute.startsWith("CDBatch-pool-"), is(true));
+  }
+}
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -136,6 +137,33 @@ class CommandDispatchingTests extends AbstractEventBusTest {
         }
     }
 
+    @Test
+    void whenDispatchingAsync_shouldCompleteTheFutureWithTheResult() throws Exception {
+        // given
+        HelloCommand command = new HelloCommand("Domenique");
+
+        // when
+        CompletableFuture<String> future = commandDispatcher.dispatchAsync(command);
+
+        // then
+        assertThat(future.isDone(), is(true));
+        assertThat(future.get(), equalTo("Hello Domenique"));
+    }
+
+    @Test
+    void whenDispatchingAsyncACommandWhichFails_shouldCompleteTheFutureExceptionally() throws Exception {
+        // given
+        FailingCommand command = new FailingCommand();
+
+        // when
+        CompletableFuture<String> future = commandDispatcher.dispatchAsync(command);
+
+        // then
+        assertThat(future.isCompletedExceptionally(), is(true));
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+        assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+    }
+
     @Test
     void whenGivenACommandWhichFailsWithACheckedExceptionUsingAFuture_shouldFail() throws Exception {
         // given
@@ -9,6 +9,7 @@ import eu.tripledframework.eventbus.handler.TestEventHandler;
 import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.TestUnitOfWork;
 import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.TestingUnitOfWorkFactory;
 import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.UnitOfWorkRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -39,6 +40,11 @@ class CommandDispatchingUnitOfWorkTests extends AbstractEventBusTest {
     eventPublisher = eventBus;
   }
 
+  @AfterEach
+  void tearDown() {
+    UnitOfWorkRepository.clear();
+  }
+
   @Test
   void whenDispatching_shouldCreateAUnitOfWork() {
     // given
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ContextPropagationTests {
+
+  private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+  private final List<String> seenTenants = new CopyOnWriteArrayList<>();
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void tearDown() {
+    TENANT.remove();
+    executor.shutdown();
+  }
+
+  @Test
+  void whenACommandIsDispatchedAsynchronously_shouldApplyTheCapturedContextWhileItIsHandled() throws Exception {
+    // given
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(Collections.singletonList(new TenantRecordingInterceptor())),
+        Collections.singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), executor);
+    eventBus.subscribe(new TestCommandHandler());
+    eventBus.setContextPropagator(new ContextPropagator(Collections.singletonList(new TenantAccessor())));
+    TENANT.set("tenant-1");
+
+    // when
+    eventBus.dispatch(new HelloCommand("Domenique")).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(seenTenants, equalTo(Collections.singletonList("tenant-1")));
+    assertThat(executor.submit(TENANT::get).get(5, TimeUnit.SECONDS), nullValue());
+  }
+
+  @Test
+  void whenNoContextPropagatorIsSet_shouldNotPropagateTheContext() throws Exception {
+    // given
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(Collections.singletonList(new TenantRecordingInterceptor())),
+        Collections.singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), executor);
+    eventBus.subscribe(new TestCommandHandler());
+    TENANT.set("tenant-1");
+
+    // when
+    eventBus.dispatch(new HelloCommand("Domenique")).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(seenTenants, equalTo(Collections.singletonList(null)));
+  }
+
+  @Test
+  void whenACommandIsDispatchedOnARingBuffer_shouldApplyTheCapturedContextWhileItIsHandled() throws Exception {
+    // given
+    RingBufferEventBus eventBus = new RingBufferEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(Collections.singletonList(new TenantRecordingInterceptor())),
+        Collections.singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), 16, 1);
+    eventBus.subscribe(new TestCommandHandler());
+    eventBus.setContextPropagator(new ContextPropagator(Collections.singletonList(new TenantAccessor())));
+
+    // when
+    TENANT.set("tenant-1");
+    eventBus.dispatch(new HelloCommand("Domenique")).get(5, TimeUnit.SECONDS);
+    TENANT.set("tenant-2");
+    eventBus.dispatch(new HelloCommand("Domenique")).get(5, TimeUnit.SECONDS);
+    eventBus.close();
+
+    // then
+    assertThat(seenTenants, equalTo(Arrays.asList("tenant-1", "tenant-2")));
+  }
+
+  private class TenantRecordingInterceptor implements EventBusInterceptor {
+
+    @Override
+    public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
+      seenTenants.add(TENANT.get());
+      return chain.proceed();
+    }
+  }
+
+  private static class TenantAccessor implements ThreadLocalAccessor<String> {
+
+    @Override
+    public String getValue() {
+      return TENANT.get();
+    }
+
+    @Override
+    public void setValue(String value) {
+      TENANT.set(value);
+    }
+
+    @Override
+    public void reset() {
+      TENANT.remove();
+    }
+  }
+}
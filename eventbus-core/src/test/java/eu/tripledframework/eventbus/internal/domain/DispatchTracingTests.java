@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.command.BlockingCommand;
+import eu.tripledframework.eventbus.command.FailingCommand;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+class DispatchTracingTests extends AbstractEventBusTest {
+
+  private static final long DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+  private final List<DispatchTrace> traces = new CopyOnWriteArrayList<>();
+
+  @Test
+  void whenAnInterceptorIsSlow_shouldAttributeTheTimeToTheInterceptors() throws Exception {
+    // given
+    SynchronousEventBus eventBus = createSynchronousEventBus(Collections.singletonList(new SleepingInterceptor()));
+    eventBus.subscribe(new TestCommandHandler());
+    eventBus.setDispatchTraceListener(traces::add);
+
+    // when
+    eventBus.dispatch(new HelloCommand("Domenique")).get();
+
+    // then
+    assertThat(traces.size(), is(1));
+    DispatchTrace trace = traces.get(0);
+    assertThat(trace.isSuccessful(), is(true));
+    assertThat(trace.getInterceptorNanos(), greaterThanOrEqualTo(DELAY_NANOS));
+    assertThat(trace.getTotalNanos(), greaterThanOrEqualTo(trace.getQueueWaitNanos() + trace.getInterceptorNanos()
+        + trace.getHandlerNanos() + trace.getCommitNanos()));
+  }
+
+  @Test
+  void whenACommandFails_shouldReportTheException() {
+    // given
+    SynchronousEventBus eventBus = createSynchronousEventBus(Collections.emptyList());
+    eventBus.subscribe(new TestCommandHandler());
+    eventBus.setDispatchTraceListener(traces::add);
+
+    // when
+    Assertions.assertThrows(Exception.class, () -> eventBus.dispatch(new FailingCommand()).get());
+
+    // then
+    assertThat(traces.get(0).isSuccessful(), is(false));
+    assertThat(traces.get(0).getException(), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void whenACommandWaitsForAThread_shouldAttributeTheTimeToTheQueue() throws Exception {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections.singletonList(new SimpleInvokerFactory()),
+        new DefaultUnitOfWorkFactory(), executor);
+    eventBus.subscribe(new TestCommandHandler());
+    eventBus.setDispatchTraceListener(traces::add);
+    BlockingCommand blockingCommand = new BlockingCommand();
+    eventBus.dispatch(blockingCommand);
+    blockingCommand.awaitStarted();
+
+    // when
+    Future<String> future = eventBus.dispatch(new HelloCommand("Queued"));
+    TimeUnit.NANOSECONDS.sleep(DELAY_NANOS);
+    blockingCommand.release();
+    future.get(5, TimeUnit.SECONDS);
+
+    // then
+    DispatchTrace trace = traces.stream().filter(t -> t.getMessage() instanceof HelloCommand).findFirst().get();
+    assertThat(trace.getQueueWaitNanos(), greaterThanOrEqualTo(DELAY_NANOS));
+    executor.shutdown();
+  }
+
+  private static class SleepingInterceptor implements EventBusInterceptor {
+
+    @Override
+    public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(DELAY_NANOS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return chain.proceed();
+    }
+  }
+}
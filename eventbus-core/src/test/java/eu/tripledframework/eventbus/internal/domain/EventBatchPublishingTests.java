@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.Handler;
+import eu.tripledframework.eventbus.Handles;
+import eu.tripledframework.eventbus.event.TestEvent;
+import eu.tripledframework.eventbus.event.UnhandledEvent;
+import eu.tripledframework.eventbus.handler.TestBatchEventHandler;
+import eu.tripledframework.eventbus.handler.TestEventHandler;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWork;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class EventBatchPublishingTests extends AbstractEventBusTest {
+
+  private SynchronousEventBus eventBus;
+  private TestBatchEventHandler batchEventHandler;
+  private TestEventHandler eventHandler;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    eventBus = createSynchronousEventBus(Collections.emptyList());
+
+    batchEventHandler = new TestBatchEventHandler();
+    eventBus.subscribe(batchEventHandler);
+    eventHandler = new TestEventHandler();
+    eventBus.subscribe(eventHandler);
+  }
+
+  @Test
+  void whenPublishingMultipleEvents_batchHandlerShouldReceiveConsecutiveEventsOfItsTypeAtOnce() {
+    // given
+    TestEvent first = new TestEvent();
+    TestEvent second = new TestEvent();
+
+    // when
+    eventBus.publishAll(Arrays.asList(first, second, new UnhandledEvent()));
+
+    // then
+    assertThat(batchEventHandler.handledBatches.size(), equalTo(1));
+    assertThat(batchEventHandler.handledBatches.get(0).size(), equalTo(2));
+    assertThat(batchEventHandler.handledBatches.get(0).get(0), sameInstance(first));
+    assertThat(batchEventHandler.handledBatches.get(0).get(1), sameInstance(second));
+    assertThat(eventHandler.testEventHandled, is(true));
+  }
+
+  @Test
+  void whenCommittingEventsOfInterleavedTypes_shouldPublishThemInTheOrderTheyWereScheduled() {
+    // given
+    EveryEventHandler everyEventHandler = new EveryEventHandler();
+    eventBus.subscribe(everyEventHandler);
+    TestEvent first = new TestEvent();
+    UnhandledEvent second = new UnhandledEvent();
+    TestEvent third = new TestEvent();
+    DefaultUnitOfWork unitOfWork = new DefaultUnitOfWork();
+    unitOfWork.scheduleEvent(first);
+    unitOfWork.scheduleEvent(second);
+    unitOfWork.scheduleEvent(third);
+
+    // when
+    unitOfWork.commit(eventBus);
+
+    // then
+    assertThat(everyEventHandler.handledEvents, equalTo(Arrays.asList(first, second, third)));
+    assertThat(batchEventHandler.handledBatches.size(), equalTo(2));
+    assertThat(batchEventHandler.handledBatches.get(0), equalTo(Collections.singletonList(first)));
+    assertThat(batchEventHandler.handledBatches.get(1), equalTo(Collections.singletonList(third)));
+  }
+
+  @Test
+  void whenPublishingASingleEvent_batchHandlerShouldReceiveABatchOfOne() {
+    // given
+    TestEvent event = new TestEvent();
+
+    // when
+    eventBus.publish(event);
+
+    // then
+    assertThat(batchEventHandler.handledBatches.size(), equalTo(1));
+    assertThat(batchEventHandler.handledBatches.get(0), equalTo(Collections.singletonList(event)));
+  }
+
+  @Test
+  void whenCommittingAUnitOfWork_scheduledEventsShouldBePublishedAsABatch() {
+    // given
+    DefaultUnitOfWork unitOfWork = new DefaultUnitOfWork();
+    unitOfWork.scheduleEvent(new TestEvent());
+    unitOfWork.scheduleEvent(new TestEvent());
+
+    // when
+    unitOfWork.commit(eventBus);
+
+    // then
+    assertThat(batchEventHandler.handledBatches.size(), equalTo(1));
+    assertThat(batchEventHandler.handledBatches.get(0).size(), equalTo(2));
+  }
+
+  @Test
+  void whenSubscribingABatchHandlerWhichDoesNotAcceptAList_shouldThrowException() {
+    // given
+    InvalidBatchEventHandler handler = new InvalidBatchEventHandler();
+
+    // when
+    Assertions.assertThrows(IllegalArgumentException.class, () -> eventBus.subscribe(handler));
+
+    // then --> exception
+  }
+
+  @Handler
+  public static class EveryEventHandler {
+
+    private final List<Object> handledEvents = new ArrayList<>();
+
+    @Handles(Object.class)
+    public void handleEvent(Object event) {
+      handledEvents.add(event);
+    }
+  }
+
+  @Handler
+  public static class InvalidBatchEventHandler {
+
+    @Handles(value = TestEvent.class, batch = true)
+    public void handleTestEvent(TestEvent testEvent) {
+    }
+  }
+}
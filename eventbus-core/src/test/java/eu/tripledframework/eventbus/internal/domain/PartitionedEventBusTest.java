@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.BatchCommitMode;
+import eu.tripledframework.eventbus.CommandResult;
+import eu.tripledframework.eventbus.Handler;
+import eu.tripledframework.eventbus.Handles;
+import eu.tripledframework.eventbus.RoutingKey;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusThreadFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.PartitionedExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.routing.AnnotationRoutingKeyResolver;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PartitionedEventBusTest {
+
+  private PartitionedExecutor executor;
+  private PartitionedEventBus eventBus;
+  private AggregateCommandHandler commandHandler;
+
+  @BeforeEach
+  void setUp() {
+    executor = new PartitionedExecutor(4, 1024, SaturationPolicy.BLOCK, new EventBusThreadFactory("partition-"));
+    eventBus = new PartitionedEventBus(new InMemoryInvokerRepository(), new SimpleInterceptorChainFactory(),
+        Collections.singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), executor,
+        new AnnotationRoutingKeyResolver(), false);
+    commandHandler = new AggregateCommandHandler();
+    eventBus.subscribe(commandHandler);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void whenDispatchingCommandsForTheSameAggregate_shouldHandleThemInOrderOnOneThread() throws Exception {
+    // given
+    List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      for (String aggregateId : new String[]{"a", "b", "c"}) {
+        futures.add(eventBus.dispatchAsync(new AggregateCommand(aggregateId, i)));
+      }
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+    // then
+    List<Integer> expected = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+    for (String aggregateId : new String[]{"a", "b", "c"}) {
+      assertThat(commandHandler.sequencesByAggregate.get(aggregateId), equalTo(expected));
+      assertThat(commandHandler.threadsByAggregate.get(aggregateId).stream().distinct().count(), equalTo(1L));
+    }
+  }
+
+  @Test
+  void whenDispatchingBatchesOfCommandsForDifferentAggregates_shouldHandleEveryCommandOnTheLaneOfItsAggregate()
+      throws Exception {
+    // given
+    List<CompletableFuture<?>> futures = new ArrayList<>();
+    List<CompletableFuture<List<CommandResult>>> batches = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      if (i % 2 == 0) {
+        batches.add(eventBus.dispatchAll(Arrays.asList(new AggregateCommand("a", i), new AggregateCommand("b", i),
+            new AggregateCommand("c", i))));
+      } else {
+        for (String aggregateId : new String[]{"a", "b", "c"}) {
+          futures.add(eventBus.dispatchAsync(new AggregateCommand(aggregateId, i)));
+        }
+      }
+    }
+    futures.addAll(batches);
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+    // then
+    List<Integer> expected = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+    for (String aggregateId : new String[]{"a", "b", "c"}) {
+      assertThat(commandHandler.sequencesByAggregate.get(aggregateId), equalTo(expected));
+      assertThat(commandHandler.threadsByAggregate.get(aggregateId).stream().distinct().count(), equalTo(1L));
+    }
+    List<CommandResult> results = batches.get(0).get();
+    assertThat(((AggregateCommand) results.get(0).getCommand()).aggregateId, equalTo("a"));
+    assertThat(((AggregateCommand) results.get(1).getCommand()).aggregateId, equalTo("b"));
+    assertThat(((AggregateCommand) results.get(2).getCommand()).aggregateId, equalTo("c"));
+  }
+
+  @Test
+  void whenDispatchingAnAllOrNothingBatchForDifferentAggregates_shouldRejectTheBatch() {
+    // given
+    List<Object> commands = Arrays.asList(new AggregateCommand("a", 0), new AggregateCommand("b", 0));
+
+    // when
+    CompletableFuture<List<CommandResult>> future = eventBus.dispatchAll(commands, BatchCommitMode.ALL_OR_NOTHING);
+
+    // then
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause(), instanceOf(IllegalArgumentException.class));
+  }
+
+  @Test
+  void whenClosed_shouldHandleTheQueuedCommandsAndStopTheLanes() throws Exception {
+    // given
+    List<CompletableFuture<Object>> futures = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      futures.add(eventBus.dispatchAsync(new AggregateCommand("a", i)));
+    }
+
+    // when
+    eventBus.close();
+
+    // then
+    assertThat(futures.stream().allMatch(CompletableFuture::isDone), is(true));
+    assertThat(executor.awaitTermination(0, TimeUnit.SECONDS), is(true));
+  }
+
+  public static class AggregateCommand {
+
+    @RoutingKey
+    private final String aggregateId;
+    private final int sequence;
+
+    AggregateCommand(String aggregateId, int sequence) {
+      this.aggregateId = aggregateId;
+      this.sequence = sequence;
+    }
+  }
+
+  @Handler
+  public static class AggregateCommandHandler {
+
+    private final Map<String, List<Integer>> sequencesByAggregate = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> threadsByAggregate = new ConcurrentHashMap<>();
+
+    @Handles(AggregateCommand.class)
+    public void handle(AggregateCommand command) {
+      // no synchronization, the commands of one aggregate are never handled concurrently.
+      sequencesByAggregate.computeIfAbsent(command.aggregateId, id -> new ArrayList<>()).add(command.sequence);
+      threadsByAggregate.computeIfAbsent(command.aggregateId, id -> new ArrayList<>())
+          .add(Thread.currentThread().getName());
+    }
+  }
+}
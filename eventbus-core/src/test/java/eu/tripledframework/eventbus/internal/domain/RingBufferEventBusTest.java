@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.domain;
+
+import eu.tripledframework.eventbus.command.BlockingCommand;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.event.TestEvent;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.handler.TestEventHandler;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusSaturatedException;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.YieldingWaitStrategy;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class RingBufferEventBusTest {
+
+  private static final String THREAD_POOL_PREFIX = "RingBufferForTest-";
+
+  private RingBufferEventBus eventBus;
+  private TestCommandHandler commandHandler;
+  private TestEventHandler eventHandler;
+
+  @AfterEach
+  void tearDown() {
+    eventBus.close();
+  }
+
+  @Test
+  void whenGivenAValidCommand_shouldBeExecutedOnAConsumerThread() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.BLOCK, false);
+    HelloCommand command = new HelloCommand("Domenique");
+
+    // when
+    Future<String> future = eventBus.dispatch(command);
+
+    // then
+    assertThat(future.get(), equalTo("Hello Domenique"));
+    assertThat(commandHandler.threadNameForExecute, equalTo(THREAD_POOL_PREFIX + "0"));
+  }
+
+  @Test
+  void whenHandlingEventsAsynchronously_shouldPublishOnAConsumerThread() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.BLOCK, true);
+
+    // when
+    eventBus.publish(new TestEvent());
+    eventBus.close();
+
+    // then
+    assertThat(eventHandler.testEventHandled, is(true));
+  }
+
+  @Test
+  void whenFullAndFailingFast_shouldRejectTheCommand() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.FAIL_FAST, false);
+    BlockingCommand blockingCommand = occupyTheConsumerAndFillTheRingBuffer();
+
+    // when
+    Future<String> future = eventBus.dispatch(new HelloCommand("Domenique"));
+
+    // then
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause(), instanceOf(EventBusSaturatedException.class));
+    blockingCommand.release();
+  }
+
+  @Test
+  void whenFullAndCallerRuns_shouldExecuteTheCommandOnTheCallingThread() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.CALLER_RUNS, false);
+    BlockingCommand blockingCommand = occupyTheConsumerAndFillTheRingBuffer();
+
+    // when
+    Future<String> future = eventBus.dispatch(new HelloCommand("Domenique"));
+
+    // then
+    assertThat(future.isDone(), is(true));
+    assertThat(future.get(), equalTo("Hello Domenique"));
+    assertThat(commandHandler.threadNameForExecute, equalTo(Thread.currentThread().getName()));
+    blockingCommand.release();
+  }
+
+  @Test
+  void whenFullAndBlocking_shouldExecuteTheCommandOnceCapacityIsAvailable() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.BLOCK, false);
+    BlockingCommand blockingCommand = occupyTheConsumerAndFillTheRingBuffer();
+    Thread releasingThread = new Thread(blockingCommand::release);
+
+    // when
+    releasingThread.start();
+    Future<String> future = eventBus.dispatch(new HelloCommand("Domenique"));
+
+    // then
+    assertThat(future.get(), equalTo("Hello Domenique"));
+    assertThat(commandHandler.threadNameForExecute, equalTo(THREAD_POOL_PREFIX + "0"));
+  }
+
+  @Test
+  void whenClosed_shouldRejectNewCommands() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.BLOCK, false);
+    eventBus.close();
+
+    // when
+    Future<String> future = eventBus.dispatch(new HelloCommand("Domenique"));
+
+    // then
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void whenClosedWhileBlockingOnAFullRingBuffer_shouldNotLoseTheCommand() throws Exception {
+    // given
+    createEventBus(SaturationPolicy.BLOCK, false);
+    BlockingCommand blockingCommand = occupyTheConsumerAndFillTheRingBuffer();
+    AtomicReference<Object> outcome = new AtomicReference<>();
+    Thread producer = new Thread(() -> {
+      try {
+        outcome.set(eventBus.dispatch(new HelloCommand("Domenique")).get(5, TimeUnit.SECONDS));
+      } catch (ExecutionException exception) {
+        outcome.set(exception.getCause());
+      } catch (Exception exception) {
+        outcome.set(exception);
+      }
+    });
+    producer.start();
+    Thread closer = new Thread(eventBus::close);
+
+    // when
+    closer.start();
+    blockingCommand.release();
+    closer.join(5000);
+    producer.join(5000);
+
+    // then
+    assertThat(closer.isAlive(), is(false));
+    assertThat(producer.isAlive(), is(false));
+    // the command was either handled or rejected, but it never waits for a callback which does not come.
+    if (!"Hello Domenique".equals(outcome.get())) {
+      assertThat(outcome.get(), instanceOf(IllegalStateException.class));
+    }
+  }
+
+  private BlockingCommand occupyTheConsumerAndFillTheRingBuffer() throws InterruptedException {
+    BlockingCommand blockingCommand = new BlockingCommand();
+    eventBus.dispatch(blockingCommand);
+    blockingCommand.awaitStarted();
+    eventBus.dispatch(new HelloCommand("Queued"));
+    eventBus.dispatch(new HelloCommand("Queued"));
+    return blockingCommand;
+  }
+
+  private void createEventBus(SaturationPolicy saturationPolicy, boolean asyncEventHandling) {
+    commandHandler = new TestCommandHandler();
+    eventHandler = new TestEventHandler();
+    eventBus = new RingBufferEventBus(new InMemoryInvokerRepository(), new SimpleInterceptorChainFactory(),
+        Collections.singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory(), 2, 1,
+        new NamedThreadFactory(THREAD_POOL_PREFIX), new YieldingWaitStrategy(), saturationPolicy, asyncEventHandling);
+    eventBus.subscribe(commandHandler);
+    eventBus.subscribe(eventHandler);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.callback;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class CompletableFutureCommandCallbackTest {
+
+  @Test
+  void whenOnSuccessCalled_shouldCompleteTheFutureWithTheResult() throws Exception {
+    // given
+    CompletableFutureCommandCallback<String> future = new CompletableFutureCommandCallback<>();
+    CompletableFuture<Integer> length = future.thenApply(String::length);
+
+    // when
+    future.onSuccess("response");
+
+    // then
+    assertThat(future.get(), equalTo("response"));
+    assertThat(length.get(), is(8));
+  }
+
+  @Test
+  void whenOnFailureCalled_shouldCompleteTheFutureExceptionally() {
+    // given
+    CompletableFutureCommandCallback<String> future = new CompletableFutureCommandCallback<>();
+
+    // when
+    future.onFailure(new IllegalStateException("failed"));
+
+    // then
+    ExecutionException exception = Assertions.assertThrows(ExecutionException.class, future::get);
+    assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void whenCancelCalled_shouldBeCancelled() {
+    // given
+    CompletableFutureCommandCallback<String> future = new CompletableFutureCommandCallback<>();
+
+    // when
+    boolean cancelled = future.cancel(false);
+
+    // then
+    assertThat(cancelled, is(true));
+    assertThat(future.isCancelled(), is(true));
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class BoundedThreadPoolExecutorTest {
+
+  private static final String THREAD_NAME_PREFIX = "BoundedForTest-";
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private BoundedThreadPoolExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void whenSaturatedAndFailingFast_shouldRejectTheTask() throws Exception {
+    // given
+    createSaturatedExecutor(SaturationPolicy.FAIL_FAST);
+
+    // when & then
+    Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+  }
+
+  @Test
+  void whenSaturatedAndCallerRuns_shouldRunTheTaskOnTheCallingThread() throws Exception {
+    // given
+    createSaturatedExecutor(SaturationPolicy.CALLER_RUNS);
+    AtomicReference<String> threadName = new AtomicReference<>();
+
+    // when
+    executor.execute(() -> threadName.set(Thread.currentThread().getName()));
+
+    // then
+    assertThat(threadName.get(), equalTo(Thread.currentThread().getName()));
+  }
+
+  @Test
+  void whenSaturatedAndBlocking_shouldRunTheTaskOnceThePoolHasCapacity() throws Exception {
+    // given
+    createSaturatedExecutor(SaturationPolicy.BLOCK);
+    CountDownLatch executed = new CountDownLatch(1);
+    AtomicReference<String> threadName = new AtomicReference<>();
+    new Thread(release::countDown).start();
+
+    // when
+    executor.execute(() -> {
+      threadName.set(Thread.currentThread().getName());
+      executed.countDown();
+    });
+
+    // then
+    assertThat(executed.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(threadName.get(), equalTo(THREAD_NAME_PREFIX + "0"));
+  }
+
+  @Test
+  void whenSaturatedAndBlocking_aTaskSubmittedByAPooledTaskShouldRunOnThatThread() throws Exception {
+    // given
+    executor = new BoundedThreadPoolExecutor(1, 1, 1, SaturationPolicy.BLOCK,
+        new EventBusThreadFactory(THREAD_NAME_PREFIX));
+    CountDownLatch executed = new CountDownLatch(1);
+    AtomicReference<String> threadName = new AtomicReference<>();
+
+    // when
+    executor.execute(() -> {
+      executor.execute(() -> { });
+      executor.execute(() -> {
+        threadName.set(Thread.currentThread().getName());
+        executed.countDown();
+      });
+    });
+
+    // then
+    assertThat(executed.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(threadName.get(), equalTo(THREAD_NAME_PREFIX + "0"));
+  }
+
+  @Test
+  void whenShutdownWhileBlocking_shouldRunOrRejectTheTask() throws Exception {
+    // given
+    createSaturatedExecutor(SaturationPolicy.BLOCK);
+    CountDownLatch executed = new CountDownLatch(1);
+    AtomicReference<Exception> rejection = new AtomicReference<>();
+    Thread submitter = new Thread(() -> {
+      try {
+        executor.execute(executed::countDown);
+      } catch (RejectedExecutionException exception) {
+        rejection.set(exception);
+      }
+    });
+    submitter.start();
+
+    // when
+    executor.shutdown();
+    release.countDown();
+    submitter.join(5000);
+
+    // then
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), is(true));
+    assertThat(executed.getCount() == 0 || rejection.get() != null, is(true));
+  }
+
+  private void createSaturatedExecutor(SaturationPolicy saturationPolicy) throws InterruptedException {
+    executor = new BoundedThreadPoolExecutor(1, 1, 1, saturationPolicy, new EventBusThreadFactory(THREAD_NAME_PREFIX));
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(() -> {
+      started.countDown();
+      awaitRelease();
+    });
+    started.await(5, TimeUnit.SECONDS);
+    executor.execute(this::awaitRelease);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ConcurrencyLimitingExecutorTest {
+
+  private final ExecutorService delegate = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void tearDown() {
+    delegate.shutdownNow();
+  }
+
+  @Test
+  void whenGivenAnInvalidMaxConcurrency_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitingExecutor(delegate, 0));
+  }
+
+  @Test
+  void whenSubmittingMoreTasksThanAllowed_shouldNeverRunMoreAtTheSameTime() throws Exception {
+    // given
+    ConcurrencyLimitingExecutor executor = new ConcurrencyLimitingExecutor(delegate, 2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch finished = new CountDownLatch(20);
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      executor.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        sleep();
+        running.decrementAndGet();
+        finished.countDown();
+      });
+    }
+
+    // then
+    assertThat(finished.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(maxRunning.get(), is(2));
+  }
+
+  private void sleep() {
+    try {
+      Thread.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
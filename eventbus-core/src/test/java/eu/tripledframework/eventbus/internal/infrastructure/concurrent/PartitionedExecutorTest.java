@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PartitionedExecutorTest {
+
+  private final PartitionedExecutor executor =
+      new PartitionedExecutor(4, 1024, SaturationPolicy.BLOCK, new EventBusThreadFactory("partition-test-"));
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void whenGivenAnInvalidLaneCount_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new PartitionedExecutor(0, 16, SaturationPolicy.BLOCK, new EventBusThreadFactory("partition-test-")));
+  }
+
+  @Test
+  void whenGivenTheCallerRunsPolicy_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PartitionedExecutor(2, 16,
+        SaturationPolicy.CALLER_RUNS, new EventBusThreadFactory("partition-test-")));
+  }
+
+  @Test
+  void whenExecutingTasksWithTheSameKey_shouldRunThemInOrderOnASingleThread() throws Exception {
+    // given
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+    CountDownLatch finished = new CountDownLatch(100);
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      int sequence = i;
+      executor.execute("aggregate-1", () -> {
+        executed.add(sequence);
+        threadNames.add(Thread.currentThread().getName());
+        finished.countDown();
+      });
+    }
+
+    // then
+    assertThat(finished.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(executed, equalTo(IntStream.range(0, 100).boxed().collect(Collectors.toList())));
+    assertThat(threadNames.size(), equalTo(1));
+  }
+
+  @Test
+  void whenExecutingTasksWithDifferentKeys_shouldSpreadThemOverTheLanes() throws Exception {
+    // given
+    Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+    CountDownLatch finished = new CountDownLatch(100);
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      executor.execute("aggregate-" + i, () -> {
+        threadNames.add(Thread.currentThread().getName());
+        finished.countDown();
+      });
+    }
+
+    // then
+    assertThat(finished.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(threadNames.size(), equalTo(executor.getLaneCount()));
+  }
+
+  @Test
+  void whenTwoFullLanesSubmitToEachOther_shouldRejectTheTasksInsteadOfDeadlocking() throws Exception {
+    // given
+    PartitionedExecutor saturatedExecutor =
+        new PartitionedExecutor(2, 1, SaturationPolicy.BLOCK, new EventBusThreadFactory("partition-test-"));
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch go = new CountDownLatch(1);
+    CountDownLatch submitted = new CountDownLatch(2);
+    CountDownLatch rejected = new CountDownLatch(2);
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    for (int lane = 0; lane < 2; lane++) {
+      int otherLane = 1 - lane;
+      saturatedExecutor.execute(lane, () -> {
+        started.countDown();
+        await(go);
+        try {
+          saturatedExecutor.execute(otherLane, () -> executed.add(otherLane));
+        } catch (RejectedExecutionException exception) {
+          rejected.countDown();
+        }
+        // keep both lanes full until both have submitted.
+        submitted.countDown();
+        await(submitted);
+      });
+    }
+    started.await(5, TimeUnit.SECONDS);
+    // fill the queue of both lanes.
+    saturatedExecutor.execute(0, () -> { });
+    saturatedExecutor.execute(1, () -> { });
+
+    // when
+    go.countDown();
+
+    // then
+    assertThat(rejected.await(5, TimeUnit.SECONDS), is(true));
+    saturatedExecutor.shutdown();
+    assertThat(saturatedExecutor.awaitTermination(5, TimeUnit.SECONDS), is(true));
+    assertThat(executed.isEmpty(), is(true));
+  }
+
+  @Test
+  void whenShutdown_shouldExecuteTheSubmittedTasks() throws Exception {
+    // given
+    CountDownLatch finished = new CountDownLatch(10);
+    for (int i = 0; i < 10; i++) {
+      executor.execute(finished::countDown);
+    }
+
+    // when
+    executor.shutdown();
+
+    // then
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), is(true));
+    assertThat(finished.getCount(), equalTo(0L));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class RingBufferTest {
+
+  @Test
+  void whenCapacityIsNotAPowerOfTwo_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(3, Object::new));
+  }
+
+  @Test
+  void whenCapacityIsOne_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1, Object::new));
+  }
+
+  @Test
+  void whenCreated_shouldPreallocateAllEntries() {
+    // given
+    AtomicInteger created = new AtomicInteger();
+
+    // when
+    RingBuffer<Object> ringBuffer = new RingBuffer<>(4, () -> created.incrementAndGet());
+
+    // then
+    assertThat(created.get(), is(4));
+    assertThat(ringBuffer.getCapacity(), is(4));
+    assertThat(ringBuffer.size(), is(0));
+  }
+
+  @Test
+  void whenEmpty_shouldHaveNothingToTake() {
+    // given
+    RingBuffer<Object> ringBuffer = new RingBuffer<>(2, Object::new);
+
+    // when
+    long sequence = ringBuffer.tryTake();
+
+    // then
+    assertThat(sequence, is(-1L));
+  }
+
+  @Test
+  void whenClaimedButNotPublished_shouldHaveNothingToTake() {
+    // given
+    RingBuffer<Object> ringBuffer = new RingBuffer<>(2, Object::new);
+    ringBuffer.tryClaim();
+
+    // when
+    long sequence = ringBuffer.tryTake();
+
+    // then
+    assertThat(sequence, is(-1L));
+  }
+
+  @Test
+  void whenFull_shouldNotBeAbleToClaim() {
+    // given
+    RingBuffer<Object> ringBuffer = new RingBuffer<>(2, Object::new);
+    ringBuffer.publish(ringBuffer.tryClaim());
+    ringBuffer.publish(ringBuffer.tryClaim());
+
+    // when
+    long sequence = ringBuffer.tryClaim();
+
+    // then
+    assertThat(sequence, is(-1L));
+    assertThat(ringBuffer.size(), is(2));
+  }
+
+  @Test
+  void whenSlotIsReleased_shouldReuseTheSameEntry() {
+    // given
+    RingBuffer<Object> ringBuffer = new RingBuffer<>(2, Object::new);
+    long first = ringBuffer.tryClaim();
+    Object entry = ringBuffer.get(first);
+    ringBuffer.publish(first);
+    ringBuffer.publish(ringBuffer.tryClaim());
+    ringBuffer.release(ringBuffer.tryTake());
+
+    // when
+    long third = ringBuffer.tryClaim();
+
+    // then
+    assertThat(third, is(2L));
+    assertThat(ringBuffer.get(third), sameInstance(entry));
+  }
+
+  @Test
+  void whenProducedAndConsumedConcurrently_shouldTakeEverySequenceOnce() throws Exception {
+    // given
+    RingBuffer<long[]> ringBuffer = new RingBuffer<>(8, () -> new long[1]);
+    int messagesPerProducer = 10_000;
+    AtomicInteger taken = new AtomicInteger();
+    AtomicInteger sum = new AtomicInteger();
+    Runnable producer = () -> {
+      for (int i = 1; i <= messagesPerProducer; i++) {
+        long sequence;
+        while ((sequence = ringBuffer.tryClaim()) < 0) {
+          Thread.yield();
+        }
+        ringBuffer.get(sequence)[0] = i;
+        ringBuffer.publish(sequence);
+      }
+    };
+    Runnable consumer = () -> {
+      while (taken.get() < 2 * messagesPerProducer) {
+        long sequence = ringBuffer.tryTake();
+        if (sequence < 0) {
+          Thread.yield();
+          continue;
+        }
+        sum.addAndGet((int) ringBuffer.get(sequence)[0]);
+        ringBuffer.release(sequence);
+        taken.incrementAndGet();
+      }
+    };
+    Thread[] threads = {new Thread(producer), new Thread(producer), new Thread(consumer), new Thread(consumer)};
+
+    // when
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join(10_000);
+    }
+
+    // then
+    assertThat(taken.get(), is(2 * messagesPerProducer));
+    assertThat(sum.get(), is(messagesPerProducer * (messagesPerProducer + 1)));
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.concurrent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class VirtualThreadExecutorsTest {
+
+  @Test
+  void whenVirtualThreadsAreNotSupported_shouldThrowException() {
+    // given
+    Assumptions.assumeFalse(VirtualThreadExecutors.isAvailable());
+
+    // when & then
+    Assertions.assertThrows(IllegalStateException.class, VirtualThreadExecutors::newVirtualThreadPerTaskExecutor);
+  }
+
+  @Test
+  void whenVirtualThreadsAreSupported_shouldRunTasksOnAVirtualThread() throws Exception {
+    // given
+    Assumptions.assumeTrue(VirtualThreadExecutors.isAvailable());
+    ExecutorService executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+
+    // when
+    Boolean virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+        .get();
+
+    // then
+    assertThat(virtual, is(true));
+    executor.shutdown();
+  }
+}
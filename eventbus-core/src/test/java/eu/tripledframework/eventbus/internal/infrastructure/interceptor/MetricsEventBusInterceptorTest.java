@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import eu.tripledframework.eventbus.command.FailingCommand;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.event.TestEvent;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+import eu.tripledframework.eventbus.internal.domain.SynchronousEventBus;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class MetricsEventBusInterceptorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SynchronousEventBus eventBus;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    eventBus = new SynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(Collections.singletonList(new MetricsEventBusInterceptor(meterRegistry))),
+        Collections.singletonList(new SimpleInvokerFactory()), new DefaultUnitOfWorkFactory());
+    eventBus.subscribe(new TestCommandHandler());
+  }
+
+  @Test
+  void whenACommandSucceeds_shouldRecordItUnderItsTypeAndSuccess() throws Exception {
+    // when
+    eventBus.dispatch(new HelloCommand("Domenique")).get();
+    eventBus.dispatch(new HelloCommand("Domenique")).get();
+
+    // then
+    assertThat(timer(HelloCommand.class, "success").count(), equalTo(2L));
+    assertThat(meterRegistry.find(MetricsEventBusInterceptor.METRIC_NAME)
+        .tags("type", HelloCommand.class.getName(), "outcome", "failure").timer().count(), equalTo(0L));
+  }
+
+  @Test
+  void whenACommandFails_shouldRecordItAsFailure() {
+    // when
+    Assertions.assertThrows(Exception.class, () -> eventBus.dispatch(new FailingCommand()).get());
+
+    // then
+    assertThat(timer(FailingCommand.class, "failure").count(), equalTo(1L));
+  }
+
+  @Test
+  void whenRecording_shouldPublishThePercentiles() throws Exception {
+    // when
+    eventBus.dispatch(new HelloCommand("Domenique")).get();
+
+    // then
+    assertThat(timer(HelloCommand.class, "success").takeSnapshot().percentileValues().length, is(3));
+  }
+
+  @Test
+  void whenGivenABatchOfEvents_shouldRecordItUnderTheTypeOfItsEvents() {
+    // given
+    MetricsEventBusInterceptor interceptor = new MetricsEventBusInterceptor(meterRegistry);
+    EventBatch batch = new EventBatch(TestEvent.class, Arrays.asList(new TestEvent(), new TestEvent()));
+
+    // when
+    Object response = interceptor.intercept(() -> null, batch, null);
+
+    // then
+    assertThat(response, nullValue());
+    assertThat(timer(TestEvent.class, "success").count(), equalTo(1L));
+  }
+
+  private Timer timer(Class<?> type, String outcome) {
+    return meterRegistry.get(MetricsEventBusInterceptor.METRIC_NAME)
+        .tags("type", type.getName(), "outcome", outcome)
+        .timer();
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PrecompiledInterceptorChainFactoryTest {
+
+  private final List<String> calls = new ArrayList<>();
+
+  @Test
+  void whenProceeding_shouldCallTheInterceptorsInOrderBeforeTheInvoker() {
+    // given
+    PrecompiledInterceptorChainFactory factory =
+        new PrecompiledInterceptorChainFactory(Arrays.asList(new RecordingInterceptor("first"), new RecordingInterceptor("second")));
+
+    // when
+    String response = factory.<String>createChain("event", null, new RecordingInvoker("invoker", "response")).proceed();
+
+    // then
+    assertThat(calls, equalTo(Arrays.asList("first", "second", "invoker")));
+    assertThat(response, equalTo("response"));
+  }
+
+  @Test
+  void whenGivenMultipleInvokers_shouldInvokeAllOfThemAndReturnTheLastResponse() {
+    // given
+    PrecompiledInterceptorChainFactory factory = new PrecompiledInterceptorChainFactory();
+    List<Invoker> invokers = Arrays.asList(new RecordingInvoker("first", "firstResponse"), new RecordingInvoker("second", "secondResponse"));
+
+    // when
+    String response = factory.<String>createChain("event", null, invokers).proceed();
+
+    // then
+    assertThat(calls, equalTo(Arrays.asList("first", "second")));
+    assertThat(response, equalTo("secondResponse"));
+  }
+
+  @Test
+  void whenCreatingChainsOneAfterTheOther_shouldReuseTheChain() {
+    // given
+    PrecompiledInterceptorChainFactory factory = new PrecompiledInterceptorChainFactory();
+    InterceptorChain<Object> first = factory.createChain("event", null, new RecordingInvoker("invoker", null));
+    first.proceed();
+
+    // when
+    InterceptorChain<Object> second = factory.createChain("event", null, new RecordingInvoker("invoker", null));
+
+    // then
+    assertThat(second, sameInstance(first));
+  }
+
+  @Test
+  void whenAnInterceptorDoesNotSupportTheMessageType_shouldLeaveItOutOfTheChain() {
+    // given
+    EventBusInterceptor integersOnly = new RecordingInterceptor("integers") {
+      @Override
+      public boolean supports(Class<?> messageType) {
+        return messageType == Integer.class;
+      }
+    };
+    PrecompiledInterceptorChainFactory factory =
+        new PrecompiledInterceptorChainFactory(Arrays.asList(new RecordingInterceptor("all"), integersOnly));
+
+    // when
+    factory.createChain("event", null, new RecordingInvoker("string", null)).proceed();
+    factory.createChain(1, null, new RecordingInvoker("integer", null)).proceed();
+    factory.createChain(new EventBatch(Integer.class, Arrays.asList(2, 3)), null,
+        Collections.singletonList(new RecordingInvoker("batch", null))).proceed();
+
+    // then
+    assertThat(calls, equalTo(Arrays.asList("all", "string", "all", "integers", "integer", "all", "integers", "batch")));
+  }
+
+  @Test
+  void whenCreatingAChainWhileAnotherIsRunning_shouldCreateANewChain() {
+    // given
+    PrecompiledInterceptorChainFactory factory = new PrecompiledInterceptorChainFactory();
+    List<InterceptorChain<?>> nestedChains = new ArrayList<>();
+    InterceptorChain<Object> outer = factory.createChain("outer", null, new RecordingInvoker("outer", null) {
+      @Override
+      public Object invoke(Object object) {
+        InterceptorChain<Object> nested = factory.createChain("nested", null, new RecordingInvoker("nested", null));
+        nestedChains.add(nested);
+        nested.proceed();
+        return super.invoke(object);
+      }
+    });
+
+    // when
+    outer.proceed();
+
+    // then
+    assertThat(calls, equalTo(Arrays.asList("nested", "outer")));
+    assertThat(nestedChains.get(0), is(not(sameInstance(outer))));
+  }
+
+  private class RecordingInterceptor implements EventBusInterceptor {
+
+    private final String name;
+
+    private RecordingInterceptor(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
+      calls.add(name);
+      return chain.proceed();
+    }
+  }
+
+  private class RecordingInvoker implements Invoker {
+
+    private final String name;
+    private final Object response;
+
+    private RecordingInvoker(String name, Object response) {
+      this.name = name;
+      this.response = response;
+    }
+
+    @Override
+    public boolean handles(Class<?> eventTypeToHandle) {
+      return true;
+    }
+
+    @Override
+    public boolean hasReturnType() {
+      return response != null;
+    }
+
+    @Override
+    public Object invoke(Object object) {
+      calls.add(name);
+      return response;
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.interceptor;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.metadata.BeanDescriptor;
+
+import eu.tripledframework.eventbus.internal.domain.EventBatch;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWork;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ValidatingEventBusInterceptorTest {
+
+  private ValidatorFactory validatorFactory;
+  private CountingValidator validator;
+  private UnitOfWork unitOfWork;
+
+  @BeforeEach
+  void setUp() {
+    validatorFactory = Validation.byDefaultProvider()
+                                 .configure()
+                                 .messageInterpolator(new ParameterMessageInterpolator())
+                                 .buildValidatorFactory();
+    validator = new CountingValidator(validatorFactory.getValidator());
+    unitOfWork = new DefaultUnitOfWork();
+  }
+
+  @AfterEach
+  void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Test
+  void whenTheMessageHasNoConstraints_shouldNotValidateIt() {
+    // given
+    ValidatingEventBusInterceptor interceptor = new ValidatingEventBusInterceptor(validator);
+
+    // when
+    String first = interceptor.intercept(chain(true), new UnconstrainedMessage(), unitOfWork);
+    String second = interceptor.intercept(chain(true), new UnconstrainedMessage(), unitOfWork);
+
+    // then
+    assertThat(first, equalTo("proceeded"));
+    assertThat(second, equalTo("proceeded"));
+    assertThat(validator.validateCalls, is(0));
+    assertThat(validator.descriptorCalls, is(1));
+    assertThat(interceptor.supports(UnconstrainedMessage.class), is(false));
+    assertThat(interceptor.supports(ConstrainedMessage.class), is(true));
+  }
+
+  @Test
+  void whenTheCommandViolatesAConstraint_shouldThrowException() {
+    // given
+    ValidatingEventBusInterceptor interceptor = new ValidatingEventBusInterceptor(validator);
+
+    // when
+    CommandValidationException exception = Assertions.assertThrows(CommandValidationException.class,
+        () -> interceptor.intercept(chain(true), new ConstrainedMessage(null), unitOfWork));
+
+    // then
+    assertThat(exception.getConstraintViolations().size(), is(1));
+    assertThat(validator.validateCalls, is(1));
+  }
+
+  @Test
+  void whenEventValidationIsDisabled_shouldOnlyValidateCommands() {
+    // given
+    ValidatingEventBusInterceptor interceptor = new ValidatingEventBusInterceptor(validator, false);
+
+    // when
+    String response = interceptor.intercept(chain(false), new ConstrainedMessage(null), unitOfWork);
+
+    // then
+    assertThat(response, equalTo("proceeded"));
+    assertThat(validator.validateCalls, is(0));
+    Assertions.assertThrows(CommandValidationException.class,
+        () -> interceptor.intercept(chain(true), new ConstrainedMessage(null), unitOfWork));
+  }
+
+  @Test
+  void whenValidatingAnEventBatch_shouldValidateEveryEvent() {
+    // given
+    ValidatingEventBusInterceptor interceptor = new ValidatingEventBusInterceptor(validator);
+    EventBatch batch = new EventBatch(ConstrainedMessage.class,
+        Arrays.asList(new ConstrainedMessage("valid"), new ConstrainedMessage(null)));
+
+    // when
+    Assertions.assertThrows(CommandValidationException.class,
+        () -> interceptor.intercept(chain(false), batch, unitOfWork));
+
+    // then
+    assertThat(validator.validateCalls, is(2));
+  }
+
+  @Test
+  void whenGroupsAreGiven_shouldOnlyValidateThoseGroups() {
+    // given
+    ValidatingEventBusInterceptor defaultGroup = new ValidatingEventBusInterceptor(validator, true);
+    ValidatingEventBusInterceptor strictGroup = new ValidatingEventBusInterceptor(validator, true, Strict.class);
+
+    // when
+    String response = defaultGroup.intercept(chain(true), new StrictMessage(null), unitOfWork);
+
+    // then
+    assertThat(response, equalTo("proceeded"));
+    Assertions.assertThrows(CommandValidationException.class,
+        () -> strictGroup.intercept(chain(true), new StrictMessage(null), unitOfWork));
+  }
+
+  private InterceptorChain<String> chain(boolean command) {
+    return new InterceptorChain<String>() {
+      @Override
+      public String proceed() {
+        return "proceeded";
+      }
+
+      @Override
+      public boolean isCommand() {
+        return command;
+      }
+    };
+  }
+
+  interface Strict {
+  }
+
+  static class UnconstrainedMessage {
+  }
+
+  static class ConstrainedMessage {
+    @NotNull
+    private final String value;
+
+    ConstrainedMessage(String value) {
+      this.value = value;
+    }
+  }
+
+  static class StrictMessage {
+    @NotNull(groups = Strict.class)
+    private final String value;
+
+    StrictMessage(String value) {
+      this.value = value;
+    }
+  }
+
+  static class CountingValidator implements Validator {
+
+    private final Validator delegate;
+    private int validateCalls;
+    private int descriptorCalls;
+
+    CountingValidator(Validator delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+      validateCalls++;
+      return delegate.validate(object, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+      return delegate.validateProperty(object, propertyName, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value,
+                                                         Class<?>... groups) {
+      return delegate.validateValue(beanType, propertyName, value, groups);
+    }
+
+    @Override
+    public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+      descriptorCalls++;
+      return delegate.getConstraintsForClass(clazz);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+      return delegate.unwrap(type);
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+      return delegate.forExecutables();
+    }
+  }
+}
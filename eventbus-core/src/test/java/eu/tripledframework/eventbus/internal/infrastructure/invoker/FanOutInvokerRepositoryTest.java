@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import eu.tripledframework.eventbus.Handler;
+import eu.tripledframework.eventbus.Handles;
+import eu.tripledframework.eventbus.event.TestEvent;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.ThreadLocalAccessor;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class FanOutInvokerRepositoryTest {
+
+  private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+
+  private final SimpleInvokerFactory invokerFactory = new SimpleInvokerFactory();
+  private ExecutorService executor;
+  private FanOutInvokerRepository invokerRepository;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newCachedThreadPool();
+    invokerRepository = new FanOutInvokerRepository(new InMemoryInvokerRepository(), executor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void whenASingleInvokerHandlesTheEvent_shouldReturnThatInvoker() {
+    // given
+    Invoker invoker = subscribe(new FailingHandler()).get(0);
+
+    // when
+    List<Invoker> found = invokerRepository.findAllByEventType(TestEvent.class);
+
+    // then
+    assertThat(found.size(), is(1));
+    assertThat(found.get(0), sameInstance(invoker));
+  }
+
+  @Test
+  void whenSeveralInvokersHandleTheEvent_shouldInvokeThemInParallel() {
+    // given
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    subscribe(new BarrierHandler(barrier));
+    subscribe(new BarrierHandler(barrier));
+
+    // when
+    List<Invoker> found = invokerRepository.findAllByEventType(TestEvent.class);
+    found.get(0).invoke(new TestEvent());
+
+    // then
+    assertThat(found.size(), is(1));
+    assertThat(barrier.isBroken(), is(false));
+  }
+
+  @Test
+  void whenAnInvokerDependsOnAnotherHandler_shouldInvokeItAfterThatHandler() {
+    // given
+    List<String> invoked = Collections.synchronizedList(new ArrayList<>());
+    subscribe(new DependentHandler(invoked));
+    subscribe(new ProjectionHandler(invoked));
+
+    // when
+    invokerRepository.findAllByEventType(TestEvent.class).get(0).invoke(new TestEvent());
+
+    // then
+    assertThat(invoked, equalTo(Arrays.asList("projection", "dependent")));
+  }
+
+  @Test
+  void whenSeveralInvokersHandleTheEvent_shouldPropagateTheContextToTheOtherThreads() {
+    // given
+    invokerRepository = new FanOutInvokerRepository(new InMemoryInvokerRepository(), executor,
+        new ContextPropagator(Collections.singletonList(new TenantAccessor())));
+    List<String> seenTenants = Collections.synchronizedList(new ArrayList<>());
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    subscribe(new TenantRecordingHandler(barrier, seenTenants));
+    subscribe(new TenantRecordingHandler(barrier, seenTenants));
+    TENANT.set("tenant-1");
+
+    // when
+    try {
+      invokerRepository.findAllByEventType(TestEvent.class).get(0).invoke(new TestEvent());
+    } finally {
+      TENANT.remove();
+    }
+
+    // then
+    assertThat(seenTenants, equalTo(Arrays.asList("tenant-1", "tenant-1")));
+  }
+
+  @Test
+  void whenSeveralInvokersFail_shouldThrowAllFailures() {
+    // given
+    subscribe(new FailingHandler());
+    subscribe(new FailingHandler());
+    Invoker fanOut = invokerRepository.findAllByEventType(TestEvent.class).get(0);
+
+    // when
+    EventHandlersFailedException exception =
+        Assertions.assertThrows(EventHandlersFailedException.class, () -> fanOut.invoke(new TestEvent()));
+
+    // then
+    assertThat(exception.getFailures().size(), is(2));
+    assertThat(exception.getSuppressed().length, is(2));
+  }
+
+  @Test
+  void whenTheFirstInvokerThrowsAnError_shouldWaitForTheOtherInvokersBeforeRethrowingIt() {
+    // given
+    AtomicBoolean finished = new AtomicBoolean();
+    invokerRepository.add(new RunnableInvoker(() -> {
+      throw new AssertionError("could not handle event.");
+    }));
+    invokerRepository.add(new RunnableInvoker(() -> {
+      sleep(100);
+      finished.set(true);
+    }));
+    Invoker fanOut = invokerRepository.findAllByEventType(TestEvent.class).get(0);
+
+    // when
+    Assertions.assertThrows(AssertionError.class, () -> fanOut.invoke(new TestEvent()));
+
+    // then
+    assertThat(finished.get(), is(true));
+  }
+
+  @Test
+  void whenTheInvokersHaveACyclicDependency_shouldThrowException() {
+    // given
+    subscribe(new CyclicHandler());
+    subscribe(new OtherCyclicHandler());
+
+    // when & then
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> invokerRepository.findAllByEventType(TestEvent.class));
+  }
+
+  private List<Invoker> subscribe(Object handler) {
+    List<Invoker> invokers = invokerFactory.create(handler);
+    invokers.forEach(invokerRepository::add);
+    return invokers;
+  }
+
+  @Handler
+  public static class BarrierHandler {
+
+    private final CyclicBarrier barrier;
+
+    BarrierHandler(CyclicBarrier barrier) {
+      this.barrier = barrier;
+    }
+
+    @Handles(TestEvent.class)
+    public void handle(TestEvent event) throws Exception {
+      // only passes when both handlers run at the same time.
+      barrier.await(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Handler
+  public static class TenantRecordingHandler {
+
+    private final CyclicBarrier barrier;
+    private final List<String> seenTenants;
+
+    TenantRecordingHandler(CyclicBarrier barrier, List<String> seenTenants) {
+      this.barrier = barrier;
+      this.seenTenants = seenTenants;
+    }
+
+    @Handles(TestEvent.class)
+    public void handle(TestEvent event) throws Exception {
+      // both handlers run at the same time, so one of them runs on another thread.
+      barrier.await(5, TimeUnit.SECONDS);
+      seenTenants.add(TENANT.get());
+    }
+  }
+
+  @Handler
+  public static class ProjectionHandler {
+
+    private final List<String> invoked;
+
+    ProjectionHandler(List<String> invoked) {
+      this.invoked = invoked;
+    }
+
+    @Handles(TestEvent.class)
+    public void handle(TestEvent event) throws Exception {
+      Thread.sleep(20);
+      invoked.add("projection");
+    }
+  }
+
+  @Handler
+  public static class DependentHandler {
+
+    private final List<String> invoked;
+
+    DependentHandler(List<String> invoked) {
+      this.invoked = invoked;
+    }
+
+    @Handles(value = TestEvent.class, dependsOn = ProjectionHandler.class)
+    public void handle(TestEvent event) {
+      invoked.add("dependent");
+    }
+  }
+
+  @Handler
+  public static class FailingHandler {
+
+    @Handles(TestEvent.class)
+    public void handle(TestEvent event) {
+      throw new IllegalStateException("could not handle event.");
+    }
+  }
+
+  @Handler
+  public static class CyclicHandler {
+
+    @Handles(value = TestEvent.class, dependsOn = OtherCyclicHandler.class)
+    public void handle(TestEvent event) {
+    }
+  }
+
+  @Handler
+  public static class OtherCyclicHandler {
+
+    @Handles(value = TestEvent.class, dependsOn = CyclicHandler.class)
+    public void handle(TestEvent event) {
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class RunnableInvoker implements Invoker {
+
+    private final Runnable runnable;
+
+    RunnableInvoker(Runnable runnable) {
+      this.runnable = runnable;
+    }
+
+    @Override
+    public boolean handles(Class<?> eventTypeToHandle) {
+      return TestEvent.class.equals(eventTypeToHandle);
+    }
+
+    @Override
+    public boolean hasReturnType() {
+      return false;
+    }
+
+    @Override
+    public Object invoke(Object object) {
+      runnable.run();
+      return null;
+    }
+  }
+
+  private static class TenantAccessor implements ThreadLocalAccessor<String> {
+
+    @Override
+    public String getValue() {
+      return TENANT.get();
+    }
+
+    @Override
+    public void setValue(String value) {
+      TENANT.set(value);
+    }
+
+    @Override
+    public void reset() {
+      TENANT.remove();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class GeneratedInvokerRegistryTest {
+
+  private GeneratedInvokerRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new GeneratedInvokerRegistry(Collections.singletonList(new TestCommandHandlerInvokerFactory()));
+  }
+
+  @Test
+  void whenAFactoryWasGeneratedForTheHandler_shouldSupportIt() {
+    // then
+    assertThat(registry.isEmpty(), is(false));
+    assertThat(registry.supports(new TestCommandHandler()), is(true));
+    assertThat(registry.supports(new Object()), is(false));
+  }
+
+  @Test
+  void whenTheHandlerIsProxied_shouldUseTheFactoryOfTheSuperclass() {
+    // given
+    TestCommandHandler$$Proxy handler = new TestCommandHandler$$Proxy();
+
+    // when
+    List<Invoker> invokers = registry.create(handler);
+
+    // then
+    assertThat(registry.supports(handler), is(true));
+    assertThat(invokers.size(), is(1));
+    assertThat(invokers.get(0).invoke(new HelloCommand("Domenique")), equalTo("Hello Domenique"));
+  }
+
+  @Test
+  void whenTheHandlerIsASubclass_shouldNotUseTheFactoryOfTheSuperclass() {
+    // then
+    assertThat(registry.supports(new TestCommandHandler() { }), is(false));
+  }
+
+  @Test
+  void whenTheHandlerMethodThrowsACheckedException_shouldWrapIt() {
+    // given
+    Invoker invoker = new GeneratedInvoker(Object.class, new Object(), "handle", false, new Class<?>[0],
+        event -> {
+          throw new IOException("failed");
+        });
+
+    // when
+    InvocationException exception = Assertions.assertThrows(InvocationException.class,
+        () -> invoker.invoke(new Object()));
+
+    // then
+    assertThat(exception.getCause(), instanceOf(IOException.class));
+  }
+
+  static class TestCommandHandler$$Proxy extends TestCommandHandler {
+  }
+
+  static class TestCommandHandlerInvokerFactory implements GeneratedInvokerFactory {
+
+    @Override
+    public Class<?> getHandlerType() {
+      return TestCommandHandler.class;
+    }
+
+    @Override
+    public boolean supports(Object object) {
+      return object instanceof TestCommandHandler;
+    }
+
+    @Override
+    public List<Invoker> create(Object eventHandler) {
+      TestCommandHandler handler = (TestCommandHandler) eventHandler;
+      return Collections.singletonList(new GeneratedInvoker(HelloCommand.class, handler, "stringReturning", true,
+          new Class<?>[0], event -> handler.stringReturning((HelloCommand) event)));
+    }
+  }
+}
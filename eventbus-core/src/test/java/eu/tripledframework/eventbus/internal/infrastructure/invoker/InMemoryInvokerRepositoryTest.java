@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import eu.tripledframework.eventbus.event.TestEvent;
+import eu.tripledframework.eventbus.handler.TestEventHandler;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class InMemoryInvokerRepositoryTest {
+
+  private InMemoryInvokerRepository invokerRepository;
+
+  @BeforeEach
+  void setUp() {
+    invokerRepository = new InMemoryInvokerRepository();
+  }
+
+  @Test
+  void whenLookingUpTheSameTypeTwice_shouldReturnTheResolvedInvokersFromTheCache() {
+    // given
+    invokerRepository.add(createTestEventInvoker(TestEvent.class));
+
+    // when
+    List<Invoker> first = invokerRepository.findAllByEventType(TestEvent.class);
+    List<Invoker> second = invokerRepository.findAllByEventType(TestEvent.class);
+
+    // then
+    assertThat(second, sameInstance(first));
+  }
+
+  @Test
+  void whenAnInvokerIsAddedAfterALookup_shouldBeFoundByTheNextLookup() {
+    // given
+    invokerRepository.add(createTestEventInvoker(TestEvent.class));
+    invokerRepository.findAllByEventType(TestEvent.class);
+    Invoker addedLater = createTestEventInvoker(TestEvent.class);
+
+    // when
+    invokerRepository.add(addedLater);
+
+    // then
+    List<Invoker> invokers = invokerRepository.findAllByEventType(TestEvent.class);
+    assertThat(invokers.size(), is(2));
+    assertThat(invokers, hasItem(addedLater));
+  }
+
+  @Test
+  void whenAnInvokerHandlesASuperType_shouldBeResolvedForTheConcreteType() {
+    // given
+    Invoker invoker = createTestEventInvoker(Object.class);
+    invokerRepository.add(invoker);
+
+    // when
+    Invoker found = invokerRepository.getByEventType(TestEvent.class);
+
+    // then
+    assertThat(found, sameInstance(invoker));
+  }
+
+  @Test
+  void whenNoInvokerHandlesTheType_shouldThrowException() {
+    // given
+    invokerRepository.add(createTestEventInvoker(TestEvent.class));
+
+    // when
+    Assertions.assertThrows(InvokerNotFoundException.class, () -> invokerRepository.getByEventType(String.class));
+
+    // then -> exception
+  }
+
+  private Invoker createTestEventInvoker(Class<?> eventType) {
+    try {
+      return new SimpleInvoker(eventType, new TestEventHandler(),
+          TestEventHandler.class.getMethod("handleTestEvent", TestEvent.class));
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.invoker;
+
+import eu.tripledframework.eventbus.command.FailingCommand;
+import eu.tripledframework.eventbus.command.FailingCommandWithCheckedException;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import eu.tripledframework.eventbus.command.ValidatingCommand;
+import eu.tripledframework.eventbus.handler.TestCommandHandler;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class MethodHandleInvokerFactoryTest {
+
+  private TestCommandHandler commandHandler;
+  private List<Invoker> invokers;
+
+  @BeforeEach
+  void setUp() {
+    commandHandler = new TestCommandHandler();
+    invokers = new MethodHandleInvokerFactory().create(commandHandler);
+  }
+
+  @Test
+  void whenCreatingInvokers_shouldBindEveryPublicHandlerMethod() {
+    // then
+    assertThat(invokers.size(), is(7));
+    invokers.forEach(invoker -> assertThat(invoker, instanceOf(MethodHandleInvoker.class)));
+  }
+
+  @Test
+  void whenInvokingAMethodWithAReturnType_shouldReturnTheResult() {
+    // given
+    Invoker invoker = findInvoker(HelloCommand.class);
+
+    // when
+    Object result = invoker.invoke(new HelloCommand("Domenique"));
+
+    // then
+    assertThat(invoker.hasReturnType(), is(true));
+    assertThat(result, equalTo("Hello Domenique"));
+    assertThat(commandHandler.isHelloCommandHandled, is(true));
+  }
+
+  @Test
+  void whenInvokingAVoidMethod_shouldReturnNull() {
+    // given
+    Invoker invoker = findInvoker(ValidatingCommand.class);
+
+    // when
+    Object result = invoker.invoke(new ValidatingCommand("message"));
+
+    // then
+    assertThat(invoker.hasReturnType(), is(false));
+    assertThat(result, nullValue());
+    assertThat(commandHandler.isValidatingCommandHandled, is(true));
+  }
+
+  @Test
+  void whenTheHandlerThrowsARuntimeException_shouldRethrowIt() {
+    // given
+    Invoker invoker = findInvoker(FailingCommand.class);
+
+    // when
+    Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(new FailingCommand()));
+
+    // then -> exception
+  }
+
+  @Test
+  void whenTheHandlerThrowsACheckedException_shouldWrapIt() {
+    // given
+    Invoker invoker = findInvoker(FailingCommandWithCheckedException.class);
+
+    // when
+    Assertions.assertThrows(InvocationException.class, () -> invoker.invoke(new FailingCommandWithCheckedException()));
+
+    // then -> exception
+  }
+
+  private Invoker findInvoker(Class<?> eventType) {
+    return invokers.stream()
+        .filter(invoker -> invoker.handles(eventType))
+        .findFirst()
+        .orElseThrow(IllegalStateException::new);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.routing;
+
+import eu.tripledframework.eventbus.RoutingKey;
+import eu.tripledframework.eventbus.command.HelloCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class AnnotationRoutingKeyResolverTest {
+
+  private final AnnotationRoutingKeyResolver resolver = new AnnotationRoutingKeyResolver();
+
+  @Test
+  void whenGivenAMessageWithAnAnnotatedField_shouldResolveTheFieldValue() {
+    // when
+    Object routingKey = resolver.resolve(new FieldRoutedCommand("aggregate-1"));
+
+    // then
+    assertThat(routingKey, equalTo("aggregate-1"));
+  }
+
+  @Test
+  void whenGivenAMessageWithAnAnnotatedMethodInItsSuperclass_shouldResolveTheMethodValue() {
+    // when
+    Object routingKey = resolver.resolve(new SubclassOfMethodRoutedCommand(42));
+
+    // then
+    assertThat(routingKey, equalTo(42));
+  }
+
+  @Test
+  void whenGivenAMessageWithoutRoutingKey_shouldResolveNull() {
+    // when
+    Object routingKey = resolver.resolve(new HelloCommand("Domenique"));
+
+    // then
+    assertThat(routingKey, nullValue());
+  }
+
+  @Test
+  void whenGivenAMessageWithMultipleRoutingKeys_shouldThrowException() {
+    // when & then
+    Assertions.assertThrows(IllegalArgumentException.class, () -> resolver.resolve(new DoubleRoutedCommand()));
+  }
+
+  private static class FieldRoutedCommand {
+
+    @RoutingKey
+    private final String aggregateId;
+
+    private FieldRoutedCommand(String aggregateId) {
+      this.aggregateId = aggregateId;
+    }
+  }
+
+  private static class MethodRoutedCommand {
+
+    private final int aggregateId;
+
+    private MethodRoutedCommand(int aggregateId) {
+      this.aggregateId = aggregateId;
+    }
+
+    @RoutingKey
+    public int getAggregateId() {
+      return aggregateId;
+    }
+  }
+
+  private static class SubclassOfMethodRoutedCommand extends MethodRoutedCommand {
+
+    private SubclassOfMethodRoutedCommand(int aggregateId) {
+      super(aggregateId);
+    }
+  }
+
+  private static class DoubleRoutedCommand {
+
+    @RoutingKey
+    private String first = "first";
+    @RoutingKey
+    private String second = "second";
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.unitofwork;
+
+import eu.tripledframework.eventbus.internal.domain.ContextKey;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class DefaultUnitOfWorkTest {
+
+  private static final ContextKey<String> TENANT = ContextKey.of("DefaultUnitOfWorkTest.tenant", String.class);
+  private static final ContextKey<Integer> ATTEMPT = ContextKey.of("DefaultUnitOfWorkTest.attempt", Integer.class);
+
+  @Test
+  void whenDataIsAddedWithAContextKey_shouldReturnItForThatKey() {
+    // given
+    UnitOfWork unitOfWork = new DefaultUnitOfWork();
+
+    // when
+    unitOfWork.addData(TENANT, "tenant-1");
+    unitOfWork.addData(ATTEMPT, 3);
+
+    // then
+    assertThat(unitOfWork.getData(TENANT), equalTo("tenant-1"));
+    assertThat(unitOfWork.getData(ATTEMPT), equalTo(3));
+  }
+
+  @Test
+  void whenNoDataWasAddedForAContextKey_shouldReturnNull() {
+    // given
+    UnitOfWork unitOfWork = new DefaultUnitOfWork();
+
+    // when
+    String tenant = unitOfWork.getData(TENANT);
+
+    // then
+    assertThat(tenant, nullValue());
+  }
+
+  @Test
+  void whenDataIsAddedByTheNameOfAContextKey_shouldReturnItForThatKeyAndViceVersa() {
+    // given
+    UnitOfWork unitOfWork = new DefaultUnitOfWork();
+
+    // when
+    unitOfWork.addData(TENANT.getName(), "tenant-1");
+    unitOfWork.addData(ATTEMPT, 3);
+
+    // then
+    assertThat(unitOfWork.getData(TENANT), equalTo("tenant-1"));
+    assertThat(unitOfWork.getData(ATTEMPT.getName()), equalTo(3));
+  }
+
+  @Test
+  void whenDataOfAnotherTypeIsAddedByTheNameOfAContextKey_shouldKeepItApartFromTheValueOfThatKey() {
+    // given
+    UnitOfWork unitOfWork = new DefaultUnitOfWork();
+    unitOfWork.addData(ATTEMPT, 3);
+
+    // when
+    unitOfWork.addData(ATTEMPT.getName(), "third");
+
+    // then
+    assertThat(unitOfWork.getData(ATTEMPT.getName()), equalTo("third"));
+    assertThat(unitOfWork.getData(ATTEMPT), equalTo(3));
+  }
+
+  @Test
+  void whenAKeyIsCreatedTwice_shouldReturnTheSameKey() {
+    // given
+    String name = TENANT.getName();
+
+    // when
+    ContextKey<String> key = ContextKey.of(name, String.class);
+
+    // then
+    assertThat(key, sameInstance(TENANT));
+  }
+
+  @Test
+  void whenAKeyIsCreatedTwiceForAnotherType_shouldThrowException() {
+    // given
+    String name = TENANT.getName();
+
+    // when
+    IllegalArgumentException exception =
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ContextKey.of(name, Integer.class));
+
+    // then
+    assertThat(exception.getMessage(), equalTo(
+        "The context key DefaultUnitOfWorkTest.tenant already exists for type java.lang.String."));
+  }
+
+  @Test
+  void whenAUnitOfWorkIsReset_shouldClearTheDataOfTheContextKeys() {
+    // given
+    DefaultUnitOfWork unitOfWork = new DefaultUnitOfWork();
+    unitOfWork.addData(TENANT, "tenant-1");
+
+    // when
+    unitOfWork.reset(64);
+
+    // then
+    assertThat(unitOfWork.getData(TENANT), nullValue());
+    assertThat(unitOfWork.isRunning(), is(true));
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.internal.infrastructure.unitofwork;
+
+import eu.tripledframework.eventbus.EventPublisher;
+import eu.tripledframework.eventbus.Handler;
+import eu.tripledframework.eventbus.Handles;
+import eu.tripledframework.eventbus.internal.domain.AsynchronousEventBus;
+import eu.tripledframework.eventbus.internal.domain.SynchronousEventBus;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class PooledUnitOfWorkFactoryTest {
+
+  private final List<Object> published = new ArrayList<>();
+  private final EventPublisher publisher = published::add;
+  private PooledUnitOfWorkFactory factory;
+
+  @BeforeEach
+  void setUp() {
+    factory = new PooledUnitOfWorkFactory();
+  }
+
+  @AfterEach
+  void tearDown() {
+    UnitOfWorkRepository.clear();
+  }
+
+  @Test
+  void whenAUnitOfWorkIsClearedAfterItsCommit_shouldReuseIt() {
+    // given
+    UnitOfWork first = factory.create();
+    UnitOfWorkRepository.store(first);
+    first.addData("key", "value");
+    first.scheduleEvent("event");
+    first.commit(publisher);
+
+    // when
+    UnitOfWorkRepository.clear();
+    UnitOfWork second = factory.create();
+
+    // then
+    assertThat(second, sameInstance(first));
+    assertThat(second.isRunning(), is(true));
+    assertThat(second.getData("key"), nullValue());
+    second.commit(publisher);
+    assertThat(published, equalTo(Collections.singletonList("event")));
+  }
+
+  @Test
+  void whenAUnitOfWorkIsStillRetained_shouldNotReuseItUntilItIsReleased() {
+    // given
+    UnitOfWork first = factory.create();
+    UnitOfWorkRepository.store(first);
+    first.retain();
+    first.commit(publisher);
+    UnitOfWorkRepository.clear();
+
+    // when
+    UnitOfWork second = factory.create();
+    first.release();
+    UnitOfWork third = factory.create();
+
+    // then
+    assertThat(second, not(sameInstance(first)));
+    assertThat(third, sameInstance(first));
+  }
+
+  @Test
+  void whenAUnitOfWorkIsClearedBeforeItFinished_shouldNotReuseIt() {
+    // given
+    UnitOfWork first = factory.create();
+    UnitOfWorkRepository.store(first);
+
+    // when
+    UnitOfWorkRepository.clear();
+
+    // then
+    assertThat(factory.create(), not(sameInstance(first)));
+    assertThat(first.isRunning(), is(true));
+  }
+
+  @Test
+  void whenAPooledUnitOfWorkIsUsed_shouldThrowException() {
+    // given
+    UnitOfWork unitOfWork = factory.create();
+    UnitOfWorkRepository.store(unitOfWork);
+    unitOfWork.rollback();
+    UnitOfWorkRepository.clear();
+
+    // when
+    IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+        () -> unitOfWork.addData("key", "value"));
+
+    // then
+    assertThat(exception.getMessage(), equalTo("The unit of work was used after it was handed back to the pool."));
+    assertThat(unitOfWork.isRunning(), is(false));
+  }
+
+  @Test
+  void whenReleasedMoreOftenThanRetained_shouldThrowException() {
+    // given
+    UnitOfWork unitOfWork = factory.create();
+
+    // when
+    Assertions.assertThrows(IllegalStateException.class, unitOfWork::release);
+  }
+
+  @Test
+  void whenDispatchingCommandsOneAfterTheOther_shouldReuseTheUnitOfWork() throws Exception {
+    // given
+    SynchronousEventBus eventBus = new SynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections.singletonList(new SimpleInvokerFactory()), factory);
+    UnitOfWorkRecordingHandler handler = new UnitOfWorkRecordingHandler(eventBus);
+    eventBus.subscribe(handler);
+
+    // when
+    eventBus.dispatch("first").get();
+    eventBus.dispatch("second").get();
+
+    // then
+    assertThat(handler.unitsOfWork.size(), is(2));
+    assertThat(handler.unitsOfWork.get(1), sameInstance(handler.unitsOfWork.get(0)));
+    assertThat(handler.events, equalTo(2));
+  }
+
+  @Test
+  void whenDispatchingCommandsOnAnAsynchronousEventBus_shouldReuseTheUnitOfWorkReleasedByTheWorkerThread()
+      throws Exception {
+    // given
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        new SimpleInterceptorChainFactory(), Collections.singletonList(new SimpleInvokerFactory()), factory, executor);
+    UnitOfWorkRecordingHandler handler = new UnitOfWorkRecordingHandler(eventBus);
+    eventBus.subscribe(handler);
+
+    // when
+    eventBus.dispatch("first").get(5, TimeUnit.SECONDS);
+    // the worker releases the unit of work after completing the callback, wait until it is done.
+    executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    eventBus.dispatch("second").get(5, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    // then
+    assertThat(handler.unitsOfWork.size(), is(2));
+    assertThat(handler.unitsOfWork.get(1), sameInstance(handler.unitsOfWork.get(0)));
+    assertThat(handler.events, equalTo(2));
+  }
+
+  @Handler
+  public static class UnitOfWorkRecordingHandler {
+
+    private final EventPublisher eventPublisher;
+    private final List<UnitOfWork> unitsOfWork = new ArrayList<>();
+    private int events;
+
+    UnitOfWorkRecordingHandler(EventPublisher eventPublisher) {
+      this.eventPublisher = eventPublisher;
+    }
+
+    @Handles(String.class)
+    public void handle(String command) {
+      unitsOfWork.add(UnitOfWorkRepository.get());
+      eventPublisher.publish(command.length());
+    }
+
+    @Handles(Integer.class)
+    public void on(Integer event) {
+      events++;
+    }
+  }
+}
@@ -15,11 +15,14 @@
  */
 package eu.tripledframework.eventstore.domain;
 
+import java.io.Serializable;
 import java.time.ZonedDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
-public class DomainEvent {
+public class DomainEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String id;
     private String aggregateRootIdentifier;
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.domain.annotation.ConstructionHandler;
+import eu.tripledframework.eventstore.domain.annotation.EP;
+
+/**
+ * The {@link ConstructionHandler} constructors and methods of a class, by the exact type of the event they handle. The
+ * table is built once per class, together with the extractors of the {@link EP} parameters of every handler, which are
+ * created for the event type the handler is annotated with.
+ */
+final class ConstructionHandlers {
+
+  private final Map<Class<?>, Handler<Constructor<?>>> constructors;
+  private final Map<Class<?>, Handler<Method>> methods;
+
+  private ConstructionHandlers(Map<Class<?>, Handler<Constructor<?>>> constructors,
+                               Map<Class<?>, Handler<Method>> methods) {
+    this.constructors = constructors;
+    this.methods = methods;
+  }
+
+  static ConstructionHandlers of(Class<?> targetClass) {
+    Map<Class<?>, Handler<Constructor<?>>> constructors = new HashMap<>();
+    for (Constructor<?> constructor : targetClass.getConstructors()) {
+      ConstructionHandler annotation = constructor.getAnnotation(ConstructionHandler.class);
+      if (annotation != null) {
+        constructors.putIfAbsent(annotation.value(), new Handler<>(constructor, annotation.value()));
+      }
+    }
+    Map<Class<?>, Handler<Method>> methods = new HashMap<>();
+    for (Method method : targetClass.getMethods()) {
+      ConstructionHandler annotation = method.getAnnotation(ConstructionHandler.class);
+      if (annotation != null) {
+        methods.putIfAbsent(annotation.value(), new Handler<>(method, annotation.value()));
+      }
+    }
+    return new ConstructionHandlers(Collections.unmodifiableMap(constructors), Collections.unmodifiableMap(methods));
+  }
+
+  /**
+   * @return the constructor which handles the type of the given event, or <code>null</code> when there is none.
+   */
+  Handler<Constructor<?>> getConstructor(DomainEvent event) {
+    return constructors.get(event.getClass());
+  }
+
+  /**
+   * @return the method which handles the type of the given event, or <code>null</code> when there is none.
+   */
+  Handler<Method> getMethod(DomainEvent event) {
+    return methods.get(event.getClass());
+  }
+
+  static final class Handler<E extends Executable> {
+
+    private final E executable;
+    private final ParameterExtractor[] extractors;
+
+    private Handler(E executable, Class<?> eventType) {
+      executable.setAccessible(true);
+      this.executable = executable;
+      List<ParameterExtractor> parameterExtractors = new ArrayList<>();
+      for (Annotation[] annotations : executable.getParameterAnnotations()) {
+        for (Annotation annotation : annotations) {
+          if (annotation.annotationType().equals(EP.class)) {
+            parameterExtractors.add(ParameterExtractors.forPath(eventType, ((EP) annotation).value()));
+          }
+        }
+      }
+      this.extractors = parameterExtractors.toArray(new ParameterExtractor[0]);
+    }
+
+    E getExecutable() {
+      return executable;
+    }
+
+    Object[] getParameterValues(DomainEvent event) {
+      Object[] values = new Object[extractors.length];
+      for (int i = 0; i < extractors.length; i++) {
+        values[i] = extractors[i].extract(event);
+      }
+      return values;
+    }
+
+    @Override
+    public String toString() {
+      return executable.toString();
+    }
+  }
+}
@@ -15,39 +15,104 @@
  */
 package eu.tripledframework.eventstore.infrastructure;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import eu.tripledframework.eventstore.domain.DomainEvent;
 import eu.tripledframework.eventstore.domain.EventRepository;
 
+/**
+ * An EventRepository which keeps the events in memory, indexed by the identifier of their aggregate root.
+ * <p>
+ * The events of an aggregate root are kept ordered by revision, events with the same revision in the order in which
+ * they were saved. Saving an event only touches the events of its own aggregate root and reading the events after a
+ * revision looks up the first of them with a binary search.
+ */
 public class InMemoryEventRepository implements EventRepository {
 
-  private final List<DomainEvent> events;
+  private final ConcurrentMap<String, EventStream> streams;
 
   public InMemoryEventRepository() {
-    events = new CopyOnWriteArrayList<>();
+    streams = new ConcurrentHashMap<>();
   }
 
   @Override
   public Collection<DomainEvent> findAllById(String id) {
-    return events.stream()
-        .filter(domainEvent -> domainEvent.getAggregateRootIdentifier().equals(id))
-        .collect(Collectors.toList());
+    EventStream stream = streams.get(id);
+    return stream == null ? Collections.emptyList() : stream.findAll();
   }
 
   @Override
   public Collection<DomainEvent> findAllByIdAndAfterRevision(String identifier, int revision) {
-    return events.stream()
-        .filter(domainEvent -> domainEvent.getAggregateRootIdentifier().equals(identifier))
-        .filter(domainEvent -> domainEvent.getRevision() > revision)
-        .collect(Collectors.toList());
+    EventStream stream = streams.get(identifier);
+    return stream == null ? Collections.emptyList() : stream.findAllAfterRevision(revision);
   }
 
   @Override
   public void save(DomainEvent object) {
-    events.add(object);
+    streams.computeIfAbsent(object.getAggregateRootIdentifier(), identifier -> new EventStream()).append(object);
+  }
+
+  /**
+   * The events of a single aggregate root. The revisions are kept in a separate array, so the binary search does not
+   * have to dereference the events.
+   */
+  private static final class EventStream {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private DomainEvent[] events = new DomainEvent[INITIAL_CAPACITY];
+    private int[] revisions = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private synchronized void append(DomainEvent event) {
+      if (size == events.length) {
+        events = Arrays.copyOf(events, size * 2);
+        revisions = Arrays.copyOf(revisions, size * 2);
+      }
+      int revision = event.getRevision();
+      // events are normally saved in the order of their revision, an event which is not is inserted in its place.
+      int index = size == 0 || revisions[size - 1] <= revision ? size : indexAfter(revision);
+      if (index < size) {
+        System.arraycopy(events, index, events, index + 1, size - index);
+        System.arraycopy(revisions, index, revisions, index + 1, size - index);
+      }
+      events[index] = event;
+      revisions[index] = revision;
+      size++;
+    }
+
+    private synchronized Collection<DomainEvent> findAll() {
+      return Arrays.asList(Arrays.copyOf(events, size));
+    }
+
+    private synchronized Collection<DomainEvent> findAllAfterRevision(int revision) {
+      int from = indexAfter(revision);
+      if (from == size) {
+        return Collections.emptyList();
+      }
+      return Arrays.asList(Arrays.copyOfRange(events, from, size));
+    }
+
+    /**
+     * @return the index of the first event with a revision higher than the given revision, or the size when there is
+     * none.
+     */
+    private int indexAfter(int revision) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (revisions[middle] <= revision) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
   }
 }
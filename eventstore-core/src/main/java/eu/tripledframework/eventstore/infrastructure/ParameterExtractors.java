@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+import org.apache.commons.jxpath.JXPathException;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.domain.annotation.EP;
+
+/**
+ * Creates the {@link ParameterExtractor}s for {@link EP} paths, once per event type and path.
+ * <p>
+ * A path of property names, such as <code>address/street</code>, is compiled into a chain of getters. Every other
+ * path, or a path of which a property holds a collection, a map or an array, is evaluated by JXPath, as is a path with
+ * a property which turns out to be <code>null</code> while it is evaluated.
+ */
+final class ParameterExtractors {
+
+  private static final Pattern PROPERTY_PATH = Pattern.compile("[A-Za-z_$][\\w$]*(/[A-Za-z_$][\\w$]*)*");
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final ClassValue<ConcurrentMap<String, ParameterExtractor>> EXTRACTORS =
+      new ClassValue<ConcurrentMap<String, ParameterExtractor>>() {
+        @Override
+        protected ConcurrentMap<String, ParameterExtractor> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private ParameterExtractors() {
+    // cannot be instantiated.
+  }
+
+  /**
+   * @param eventType The type of the events from which the value is extracted.
+   * @param path      The path of the property in the event.
+   * @return the extractor of the value of the given path.
+   */
+  static ParameterExtractor forPath(Class<?> eventType, String path) {
+    return EXTRACTORS.get(eventType).computeIfAbsent(path, key -> create(eventType, key));
+  }
+
+  private static ParameterExtractor create(Class<?> eventType, String path) {
+    ParameterExtractor fallback = jxpath(path);
+    MethodHandle[] getters = compile(eventType, path);
+    return getters == null ? fallback : new GetterChain(getters, fallback);
+  }
+
+  private static ParameterExtractor jxpath(String path) {
+    try {
+      CompiledExpression expression = JXPathContext.compile(path);
+      return event -> expression.getValue(JXPathContext.newContext(event));
+    } catch (JXPathException exception) {
+      // an invalid path fails when the event is applied, as it always did.
+      return event -> JXPathContext.newContext(event).getValue(path);
+    }
+  }
+
+  /**
+   * @return the getters of the properties of the path, or <code>null</code> when the path cannot be compiled.
+   */
+  private static MethodHandle[] compile(Class<?> eventType, String path) {
+    if (!PROPERTY_PATH.matcher(path).matches()) {
+      return null;
+    }
+    String[] properties = path.split("/");
+    MethodHandle[] getters = new MethodHandle[properties.length];
+    Class<?> type = eventType;
+    for (int i = 0; i < properties.length; i++) {
+      if (!isBean(type)) {
+        return null;
+      }
+      Method readMethod = findReadMethod(type, properties[i]);
+      if (readMethod == null) {
+        return null;
+      }
+      try {
+        readMethod.setAccessible(true);
+        getters[i] = MethodHandles.lookup().unreflect(readMethod).asType(GETTER_TYPE);
+      } catch (IllegalAccessException | RuntimeException exception) {
+        return null;
+      }
+      type = readMethod.getReturnType();
+    }
+    return isContainer(type) ? null : getters;
+  }
+
+  private static Method findReadMethod(Class<?> type, String property) {
+    try {
+      BeanInfo beanInfo = Introspector.getBeanInfo(type);
+      for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+        if (descriptor.getName().equals(property)) {
+          Method readMethod = descriptor.getReadMethod();
+          return readMethod != null && Modifier.isPublic(readMethod.getModifiers()) ? readMethod : null;
+        }
+      }
+      return null;
+    } catch (IntrospectionException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * JXPath treats the properties of a plain class as bean properties, an interface or Object could hold anything.
+   */
+  private static boolean isBean(Class<?> type) {
+    return !type.isPrimitive() && !type.isInterface() && type != Object.class && !isContainer(type);
+  }
+
+  private static boolean isContainer(Class<?> type) {
+    return type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+        || type == Object.class || type.isInterface();
+  }
+
+  static final class GetterChain implements ParameterExtractor {
+
+    private final MethodHandle[] getters;
+    private final ParameterExtractor fallback;
+
+    private GetterChain(MethodHandle[] getters, ParameterExtractor fallback) {
+      this.getters = getters;
+      this.fallback = fallback;
+    }
+
+    @Override
+    public Object extract(DomainEvent event) {
+      Object value = event;
+      try {
+        for (MethodHandle getter : getters) {
+          if (value == null) {
+            return fallback.extract(event);
+          }
+          value = (Object) getter.invokeExact(value);
+        }
+      } catch (Error error) {
+        throw error;
+      } catch (Throwable throwable) {
+        // let JXPath report the failing getter as it always did.
+        return fallback.extract(event);
+      }
+      return value;
+    }
+  }
+}
@@ -15,18 +15,11 @@
  */
 package eu.tripledframework.eventstore.infrastructure;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
-import org.apache.commons.jxpath.JXPathContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,17 +27,22 @@ import eu.tripledframework.eventstore.domain.ConstructionAware;
 import eu.tripledframework.eventstore.domain.DomainEvent;
 import eu.tripledframework.eventstore.domain.ObjectConstructor;
 import eu.tripledframework.eventstore.domain.annotation.ConstructionHandler;
-import eu.tripledframework.eventstore.domain.annotation.EP;
 
 /**
  * A Class which is capable of reconstructing  objects using events.
  * <p>
  * This class will use reflection and the {@link ConstructionHandler} annotation to construct an object
- * using events.
+ * using events. The handlers of every class are looked up once, an event is applied by the handler of its exact type.
  */
 public class ReflectionObjectConstructor<T> implements ObjectConstructor<T> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReflectionObjectConstructor.class);
+  private static final ClassValue<ConstructionHandlers> HANDLERS = new ClassValue<ConstructionHandlers>() {
+    @Override
+    protected ConstructionHandlers computeValue(Class<?> type) {
+      return ConstructionHandlers.of(type);
+    }
+  };
 
   private Class<T> targetClass;
 
@@ -62,9 +60,10 @@ public class ReflectionObjectConstructor<T> implements ObjectConstructor<T> {
     T instance = createInstance(firstEvent);
     LOGGER.debug("Created new {} with event {}", instance.getClass().getSimpleName(), firstEvent);
 
+    ConstructionHandlers handlers = HANDLERS.get(targetClass);
     events.stream()
         .skip(1)
-        .forEach(p -> applyDomainEvent(instance, p));
+        .forEach(p -> applyDomainEvent(handlers, instance, p));
 
     invokePostConstructIfNeeded(instance);
 
@@ -76,39 +75,37 @@ public class ReflectionObjectConstructor<T> implements ObjectConstructor<T> {
     if (events == null || events.isEmpty()) {
       return instance;
     }
-    events.forEach(event -> applyDomainEvent(instance, event));
+    ConstructionHandlers handlers = HANDLERS.get(targetClass);
+    events.forEach(event -> applyDomainEvent(handlers, instance, event));
 
     invokePostConstructIfNeeded(instance);
 
     return instance;
   }
 
+  @SuppressWarnings("unchecked")
   private T createInstance(DomainEvent event) {
-    Constructor constructor = getEventHandlerConstructor(event);
-    if (constructor == null) {
+    ConstructionHandlers.Handler<Constructor<?>> handler = HANDLERS.get(targetClass).getConstructor(event);
+    if (handler == null) {
       throw new AggregateRootReconstructionException(
           String.format("Could not find a suitable constructor for event %s", event));
     }
     try {
-      constructor.setAccessible(true);
-      Object[] parameters = getParametersValues(constructor.getParameterAnnotations(), event);
-      return (T) constructor.newInstance(parameters);
+      return (T) handler.getExecutable().newInstance(handler.getParameterValues(event));
     } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
       throw new AggregateRootReconstructionException(
-          String.format("Could not create object using constructor %s", constructor), e);
+          String.format("Could not create object using constructor %s", handler), e);
     }
   }
 
-  private void applyDomainEvent(T instance, DomainEvent event) {
-    Method method = getEventHandlerMethods(event);
-    if (method == null) {
+  private void applyDomainEvent(ConstructionHandlers handlers, T instance, DomainEvent event) {
+    ConstructionHandlers.Handler<Method> handler = handlers.getMethod(event);
+    if (handler == null) {
       throw new AggregateRootReconstructionException(
           String.format("Could not find a suitable method for event %s", event));
     }
     try {
-      method.setAccessible(true);
-      Object[] parameters = getParametersValues(method.getParameterAnnotations(), event);
-      method.invoke(instance, parameters);
+      handler.getExecutable().invoke(instance, handler.getParameterValues(event));
       LOGGER.debug("Applied {}", event);
     } catch (IllegalAccessException | InvocationTargetException e) {
       throw new AggregateRootReconstructionException(
@@ -116,56 +113,10 @@ public class ReflectionObjectConstructor<T> implements ObjectConstructor<T> {
     }
   }
 
-  private Method getEventHandlerMethods(DomainEvent event) {
-    Set<Method> methods = Arrays.stream(targetClass.getMethods())
-        .filter(constructor -> constructor.isAnnotationPresent(ConstructionHandler.class))
-        .collect(Collectors.toSet());
-    for (Method method : methods) {
-      ConstructionHandler annotation = method.getAnnotation(ConstructionHandler.class);
-      if (annotation.value().equals(event.getClass())) {
-        return method;
-      }
-    }
-    return null;
-  }
-
-  private Constructor getEventHandlerConstructor(DomainEvent event) {
-    Set<Constructor> constructors = Arrays.stream(targetClass.getConstructors())
-        .filter(contructor -> contructor.isAnnotationPresent(ConstructionHandler.class))
-        .collect(Collectors.toSet());
-    for (Constructor constructor : constructors) {
-      ConstructionHandler constructionHandlerAnnotation =
-          (ConstructionHandler) constructor.getAnnotation(ConstructionHandler.class);
-      if (constructionHandlerAnnotation.value().equals(event.getClass())) {
-        return constructor;
-      }
-    }
-    return null;
-  }
-
-  private Object[] getParametersValues(Annotation[][] parameterAnnotations, DomainEvent event) {
-    List<Object> params = new ArrayList<>();
-
-    for (Annotation[] annotations : parameterAnnotations) {
-      for (Annotation annotation : annotations) {
-        if (annotation.annotationType().equals(EP.class)) {
-          EP eventParam = (EP) annotation;
-          params.add(getValue(eventParam.value(), event));
-        }
-      }
-    }
-    return params.toArray(new Object[params.size()]);
-  }
-
   private void invokePostConstructIfNeeded(T instance) {
     // Invoke the postConstruct on the object if it's ConstructionAware.
     if (instance instanceof ConstructionAware) {
       ((ConstructionAware) instance).postConstruct();
     }
   }
-
-  private Object getValue(String expr, DomainEvent event) {
-    JXPathContext context = JXPathContext.newContext(event);
-    return context.getValue(expr);
-  }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+/**
+ * Defines when the events written to a segment file are forced to the storage device, which trades durability for
+ * throughput.
+ */
+public enum FsyncPolicy {
+  /**
+   * Force every event before save returns, no saved event is lost when the machine crashes.
+   */
+  ALWAYS,
+  /**
+   * Force the written events at a fixed interval, the events saved during the last interval can be lost when the
+   * machine crashes.
+   */
+  INTERVAL,
+  /**
+   * Leave it to the operating system to write the events to the storage device. The events survive a crash of the
+   * JVM, but not necessarily a crash of the machine.
+   */
+  OS
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A checkpoint of the index of a {@link SegmentFileEventRepository}, which covers the records up to a position in
+ * the segments. The file ends with a CRC32 of its content, a checkpoint which was not completely written is ignored.
+ */
+final class IndexCheckpoint {
+
+  static final String FILE_NAME = "index.checkpoint";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IndexCheckpoint.class);
+  private static final int MAGIC = 0x54524449;
+  private static final int VERSION = 2;
+
+  private final int segmentNumber;
+  private final int offset;
+  private final Map<String, RecordIndex> recordsByIdentifier;
+
+  private IndexCheckpoint(int segmentNumber, int offset, Map<String, RecordIndex> recordsByIdentifier) {
+    this.segmentNumber = segmentNumber;
+    this.offset = offset;
+    this.recordsByIdentifier = recordsByIdentifier;
+  }
+
+  /**
+   * @return the number of the segment in which the first record which is not covered is written.
+   */
+  int getSegmentNumber() {
+    return segmentNumber;
+  }
+
+  /**
+   * @return the offset in its segment of the first record which is not covered.
+   */
+  int getOffset() {
+    return offset;
+  }
+
+  Map<String, RecordIndex> getRecordsByIdentifier() {
+    return recordsByIdentifier;
+  }
+
+  /**
+   * Writes the checkpoint to a temporary file which replaces the previous checkpoint once it is forced to the storage
+   * device.
+   */
+  static void write(Path directory, int segmentNumber, int offset, Map<String, RecordIndex> recordsByIdentifier)
+      throws IOException {
+    Path temporary = directory.resolve(FILE_NAME + ".tmp");
+    try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+      CRC32 crc = new CRC32();
+      DataOutputStream output = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file), crc));
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(segmentNumber);
+      output.writeInt(offset);
+      output.writeInt(recordsByIdentifier.size());
+      for (Map.Entry<String, RecordIndex> entry : recordsByIdentifier.entrySet()) {
+        byte[] identifier = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        output.writeInt(identifier.length);
+        output.write(identifier);
+        entry.getValue().writeTo(output);
+      }
+      output.flush();
+      new DataOutputStream(file).writeLong(crc.getValue());
+      file.getFD().sync();
+    }
+    Files.move(temporary, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * @return the checkpoint in the given directory, or <code>null</code> when there is none or it cannot be read.
+   */
+  static IndexCheckpoint read(Path directory) {
+    Path path = directory.resolve(FILE_NAME);
+    if (!Files.isRegularFile(path)) {
+      return null;
+    }
+    try {
+      byte[] bytes = Files.readAllBytes(path);
+      int contentLength = bytes.length - Long.BYTES;
+      CRC32 crc = new CRC32();
+      if (contentLength < 0) {
+        throw new IOException("The checkpoint is truncated.");
+      }
+      crc.update(bytes, 0, contentLength);
+      if (crc.getValue() != ByteBuffer.wrap(bytes, contentLength, Long.BYTES).getLong()) {
+        throw new IOException("The checksum of the checkpoint does not match.");
+      }
+      DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes, 0, contentLength));
+      if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+        throw new IOException("The checkpoint has an unsupported format.");
+      }
+      int segmentNumber = input.readInt();
+      int offset = input.readInt();
+      int count = input.readInt();
+      Map<String, RecordIndex> recordsByIdentifier = new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+      for (int i = 0; i < count; i++) {
+        recordsByIdentifier.put(readIdentifier(input), RecordIndex.readFrom(input));
+      }
+      return new IndexCheckpoint(segmentNumber, offset, recordsByIdentifier);
+    } catch (IOException | RuntimeException exception) {
+      LOGGER.warn("Ignoring the index checkpoint {}, the segments are scanned instead.", path, exception);
+      return null;
+    }
+  }
+
+  private static String readIdentifier(DataInputStream input) throws IOException {
+    int length = input.readInt();
+    if (length < 0 || length > input.available()) {
+      throw new IOException("The checkpoint contains an identifier with an invalid length.");
+    }
+    byte[] identifier = new byte[length];
+    input.readFully(identifier);
+    return new String(identifier, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.infrastructure.EventStorageException;
+
+/**
+ * An EventSerializer which uses Java serialization, so every field of the stored events should be Serializable.
+ */
+public class JavaEventSerializer implements EventSerializer {
+
+  private static final int INITIAL_BUFFER_SIZE = 512;
+
+  @Override
+  public byte[] serialize(DomainEvent event) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(event);
+    } catch (IOException exception) {
+      throw new EventStorageException(String.format("Could not serialize the event %s.", event), exception);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public DomainEvent deserialize(ByteBuffer buffer) {
+    try (ObjectInputStream input = new ObjectInputStream(new ByteBufferInputStream(buffer))) {
+      return (DomainEvent) input.readObject();
+    } catch (IOException | ClassNotFoundException exception) {
+      throw new EventStorageException("Could not deserialize a stored event.", exception);
+    }
+  }
+}
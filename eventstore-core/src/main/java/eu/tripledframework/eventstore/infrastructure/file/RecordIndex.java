@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The positions of the events of a single aggregate root, ordered by revision. The position of an event holds the
+ * number of its segment in the high and its offset in the low 32 bits.
+ */
+final class RecordIndex {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private long[] positions;
+  private int[] revisions;
+  private int size;
+
+  RecordIndex() {
+    this(new long[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0);
+  }
+
+  private RecordIndex(long[] positions, int[] revisions, int size) {
+    this.positions = positions;
+    this.revisions = revisions;
+    this.size = size;
+  }
+
+  static long position(int segmentNumber, int offset) {
+    return ((long) segmentNumber << 32) | offset;
+  }
+
+  static int segmentNumber(long position) {
+    return (int) (position >>> 32);
+  }
+
+  static int offset(long position) {
+    return (int) position;
+  }
+
+  synchronized void append(int revision, long position) {
+    if (size == positions.length) {
+      positions = Arrays.copyOf(positions, size * 2);
+      revisions = Arrays.copyOf(revisions, size * 2);
+    }
+    // events are normally saved in the order of their revision, an event which is not is inserted in its place.
+    int index = size == 0 || revisions[size - 1] <= revision ? size : indexAfter(revision);
+    if (index < size) {
+      System.arraycopy(positions, index, positions, index + 1, size - index);
+      System.arraycopy(revisions, index, revisions, index + 1, size - index);
+    }
+    positions[index] = position;
+    revisions[index] = revision;
+    size++;
+  }
+
+  synchronized long[] findAll() {
+    return Arrays.copyOf(positions, size);
+  }
+
+  synchronized long[] findAllAfterRevision(int revision) {
+    return Arrays.copyOfRange(positions, indexAfter(revision), size);
+  }
+
+  /**
+   * @return the index of the first event with a revision higher than the given revision, or the size when there is
+   * none.
+   */
+  private int indexAfter(int revision) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (revisions[middle] <= revision) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  synchronized void writeTo(DataOutput output) throws IOException {
+    output.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      output.writeInt(revisions[i]);
+      output.writeLong(positions[i]);
+    }
+  }
+
+  static RecordIndex readFrom(DataInput input) throws IOException {
+    int size = input.readInt();
+    if (size < 0) {
+      throw new IOException(String.format("Invalid number of records %s.", size));
+    }
+    int capacity = Math.max(INITIAL_CAPACITY, size);
+    long[] positions = new long[capacity];
+    int[] revisions = new int[capacity];
+    for (int i = 0; i < size; i++) {
+      revisions[i] = input.readInt();
+      positions[i] = input.readLong();
+    }
+    return new RecordIndex(positions, revisions, size);
+  }
+}
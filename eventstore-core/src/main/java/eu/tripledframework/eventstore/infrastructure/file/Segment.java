@@ -0,0 +1,236 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import eu.tripledframework.eventstore.infrastructure.EventStorageException;
+
+/**
+ * A segment file, mapped in memory as a whole. The file starts with a magic number and the version of its format,
+ * followed by a sequence of records:
+ * <pre>
+ * int   length of the rest of the record
+ * int   CRC32 of the record, from the revision up to its end
+ * int   revision of the event
+ * short length of the aggregate root identifier
+ * byte* aggregate root identifier, in UTF-8
+ * byte* serialized event
+ * </pre>
+ * The length of a record is written last, after the length of the next record has been zeroed, so the zero length
+ * following the last record marks the end of the segment. A record of which the checksum does not match was not
+ * completely written.
+ */
+final class Segment implements AutoCloseable {
+
+  static final String SUFFIX = ".segment";
+  static final int MAX_IDENTIFIER_LENGTH = 0xFFFF;
+
+  private static final int MAGIC = 0x54524453;
+  private static final int VERSION = 2;
+  private static final int FILE_HEADER_LENGTH = 8;
+  static final int FIRST_RECORD_OFFSET = FILE_HEADER_LENGTH;
+  private static final int HEADER_LENGTH = 14;
+
+  private final Path path;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private int writePosition = FIRST_RECORD_OFFSET;
+
+  private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+    this.path = path;
+    this.channel = channel;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Opens the segment file with the given path, creating it with the given size when it does not exist. An existing
+   * file keeps its own size.
+   *
+   * @throws EventStorageException when the file is not a segment of the supported version.
+   */
+  static Segment open(Path path, int size) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      long mappedSize = channel.size() > 0 ? channel.size() : size;
+      Segment segment = new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+      segment.checkHeader();
+      return segment;
+    } catch (IOException | RuntimeException exception) {
+      channel.close();
+      throw exception;
+    }
+  }
+
+  private void checkHeader() {
+    int magic = buffer.getInt(0);
+    int version = buffer.getInt(4);
+    if (magic == 0 && version == 0) {
+      // a new segment, or one of which the header was lost in a crash right after it was created.
+      buffer.putInt(4, VERSION);
+      buffer.putInt(0, MAGIC);
+    } else if (magic != MAGIC || version != VERSION) {
+      throw new EventStorageException(String.format("The file %s is not a segment of version %s.", path, VERSION));
+    }
+  }
+
+  static String fileName(int number) {
+    return String.format("%010d%s", number, SUFFIX);
+  }
+
+  static int recordLength(int identifierLength, int payloadLength) {
+    return HEADER_LENGTH + identifierLength + payloadLength;
+  }
+
+  static int maxRecordLength(int segmentSize) {
+    return segmentSize - FILE_HEADER_LENGTH;
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  int getWritePosition() {
+    return writePosition;
+  }
+
+  boolean fits(int recordLength) {
+    return writePosition + recordLength <= buffer.capacity();
+  }
+
+  /**
+   * Appends a record, which should fit in the segment.
+   *
+   * @return the offset of the record.
+   */
+  int append(int revision, byte[] identifier, byte[] payload) {
+    int offset = writePosition;
+    ByteBuffer view = buffer.duplicate();
+    view.position(offset + 8);
+    view.putInt(revision);
+    view.putShort((short) identifier.length);
+    view.put(identifier);
+    view.put(payload);
+    int end = view.position();
+    if (end + Integer.BYTES <= view.capacity()) {
+      // a record which was torn before, could have left bytes where the length of the next record will be.
+      view.putInt(end, 0);
+    }
+    view.putInt(offset + 4, checksum(view, offset + 8, end));
+    view.putInt(offset, end - offset - Integer.BYTES);
+    writePosition = end;
+    return offset;
+  }
+
+  /**
+   * @return a read-only view on the serialized event of the record at the given offset.
+   */
+  ByteBuffer payload(int offset) {
+    ByteBuffer view = buffer.asReadOnlyBuffer();
+    int end = offset + Integer.BYTES + view.getInt(offset);
+    int identifierLength = view.getShort(offset + 12) & 0xFFFF;
+    view.limit(end);
+    view.position(offset + HEADER_LENGTH + identifierLength);
+    return view.slice();
+  }
+
+  /**
+   * Visits the records of the segment from the given offset, and moves the write position after the last intact one.
+   *
+   * @return <code>false</code> when the scan stopped at a record which was not completely written.
+   */
+  boolean scan(int from, RecordVisitor visitor) {
+    ByteBuffer view = buffer.duplicate();
+    int position = from;
+    while (position + Integer.BYTES <= view.capacity()) {
+      int length = view.getInt(position);
+      if (length == 0) {
+        break;
+      }
+      int end = position + Integer.BYTES + length;
+      if (length < HEADER_LENGTH - Integer.BYTES || end > view.capacity()
+          || view.getInt(position + 4) != checksum(view, position + 8, end)) {
+        writePosition = position;
+        return false;
+      }
+      int revision = view.getInt(position + 8);
+      int identifierLength = view.getShort(position + 12) & 0xFFFF;
+      if (position + HEADER_LENGTH + identifierLength > end) {
+        writePosition = position;
+        return false;
+      }
+      byte[] identifier = new byte[identifierLength];
+      view.position(position + HEADER_LENGTH);
+      view.get(identifier);
+      visitor.visit(position, revision, new String(identifier, StandardCharsets.UTF_8));
+      position = end;
+    }
+    writePosition = position;
+    return true;
+  }
+
+  /**
+   * Zeroes the segment from the write position, dropping the record which was not completely written.
+   */
+  void truncate() {
+    ByteBuffer view = buffer.duplicate();
+    view.position(writePosition);
+    while (view.remaining() >= Long.BYTES) {
+      view.putLong(0L);
+    }
+    while (view.hasRemaining()) {
+      view.put((byte) 0);
+    }
+    buffer.force();
+  }
+
+  private static int checksum(ByteBuffer view, int from, int to) {
+    ByteBuffer range = view.duplicate();
+    range.limit(to);
+    range.position(from);
+    CRC32 crc = new CRC32();
+    crc.update(range);
+    return (int) crc.getValue();
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  static boolean isSegment(Path path) {
+    return Files.isRegularFile(path) && path.getFileName().toString().endsWith(SUFFIX);
+  }
+
+  @FunctionalInterface
+  interface RecordVisitor {
+
+    void visit(int offset, int revision, String identifier);
+  }
+}
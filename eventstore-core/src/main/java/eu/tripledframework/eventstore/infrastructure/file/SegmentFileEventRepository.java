@@ -0,0 +1,340 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.domain.EventRepository;
+import eu.tripledframework.eventstore.infrastructure.EventStorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An EventRepository which appends the events to segment files in a directory, without the need for a database server.
+ * <p>
+ * The segments have a fixed size and are mapped in memory, a new segment is started when an event does not fit in the
+ * current one. The position of the events of every aggregate root is kept in memory. The events are deserialized
+ * straight from the mapped segments.
+ * <p>
+ * The index is checkpointed to disk when a new segment is started, when {@link #checkpoint()} is called and when the
+ * repository is closed. When the repository is opened, it loads the checkpoint and only scans the records written after
+ * it. Without a valid checkpoint, the segments are scanned in parallel. Every record has a checksum, a record at the
+ * end of the last segment which was not completely written before a crash is truncated.
+ * <p>
+ * The {@link FsyncPolicy} defines when the written events are forced to the storage device. Saving events is
+ * serialized, reading them is not.
+ */
+public class SegmentFileEventRepository implements EventRepository, AutoCloseable {
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+  public static final Duration DEFAULT_FSYNC_INTERVAL = Duration.ofSeconds(1);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentFileEventRepository.class);
+
+  private final Path directory;
+  private final int segmentSize;
+  private final EventSerializer serializer;
+  private final FsyncPolicy fsyncPolicy;
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+  private final ConcurrentMap<String, RecordIndex> recordsByIdentifier = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService fsyncScheduler;
+  private volatile Segment activeSegment;
+  // the segments before this one have been forced to the storage device.
+  private int firstUnforcedSegment;
+  private volatile boolean closed;
+
+  public SegmentFileEventRepository(Path directory) {
+    this(directory, DEFAULT_SEGMENT_SIZE, new JavaEventSerializer(), FsyncPolicy.INTERVAL, DEFAULT_FSYNC_INTERVAL);
+  }
+
+  /**
+   * @param directory     The directory which holds the segment files, it is created when it does not exist.
+   * @param segmentSize   The size in bytes of a new segment file, which is also the maximum size of a stored event.
+   * @param serializer    The serializer of the events.
+   * @param fsyncPolicy   When the written events are forced to the storage device.
+   * @param fsyncInterval The interval at which the written events are forced, only used by
+   *                      {@link FsyncPolicy#INTERVAL}.
+   */
+  public SegmentFileEventRepository(Path directory, int segmentSize, EventSerializer serializer,
+                                    FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+    if (Segment.maxRecordLength(segmentSize) < Segment.recordLength(0, 0)) {
+      throw new IllegalArgumentException(String.format("The segment size %s is too small.", segmentSize));
+    }
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.serializer = serializer;
+    this.fsyncPolicy = fsyncPolicy;
+    try {
+      Files.createDirectories(directory);
+      openSegments();
+    } catch (IOException exception) {
+      closeSegments();
+      throw new EventStorageException(String.format("Could not open the segments in %s.", directory), exception);
+    }
+    if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+      long intervalMillis = Math.max(1, fsyncInterval.toMillis());
+      fsyncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "segment-fsync-" + directory.getFileName());
+        thread.setDaemon(true);
+        return thread;
+      });
+      fsyncScheduler.scheduleWithFixedDelay(this::forceActiveSegment, intervalMillis, intervalMillis,
+          TimeUnit.MILLISECONDS);
+    } else {
+      fsyncScheduler = null;
+    }
+  }
+
+  /**
+   * Forces the active segment on the fsync thread. A failure is logged instead of thrown, since a periodic task which
+   * throws is never run again.
+   */
+  private void forceActiveSegment() {
+    try {
+      activeSegment.force();
+    } catch (RuntimeException exception) {
+      LOGGER.warn("Could not force the active segment in {} to the storage device.", directory, exception);
+    }
+  }
+
+  private void openSegments() throws IOException {
+    List<Path> paths;
+    try (Stream<Path> files = Files.list(directory)) {
+      paths = files.filter(Segment::isSegment).sorted().collect(Collectors.toList());
+    }
+    for (Path path : paths) {
+      segments.add(Segment.open(path, segmentSize));
+    }
+    if (segments.isEmpty()) {
+      segments.add(Segment.open(directory.resolve(Segment.fileName(0)), segmentSize));
+    }
+    activeSegment = segments.get(segments.size() - 1);
+
+    IndexCheckpoint checkpoint = IndexCheckpoint.read(directory);
+    if (checkpoint != null && checkpoint.getSegmentNumber() < segments.size()) {
+      recordsByIdentifier.putAll(checkpoint.getRecordsByIdentifier());
+      recover(checkpoint.getSegmentNumber(), checkpoint.getOffset());
+    } else {
+      recover(0, Segment.FIRST_RECORD_OFFSET);
+    }
+    firstUnforcedSegment = segments.size() - 1;
+  }
+
+  /**
+   * Indexes the records from the given position, scanning the segments in parallel. Only the last segment can end with
+   * a record which was not completely written, such a record is truncated.
+   */
+  private void recover(int firstSegment, int firstOffset) {
+    List<ScannedSegment> scans = IntStream.range(firstSegment, segments.size())
+        .parallel()
+        .mapToObj(number -> scan(number, number == firstSegment ? firstOffset : Segment.FIRST_RECORD_OFFSET))
+        .collect(Collectors.toList());
+    int lastSegment = segments.size() - 1;
+    for (ScannedSegment scan : scans) {
+      Segment segment = segments.get(scan.segmentNumber);
+      if (!scan.intact) {
+        if (scan.segmentNumber != lastSegment) {
+          throw new EventStorageException(String.format("The segment %s is damaged at offset %s.", segment.getPath(),
+              segment.getWritePosition()));
+        }
+        LOGGER.warn("Truncating the segment {} at offset {}, its last record was not completely written.",
+            segment.getPath(), segment.getWritePosition());
+        segment.truncate();
+      }
+      for (ScannedRecord record : scan.records) {
+        index(record.identifier, record.revision, scan.segmentNumber, record.offset);
+      }
+    }
+  }
+
+  private ScannedSegment scan(int segmentNumber, int offset) {
+    ScannedSegment scan = new ScannedSegment(segmentNumber);
+    scan.intact = segments.get(segmentNumber).scan(offset,
+        (recordOffset, revision, identifier) -> scan.records.add(new ScannedRecord(identifier, revision, recordOffset)));
+    return scan;
+  }
+
+  @Override
+  public Collection<DomainEvent> findAllById(String id) {
+    checkNotClosed();
+    RecordIndex records = recordsByIdentifier.get(id);
+    return records == null ? Collections.emptyList() : read(records.findAll());
+  }
+
+  @Override
+  public Collection<DomainEvent> findAllByIdAndAfterRevision(String identifier, int revision) {
+    checkNotClosed();
+    RecordIndex records = recordsByIdentifier.get(identifier);
+    return records == null ? Collections.emptyList() : read(records.findAllAfterRevision(revision));
+  }
+
+  private List<DomainEvent> read(long[] positions) {
+    List<DomainEvent> events = new ArrayList<>(positions.length);
+    for (long position : positions) {
+      Segment segment = segments.get(RecordIndex.segmentNumber(position));
+      events.add(serializer.deserialize(segment.payload(RecordIndex.offset(position))));
+    }
+    return events;
+  }
+
+  @Override
+  public synchronized void save(DomainEvent object) {
+    checkNotClosed();
+    byte[] identifier = object.getAggregateRootIdentifier().getBytes(StandardCharsets.UTF_8);
+    if (identifier.length > Segment.MAX_IDENTIFIER_LENGTH) {
+      throw new IllegalArgumentException(String.format("The aggregate root identifier of %s is too long.", object));
+    }
+    byte[] payload = serializer.serialize(object);
+    int recordLength = Segment.recordLength(identifier.length, payload.length);
+    if (recordLength > Segment.maxRecordLength(segmentSize)) {
+      throw new IllegalArgumentException(String.format("The event %s of %s bytes does not fit in a segment of %s bytes.",
+          object, recordLength, segmentSize));
+    }
+    if (!activeSegment.fits(recordLength)) {
+      startNewSegment();
+    }
+    int offset = activeSegment.append(object.getRevision(), identifier, payload);
+    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+      activeSegment.force();
+    }
+    index(object.getAggregateRootIdentifier(), object.getRevision(), segments.size() - 1, offset);
+  }
+
+  private void startNewSegment() {
+    if (fsyncPolicy != FsyncPolicy.OS) {
+      activeSegment.force();
+    }
+    Path path = directory.resolve(Segment.fileName(segments.size()));
+    try {
+      Segment segment = Segment.open(path, segmentSize);
+      segments.add(segment);
+      activeSegment = segment;
+    } catch (IOException exception) {
+      throw new EventStorageException(String.format("Could not create the segment %s.", path), exception);
+    }
+    checkpoint();
+  }
+
+  private void index(String identifier, int revision, int segmentNumber, int offset) {
+    recordsByIdentifier.computeIfAbsent(identifier, key -> new RecordIndex())
+        .append(revision, RecordIndex.position(segmentNumber, offset));
+  }
+
+  /**
+   * Writes a checkpoint of the index, so the next time the repository is opened only the events saved after it have to
+   * be scanned. The segments it covers are forced to the storage device first, whatever the fsync policy.
+   */
+  public synchronized void checkpoint() {
+    checkNotClosed();
+    for (int i = firstUnforcedSegment; i < segments.size(); i++) {
+      segments.get(i).force();
+    }
+    firstUnforcedSegment = segments.size() - 1;
+    try {
+      IndexCheckpoint.write(directory, segments.size() - 1, activeSegment.getWritePosition(), recordsByIdentifier);
+    } catch (IOException exception) {
+      throw new EventStorageException(String.format("Could not write the index checkpoint in %s.", directory),
+          exception);
+    }
+  }
+
+  private void checkNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("The event repository has been closed.");
+    }
+  }
+
+  /**
+   * Writes a checkpoint of the index and closes the segment files.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    if (fsyncScheduler != null) {
+      fsyncScheduler.shutdown();
+      awaitFsyncScheduler();
+    }
+    try {
+      checkpoint();
+    } finally {
+      closed = true;
+      closeSegments();
+    }
+  }
+
+  // a force which is still running should not find the segments closed.
+  private void awaitFsyncScheduler() {
+    try {
+      fsyncScheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments) {
+      try {
+        segment.close();
+      } catch (IOException exception) {
+        // the segment is mapped, closing its channel does not lose any data.
+      }
+    }
+  }
+
+  private static final class ScannedSegment {
+
+    private final int segmentNumber;
+    private final List<ScannedRecord> records = new ArrayList<>();
+    private boolean intact;
+
+    private ScannedSegment(int segmentNumber) {
+      this.segmentNumber = segmentNumber;
+    }
+  }
+
+  private static final class ScannedRecord {
+
+    private final String identifier;
+    private final int revision;
+    private final int offset;
+
+    private ScannedRecord(String identifier, int revision, int offset) {
+      this.identifier = identifier;
+      this.revision = revision;
+      this.offset = offset;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure;
+
+import eu.tripledframework.eventstore.domain.MyAggregateRoot;
+import eu.tripledframework.eventstore.event.AddressUpdatedEvent;
+import eu.tripledframework.eventstore.event.MyAggregateRootCreatedEvent;
+import eu.tripledframework.eventstore.event.UnMappedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ConstructionHandlersTest {
+
+    @Test
+    void whenTheHandlersOfAClassAreBuilt_shouldExtractTheParametersOfTheHandlerOfAnEvent() {
+        // given
+        ConstructionHandlers handlers = ConstructionHandlers.of(MyAggregateRoot.class);
+        MyAggregateRootCreatedEvent event = new MyAggregateRootCreatedEvent("rootIdentifier", "Domenique");
+
+        // when
+        Object[] values = handlers.getConstructor(event).getParameterValues(event);
+
+        // then
+        assertThat(values, equalTo(new Object[] {"rootIdentifier", "Domenique"}));
+    }
+
+    @Test
+    void whenTheHandlersOfAClassAreBuilt_shouldMapAnEventToTheMethodOfItsExactType() {
+        // given
+        ConstructionHandlers handlers = ConstructionHandlers.of(MyAggregateRoot.class);
+
+        // when
+        Method method = handlers.getMethod(new AddressUpdatedEvent("rootIdentifier", "Street")).getExecutable();
+
+        // then
+        assertThat(method.getName(), equalTo("updateAddress"));
+        assertThat(handlers.getMethod(new UnMappedEvent()), nullValue());
+        assertThat(handlers.getMethod(new AddressUpdatedEvent("rootIdentifier", "Street") { }), nullValue());
+    }
+}
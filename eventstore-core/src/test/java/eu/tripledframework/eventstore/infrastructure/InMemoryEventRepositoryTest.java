@@ -20,7 +20,13 @@ import eu.tripledframework.eventstore.domain.EventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 class InMemoryEventRepositoryTest {
@@ -43,4 +49,54 @@ class InMemoryEventRepositoryTest {
         // then
         assertThat(eventRepository.findAllById(domainEvent.getAggregateRootIdentifier()), hasItem(domainEvent));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenEventsOfSeveralAggregatesAreStored_shouldOnlyFindTheEventsOfTheAggregate() {
+        // given
+        DomainEvent first = new DomainEvent("first", 1);
+        DomainEvent other = new DomainEvent("other", 1);
+        DomainEvent second = new DomainEvent("first", 2);
+
+        // when
+        eventRepository.save(first);
+        eventRepository.save(other);
+        eventRepository.save(second);
+
+        // then
+        assertThat(new ArrayList<>(eventRepository.findAllById("first")), equalTo(Arrays.asList(first, second)));
+        assertThat(eventRepository.findAllById("unknown").isEmpty(), is(true));
+    }
+
+    @Test
+    void whenEventsAreStoredOutOfOrder_shouldFindThemOrderedByRevision() {
+        // given
+        DomainEvent third = new DomainEvent("rootIdentifier", 3);
+        DomainEvent first = new DomainEvent("rootIdentifier", 1);
+        DomainEvent second = new DomainEvent("rootIdentifier", 2);
+
+        // when
+        eventRepository.save(third);
+        eventRepository.save(first);
+        eventRepository.save(second);
+
+        // then
+        assertThat(new ArrayList<>(eventRepository.findAllById("rootIdentifier")),
+            equalTo(Arrays.asList(first, second, third)));
+    }
+
+    @Test
+    void whenManyEventsAreStored_shouldOnlyFindTheEventsAfterTheRevision() {
+        // given
+        for (int revision = 0; revision < 100; revision++) {
+            eventRepository.save(new DomainEvent("rootIdentifier", revision));
+        }
+
+        // when
+        Collection<DomainEvent> events = eventRepository.findAllByIdAndAfterRevision("rootIdentifier", 89);
+
+        // then
+        assertThat(events.size(), is(10));
+        assertThat(events.iterator().next().getRevision(), is(90));
+        assertThat(eventRepository.findAllByIdAndAfterRevision("rootIdentifier", 99).isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.event.MyAggregateRootCreatedEvent;
+import org.apache.commons.jxpath.JXPathNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ParameterExtractorsTest {
+
+    @Test
+    void whenThePathIsAProperty_shouldCompileItIntoAGetter() {
+        // given
+        MyAggregateRootCreatedEvent event = new MyAggregateRootCreatedEvent("rootIdentifier", "Domenique");
+
+        // when
+        ParameterExtractor extractor = ParameterExtractors.forPath(MyAggregateRootCreatedEvent.class, "name");
+
+        // then
+        assertThat(extractor, instanceOf(ParameterExtractors.GetterChain.class));
+        assertThat(extractor.extract(event), equalTo("Domenique"));
+        assertThat(ParameterExtractors.forPath(MyAggregateRootCreatedEvent.class, "name"), sameInstance(extractor));
+    }
+
+    @Test
+    void whenThePathIsANestedProperty_shouldFollowTheGetters() {
+        // given
+        MovedEvent event = new MovedEvent(new Address("Street", 12));
+
+        // when
+        ParameterExtractor extractor = ParameterExtractors.forPath(MovedEvent.class, "address/number");
+
+        // then
+        assertThat(extractor, instanceOf(ParameterExtractors.GetterChain.class));
+        assertThat(extractor.extract(event), equalTo(12));
+    }
+
+    @Test
+    void whenAPropertyOfThePathIsNull_shouldFailLikeJXPath() {
+        // given
+        MovedEvent event = new MovedEvent(null);
+        ParameterExtractor extractor = ParameterExtractors.forPath(MovedEvent.class, "address/street");
+
+        // when
+        Assertions.assertThrows(JXPathNotFoundException.class, () -> extractor.extract(event));
+
+        // then
+        // exception
+    }
+
+    @Test
+    void whenThePathCannotBeCompiled_shouldFallBackToJXPath() {
+        // given
+        MovedEvent event = new MovedEvent(new Address("Street", 12));
+
+        // when
+        ParameterExtractor predicate = ParameterExtractors.forPath(MovedEvent.class, "previousStreets[2]");
+        ParameterExtractor collection = ParameterExtractors.forPath(MovedEvent.class, "previousStreets");
+
+        // then
+        assertThat(predicate, not(instanceOf(ParameterExtractors.GetterChain.class)));
+        assertThat(predicate.extract(event), equalTo("Second Street"));
+        assertThat(collection, not(instanceOf(ParameterExtractors.GetterChain.class)));
+    }
+
+    public static class MovedEvent extends DomainEvent {
+
+        private final Address address;
+
+        public MovedEvent(Address address) {
+            super("rootIdentifier");
+            this.address = address;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public List<String> getPreviousStreets() {
+            return Arrays.asList("First Street", "Second Street");
+        }
+    }
+
+    public static class Address {
+
+        private final String street;
+        private final int number;
+
+        public Address(String street, int number) {
+            this.street = street;
+            this.number = number;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.event.AddressUpdatedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class IndexCheckpointTest {
+
+    // an emoji takes 4 bytes in UTF-8, but 6 in the modified UTF-8 of DataOutput.writeUTF.
+    private static final String EMOJI = "\uD83D\uDE00";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void whenAnIdentifierDoesNotFitInModifiedUtf8_shouldReadItBack() throws Exception {
+        // given
+        String identifier = identifierWhichDoesNotFitInModifiedUtf8();
+        RecordIndex index = new RecordIndex();
+        index.append(0, RecordIndex.position(0, 0));
+        index.append(1, RecordIndex.position(0, 128));
+
+        // when
+        IndexCheckpoint.write(directory, 1, 256, Collections.singletonMap(identifier, index));
+        IndexCheckpoint checkpoint = IndexCheckpoint.read(directory);
+
+        // then
+        assertThat(checkpoint.getSegmentNumber(), is(1));
+        assertThat(checkpoint.getOffset(), is(256));
+        Map<String, RecordIndex> recordsByIdentifier = checkpoint.getRecordsByIdentifier();
+        assertThat(recordsByIdentifier.keySet(), equalTo(Collections.singleton(identifier)));
+        assertThat(recordsByIdentifier.get(identifier).findAll(), equalTo(index.findAll()));
+    }
+
+    @Test
+    void whenTheRepositoryIsReopened_shouldFindTheEventsOfAnIdentifierWhichDoesNotFitInModifiedUtf8() {
+        // given
+        String identifier = identifierWhichDoesNotFitInModifiedUtf8();
+        SegmentFileEventRepository repository = open();
+        repository.save(new AddressUpdatedEvent(identifier, 0, "Street 0"));
+        repository.save(new AddressUpdatedEvent(identifier, 1, "Street 1"));
+        repository.close();
+
+        // when
+        SegmentFileEventRepository reopened = open();
+        List<Integer> revisions;
+        try {
+            revisions = reopened.findAllById(identifier).stream().map(DomainEvent::getRevision)
+                .collect(Collectors.toList());
+        } finally {
+            reopened.close();
+        }
+
+        // then
+        assertThat(IndexCheckpoint.read(directory).getRecordsByIdentifier().keySet(),
+            equalTo(Collections.singleton(identifier)));
+        assertThat(revisions.size(), is(2));
+    }
+
+    /**
+     * @return an identifier of 64000 bytes in UTF-8, which fits in a segment record, but of 96000 bytes in modified
+     * UTF-8.
+     */
+    private static String identifierWhichDoesNotFitInModifiedUtf8() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 16000; i++) {
+            builder.append(EMOJI);
+        }
+        return builder.toString();
+    }
+
+    private SegmentFileEventRepository open() {
+        return new SegmentFileEventRepository(directory, 1024 * 1024, new JavaEventSerializer(), FsyncPolicy.OS,
+            Duration.ofMillis(10));
+    }
+}
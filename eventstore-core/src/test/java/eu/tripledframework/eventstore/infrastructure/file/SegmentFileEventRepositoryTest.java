@@ -0,0 +1,248 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.infrastructure.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.event.AddressUpdatedEvent;
+import eu.tripledframework.eventstore.infrastructure.EventStorageException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+class SegmentFileEventRepositoryTest {
+
+    private static final int SMALL_SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final List<SegmentFileEventRepository> repositories = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        repositories.forEach(SegmentFileEventRepository::close);
+    }
+
+    @Test
+    void whenEventsAreStored_shouldFindThemByAggregateAndRevision() {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+        DomainEvent first = new AddressUpdatedEvent("first", 1, "Street 1");
+        DomainEvent other = new AddressUpdatedEvent("other", 1, "Street 2");
+        DomainEvent second = new AddressUpdatedEvent("first", 2, "Street 3");
+
+        // when
+        repository.save(first);
+        repository.save(other);
+        repository.save(second);
+
+        // then
+        assertThat(new ArrayList<>(repository.findAllById("first")), equalTo(Arrays.asList(first, second)));
+        Collection<DomainEvent> afterFirst = repository.findAllByIdAndAfterRevision("first", 1);
+        assertThat(afterFirst.size(), is(1));
+        assertThat(((AddressUpdatedEvent) afterFirst.iterator().next()).getAddress(), equalTo("Street 3"));
+        assertThat(repository.findAllById("unknown").isEmpty(), is(true));
+    }
+
+    @Test
+    void whenTheRepositoryIsReopened_shouldFindTheEventsStoredBefore() {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.ALWAYS);
+        for (int revision = 0; revision < 100; revision++) {
+            repository.save(new AddressUpdatedEvent("rootIdentifier", revision, "Street " + revision));
+        }
+        repository.close();
+
+        // when
+        SegmentFileEventRepository reopened = open(FsyncPolicy.ALWAYS);
+        reopened.save(new AddressUpdatedEvent("rootIdentifier", 100, "Street 100"));
+
+        // then
+        List<DomainEvent> events = new ArrayList<>(reopened.findAllByIdAndAfterRevision("rootIdentifier", 97));
+        assertThat(events.stream().map(DomainEvent::getRevision).collect(Collectors.toList()),
+            equalTo(Arrays.asList(98, 99, 100)));
+        assertThat(reopened.findAllById("rootIdentifier").size(), is(101));
+    }
+
+    @Test
+    void whenTheEventsDoNotFitInOneSegment_shouldStartNewSegments() throws Exception {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.INTERVAL);
+
+        // when
+        for (int revision = 0; revision < 50; revision++) {
+            repository.save(new AddressUpdatedEvent("rootIdentifier", revision, "Street " + revision));
+        }
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count(), greaterThan(1L));
+        }
+        assertThat(repository.findAllById("rootIdentifier").size(), is(50));
+    }
+
+    @Test
+    void whenAnEventDoesNotFitInASegment_shouldThrowException() {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+        char[] address = new char[SMALL_SEGMENT_SIZE];
+        Arrays.fill(address, 'a');
+
+        // when
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> repository.save(new AddressUpdatedEvent("rootIdentifier", new String(address))));
+
+        // then
+        assertThat(repository.findAllById("rootIdentifier").isEmpty(), is(true));
+    }
+
+    @Test
+    void whenTheRepositoryIsClosed_shouldNotAcceptEvents() {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+
+        // when
+        repository.close();
+
+        // then
+        Assertions.assertThrows(IllegalStateException.class,
+            () -> repository.save(new DomainEvent("rootIdentifier")));
+    }
+
+    @Test
+    void whenTheRepositoryIsReopenedAfterACheckpoint_shouldIndexTheEventsSavedAfterIt() {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+        saveEvents(repository, 0, 10);
+        repository.checkpoint();
+        saveEvents(repository, 10, 15);
+
+        // when
+        SegmentFileEventRepository reopened = open(FsyncPolicy.OS);
+
+        // then
+        assertThat(revisions(reopened.findAllById("rootIdentifier")), equalTo(revisionsBetween(0, 15)));
+    }
+
+    @Test
+    void whenTheLastRecordWasNotCompletelyWritten_shouldTruncateIt() throws Exception {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+        saveEvents(repository, 0, 3);
+        flipLastWrittenByte(lastSegment());
+
+        // when
+        SegmentFileEventRepository reopened = open(FsyncPolicy.OS);
+        reopened.save(new AddressUpdatedEvent("rootIdentifier", 3, "Street 3"));
+        reopened.close();
+
+        // then
+        assertThat(revisions(open(FsyncPolicy.OS).findAllById("rootIdentifier")), equalTo(Arrays.asList(0, 1, 3)));
+    }
+
+    @Test
+    void whenTheCheckpointIsDamaged_shouldScanTheSegments() throws Exception {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+        saveEvents(repository, 0, 50);
+        repository.close();
+        Files.write(directory.resolve(IndexCheckpoint.FILE_NAME), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        // when
+        SegmentFileEventRepository reopened = open(FsyncPolicy.OS);
+
+        // then
+        assertThat(revisions(reopened.findAllById("rootIdentifier")), equalTo(revisionsBetween(0, 50)));
+    }
+
+    @Test
+    void whenARecordBeforeTheLastSegmentIsDamaged_shouldThrowException() throws Exception {
+        // given
+        SegmentFileEventRepository repository = open(FsyncPolicy.OS);
+        saveEvents(repository, 0, 50);
+        repository.close();
+        Files.delete(directory.resolve(IndexCheckpoint.FILE_NAME));
+        flipLastWrittenByte(directory.resolve(Segment.fileName(0)));
+
+        // when
+        Assertions.assertThrows(EventStorageException.class, () -> open(FsyncPolicy.OS));
+
+        // then
+        // exception
+    }
+
+    private static void saveEvents(SegmentFileEventRepository repository, int fromRevision, int toRevision) {
+        for (int revision = fromRevision; revision < toRevision; revision++) {
+            repository.save(new AddressUpdatedEvent("rootIdentifier", revision, "Street " + revision));
+        }
+    }
+
+    private static List<Integer> revisions(Collection<DomainEvent> events) {
+        return events.stream().map(DomainEvent::getRevision).collect(Collectors.toList());
+    }
+
+    private static List<Integer> revisionsBetween(int fromRevision, int toRevision) {
+        List<Integer> revisions = new ArrayList<>();
+        for (int revision = fromRevision; revision < toRevision; revision++) {
+            revisions.add(revision);
+        }
+        return revisions;
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Segment::isSegment).max(Path::compareTo).get();
+        }
+    }
+
+    private static void flipLastWrittenByte(Path segment) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) ~bytes[last]}), last);
+        }
+    }
+
+    private SegmentFileEventRepository open(FsyncPolicy fsyncPolicy) {
+        SegmentFileEventRepository repository = new SegmentFileEventRepository(directory, SMALL_SEGMENT_SIZE,
+            new JavaEventSerializer(), fsyncPolicy, Duration.ofMillis(10));
+        repositories.add(repository);
+        return repository;
+    }
+}
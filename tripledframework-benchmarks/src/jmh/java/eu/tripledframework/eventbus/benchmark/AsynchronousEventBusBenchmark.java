@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.benchmark;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.tripledframework.eventbus.internal.domain.AsynchronousEventBus;
+import eu.tripledframework.eventbus.internal.domain.RingBufferEventBus;
+import eu.tripledframework.eventbus.internal.domain.SynchronousEventBus;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+
+/**
+ * Measures the round trip of a command through an asynchronous event bus: dispatching it, executing it on another
+ * thread and waiting for the result using the returned Future. The executor based AsynchronousEventBus is compared
+ * with the RingBufferEventBus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AsynchronousEventBusBenchmark {
+
+  @Param({"executor", "ring-buffer"})
+  private String bus;
+
+  @Param({"1", "4"})
+  private int executorThreads;
+
+  private ExecutorService executor;
+  private SynchronousEventBus eventBus;
+  private BenchmarkCommand command;
+
+  @Setup
+  public void setUp() {
+    if ("ring-buffer".equals(bus)) {
+      eventBus = new RingBufferEventBus(new InMemoryInvokerRepository(),
+          EventBusFixtures.interceptorChainFactory("simple", 0), EventBusFixtures.invokerFactories("reflection"),
+          new DefaultUnitOfWorkFactory(), 1024, executorThreads);
+    } else {
+      executor = Executors.newFixedThreadPool(executorThreads);
+      eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+          EventBusFixtures.interceptorChainFactory("simple", 0), EventBusFixtures.invokerFactories("reflection"),
+          new DefaultUnitOfWorkFactory(), executor);
+    }
+    eventBus.subscribe(new BenchmarkCommandHandler());
+
+    command = new BenchmarkCommand("benchmark");
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (eventBus instanceof RingBufferEventBus) {
+      ((RingBufferEventBus) eventBus).close();
+    } else {
+      executor.shutdownNow();
+    }
+  }
+
+  @Benchmark
+  public String roundTrip() throws ExecutionException, InterruptedException {
+    return eventBus.<String>dispatch(command).get();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.tripledframework.eventbus.internal.domain.SynchronousEventBus;
+import eu.tripledframework.eventbus.internal.infrastructure.callback.ExceptionThrowingCommandCallback;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+
+/**
+ * Measures the cost of dispatching a command on the SynchronousEventBus, for a varying number of registered handlers
+ * and interceptors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandDispatchingBenchmark {
+
+  @Param({"reflection", "method-handle"})
+  private String invoker;
+
+  @Param({"simple", "precompiled"})
+  private String chainFactory;
+
+  @Param({"0", "3"})
+  private int interceptorCount;
+
+  @Param({"1", "100", "1000"})
+  private int registeredHandlers;
+
+  private SynchronousEventBus eventBus;
+  private ExceptionThrowingCommandCallback<String> callback;
+  private BenchmarkCommand command;
+
+  @Setup
+  public void setUp() {
+    InMemoryInvokerRepository invokerRepository = new InMemoryInvokerRepository();
+    EventBusFixtures.registerUnrelatedInvokers(invokerRepository, registeredHandlers - 1);
+    eventBus = new SynchronousEventBus(invokerRepository,
+        EventBusFixtures.interceptorChainFactory(chainFactory, interceptorCount),
+        EventBusFixtures.invokerFactories(invoker), new DefaultUnitOfWorkFactory());
+    eventBus.subscribe(new BenchmarkCommandHandler());
+
+    callback = new ExceptionThrowingCommandCallback<>();
+    command = new BenchmarkCommand("benchmark");
+  }
+
+  @Benchmark
+  public String dispatch() {
+    eventBus.dispatch(command, callback);
+    return callback.getResult();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import eu.tripledframework.eventbus.EventBusInterceptor;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChain;
+import eu.tripledframework.eventbus.internal.domain.InterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+import eu.tripledframework.eventbus.internal.domain.InvokerFactory;
+import eu.tripledframework.eventbus.internal.domain.InvokerRepository;
+import eu.tripledframework.eventbus.internal.domain.UnitOfWork;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.PrecompiledInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.MethodHandleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+
+/**
+ * Helper methods to set up the eventbus collaborators used by the benchmarks.
+ */
+final class EventBusFixtures {
+
+  private EventBusFixtures() {
+    // cannot be instantiated.
+  }
+
+  static List<InvokerFactory> invokerFactories(String invokerType) {
+    if ("method-handle".equals(invokerType)) {
+      return Collections.singletonList(new MethodHandleInvokerFactory());
+    }
+    return Collections.singletonList(new SimpleInvokerFactory());
+  }
+
+  static InterceptorChainFactory interceptorChainFactory(String chainType, int interceptorCount) {
+    List<EventBusInterceptor> interceptors = new ArrayList<>();
+    for (int i = 0; i < interceptorCount; i++) {
+      interceptors.add(new PassThroughInterceptor());
+    }
+    if ("precompiled".equals(chainType)) {
+      return new PrecompiledInterceptorChainFactory(interceptors);
+    }
+    return new SimpleInterceptorChainFactory(interceptors);
+  }
+
+  /**
+   * Registers invokers which do not handle any of the benchmark messages, to simulate an application with many
+   * handlers.
+   */
+  static void registerUnrelatedInvokers(InvokerRepository invokerRepository, int count) {
+    for (int i = 0; i < count; i++) {
+      invokerRepository.add(new UnrelatedInvoker());
+    }
+  }
+
+  static class PassThroughInterceptor implements EventBusInterceptor {
+
+    @Override
+    public <ReturnType> ReturnType intercept(InterceptorChain<ReturnType> chain, Object event, UnitOfWork unitOfWork) {
+      return chain.proceed();
+    }
+  }
+
+  static class UnrelatedInvoker implements Invoker {
+
+    @Override
+    public boolean handles(Class<?> eventTypeToHandle) {
+      return false;
+    }
+
+    @Override
+    public boolean hasReturnType() {
+      return false;
+    }
+
+    @Override
+    public Object invoke(Object object) {
+      throw new IllegalStateException("Should never be invoked.");
+    }
+  }
+}
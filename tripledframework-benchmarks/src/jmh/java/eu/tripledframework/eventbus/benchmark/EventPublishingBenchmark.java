@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.tripledframework.eventbus.internal.domain.SynchronousEventBus;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+
+/**
+ * Measures the cost of publishing an event, outside of a unit of work, to a varying number of subscribers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPublishingBenchmark {
+
+  @Param({"reflection", "method-handle"})
+  private String invoker;
+
+  @Param({"1", "10", "100"})
+  private int subscribers;
+
+  @Param({"1", "1000"})
+  private int registeredHandlers;
+
+  private SynchronousEventBus eventBus;
+  private BenchmarkEvent event;
+
+  @Setup
+  public void setUp() {
+    InMemoryInvokerRepository invokerRepository = new InMemoryInvokerRepository();
+    EventBusFixtures.registerUnrelatedInvokers(invokerRepository, registeredHandlers - 1);
+    eventBus = new SynchronousEventBus(invokerRepository, EventBusFixtures.interceptorChainFactory("simple", 0),
+        EventBusFixtures.invokerFactories(invoker), new DefaultUnitOfWorkFactory());
+    for (int i = 0; i < subscribers; i++) {
+      eventBus.subscribe(new BenchmarkEventHandler());
+    }
+
+    event = new BenchmarkEvent();
+  }
+
+  @Benchmark
+  public void publish() {
+    eventBus.publish(event);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.tripledframework.eventbus.internal.domain.InterceptorChainFactory;
+import eu.tripledframework.eventbus.internal.domain.Invoker;
+
+/**
+ * Compares the cost of creating and proceeding an interceptor chain for the available InterceptorChainFactory
+ * implementations. Run with <code>-prof gc</code> to compare the allocation rate as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorChainBenchmark {
+
+  @Param({"simple", "precompiled"})
+  private String chainFactory;
+
+  @Param({"0", "1", "5", "10"})
+  private int interceptorCount;
+
+  private InterceptorChainFactory interceptorChainFactory;
+  private Invoker invoker;
+  private List<Invoker> invokers;
+  private Object command;
+
+  @Setup
+  public void setUp() {
+    interceptorChainFactory = EventBusFixtures.interceptorChainFactory(chainFactory, interceptorCount);
+    invoker = new EchoInvoker();
+    invokers = new ArrayList<>();
+    invokers.add(new EchoInvoker());
+    invokers.add(new EchoInvoker());
+    command = new Object();
+  }
+
+  @Benchmark
+  public Object singleInvoker() {
+    return interceptorChainFactory.createChain(command, null, invoker).proceed();
+  }
+
+  @Benchmark
+  public Object multipleInvokers() {
+    return interceptorChainFactory.createChain(command, null, invokers).proceed();
+  }
+
+  static class EchoInvoker implements Invoker {
+
+    @Override
+    public boolean handles(Class<?> eventTypeToHandle) {
+      return true;
+    }
+
+    @Override
+    public boolean hasReturnType() {
+      return true;
+    }
+
+    @Override
+    public Object invoke(Object object) {
+      return object;
+    }
+  }
+}
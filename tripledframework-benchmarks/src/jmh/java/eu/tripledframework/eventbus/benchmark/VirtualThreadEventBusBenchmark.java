@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventbus.benchmark;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.tripledframework.eventbus.internal.domain.AsynchronousEventBus;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.BoundedThreadPoolExecutor;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.EventBusThreadFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.SaturationPolicy;
+import eu.tripledframework.eventbus.internal.infrastructure.concurrent.VirtualThreadExecutors;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
+
+/**
+ * Measures the throughput of the AsynchronousEventBus for handlers which block for a millisecond, comparing the
+ * default pool of 5 to 10 threads with a virtual thread per command.
+ * <p>
+ * The virtual executor requires the benchmarks to run on Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class VirtualThreadEventBusBenchmark {
+
+  @Param({"pooled", "virtual"})
+  private String executorType;
+
+  private ExecutorService executor;
+  private AsynchronousEventBus eventBus;
+  private BlockingBenchmarkCommand command;
+
+  @Setup
+  public void setUp() {
+    if ("virtual".equals(executorType)) {
+      executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+    } else {
+      executor = new BoundedThreadPoolExecutor(5, 10, 1024, SaturationPolicy.BLOCK,
+          new EventBusThreadFactory("benchmark-"));
+    }
+    eventBus = new AsynchronousEventBus(new InMemoryInvokerRepository(),
+        EventBusFixtures.interceptorChainFactory("simple", 0), EventBusFixtures.invokerFactories("reflection"),
+        new DefaultUnitOfWorkFactory(), executor, true);
+    eventBus.subscribe(new BenchmarkCommandHandler());
+
+    command = new BlockingBenchmarkCommand(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public Object roundTrip() throws ExecutionException, InterruptedException {
+    return eventBus.dispatch(command).get();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+import eu.tripledframework.eventstore.infrastructure.ReflectionObjectConstructor;
+
+/**
+ * Measures the reconstruction of an aggregate root from its events. Every event after the first one is applied by a
+ * method with a property parameter and a nested property parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregateReconstructionBenchmark {
+
+  @Param({"10000"})
+  private int eventCount;
+
+  private ReflectionObjectConstructor<BenchmarkAccount> objectConstructor;
+  private List<DomainEvent> events;
+
+  @Setup
+  public void setUp() {
+    objectConstructor = new ReflectionObjectConstructor<>(BenchmarkAccount.class);
+    events = new ArrayList<>(eventCount);
+    events.add(new BenchmarkAccountOpenedEvent("account", "benchmark"));
+    for (int revision = 1; revision < eventCount; revision++) {
+      events.add(new BenchmarkDepositedEvent("account", revision, revision, "transfer-" + revision));
+    }
+  }
+
+  @Benchmark
+  public BenchmarkAccount reconstruct() {
+    return objectConstructor.construct(events);
+  }
+}
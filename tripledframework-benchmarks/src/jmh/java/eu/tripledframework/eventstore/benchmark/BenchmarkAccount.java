@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.benchmark;
+
+import eu.tripledframework.eventstore.domain.annotation.ConstructionHandler;
+import eu.tripledframework.eventstore.domain.annotation.EP;
+
+public class BenchmarkAccount {
+
+  private final String identifier;
+  private final String owner;
+  private long balance;
+  private String lastReference;
+
+  @ConstructionHandler(BenchmarkAccountOpenedEvent.class)
+  public BenchmarkAccount(@EP("aggregateRootIdentifier") String identifier, @EP("owner") String owner) {
+    this.identifier = identifier;
+    this.owner = owner;
+  }
+
+  @ConstructionHandler(BenchmarkDepositedEvent.class)
+  public void deposit(@EP("amount") long amount, @EP("transfer/reference") String reference) {
+    this.balance += amount;
+    this.lastReference = reference;
+  }
+
+  public String getIdentifier() {
+    return identifier;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public long getBalance() {
+    return balance;
+  }
+
+  public String getLastReference() {
+    return lastReference;
+  }
+}
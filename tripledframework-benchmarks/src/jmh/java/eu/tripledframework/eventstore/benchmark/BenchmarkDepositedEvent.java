@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 TripleD framework.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.tripledframework.eventstore.benchmark;
+
+import eu.tripledframework.eventstore.domain.DomainEvent;
+
+public class BenchmarkDepositedEvent extends DomainEvent {
+
+  private final long amount;
+  private final Transfer transfer;
+
+  public BenchmarkDepositedEvent(String identifier, int revision, long amount, String reference) {
+    super(identifier, revision);
+    this.amount = amount;
+    this.transfer = new Transfer(reference);
+  }
+
+  public long getAmount() {
+    return amount;
+  }
+
+  public Transfer getTransfer() {
+    return transfer;
+  }
+
+  public static class Transfer {
+
+    private final String reference;
+
+    public Transfer(String reference) {
+      this.reference = reference;
+    }
+
+    public String getReference() {
+      return reference;
+    }
+  }
+}
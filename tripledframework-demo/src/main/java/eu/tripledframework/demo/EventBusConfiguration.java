@@ -1,15 +1,16 @@
 package eu.tripledframework.demo;
 
-import eu.tripledframework.demo.security.SpringSecurityAwareUnitOfWorkFactory;
-import eu.tripledframework.demo.security.SpringSecurityInitializationEventBusInterceptor;
+import eu.tripledframework.demo.security.SpringSecurityContextAccessor;
 import eu.tripledframework.eventbus.EventBusInterceptor;
 import eu.tripledframework.eventbus.autoconfigure.EnableEventHandlerSupport;
 import eu.tripledframework.eventbus.internal.domain.AsynchronousEventBus;
+import eu.tripledframework.eventbus.internal.infrastructure.context.ContextPropagator;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.LoggingEventBusInterceptor;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.SimpleInterceptorChainFactory;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.ValidatingEventBusInterceptor;
 import eu.tripledframework.eventbus.internal.infrastructure.invoker.InMemoryInvokerRepository;
 import eu.tripledframework.eventbus.internal.infrastructure.invoker.SimpleInvokerFactory;
+import eu.tripledframework.eventbus.internal.infrastructure.unitofwork.DefaultUnitOfWorkFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -27,15 +28,17 @@ public class EventBusConfiguration {
   @Bean
   public AsynchronousEventBus asynchronousEventBus(LocalValidatorFactoryBean validatorFactoryBean) {
     List<EventBusInterceptor> interceptors = Arrays
-        .asList(new LoggingEventBusInterceptor(), new SpringSecurityInitializationEventBusInterceptor(),
-            new ValidatingEventBusInterceptor(validatorFactoryBean.getValidator()));
+        .asList(new LoggingEventBusInterceptor(), new ValidatingEventBusInterceptor(validatorFactoryBean.getValidator()));
 
-    return new AsynchronousEventBus(
+    AsynchronousEventBus eventBus = new AsynchronousEventBus(
         new InMemoryInvokerRepository(),
         new SimpleInterceptorChainFactory(interceptors),
         Collections.singletonList(new SimpleInvokerFactory()),
-        new SpringSecurityAwareUnitOfWorkFactory(),
+        new DefaultUnitOfWorkFactory(),
         taskExecutor());
+    eventBus.setContextPropagator(
+        new ContextPropagator(Collections.singletonList(new SpringSecurityContextAccessor())));
+    return eventBus;
   }
 
   private Executor taskExecutor() {
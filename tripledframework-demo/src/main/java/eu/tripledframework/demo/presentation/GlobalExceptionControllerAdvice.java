@@ -15,7 +15,9 @@
  */
 package eu.tripledframework.demo.presentation;
 
+import eu.tripledframework.demo.application.HelloRefusedException;
 import eu.tripledframework.eventbus.internal.infrastructure.interceptor.CommandValidationException;
+import eu.tripledframework.eventbus.internal.infrastructure.invoker.InvocationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -27,6 +29,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import javax.validation.ConstraintViolation;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 @ControllerAdvice
@@ -37,11 +40,31 @@ public class GlobalExceptionControllerAdvice {
   @ExceptionHandler
   @ResponseStatus(HttpStatus.CONFLICT)
   @ResponseBody
-  public List<ErrorMessage> handleExecutionException(ExecutionException exception) throws Throwable {
-    // we simply rethrow the cause.
+  public List<ErrorMessage> handleExecutionException(ExecutionException exception) {
+    return handleCommandFailure(exception.getCause());
+  }
+
+  @ExceptionHandler
+  @ResponseStatus(HttpStatus.CONFLICT)
+  @ResponseBody
+  public List<ErrorMessage> handleCompletionException(CompletionException exception) {
+    return handleCommandFailure(exception.getCause());
+  }
+
+  /**
+   * A CompletableFuture returned by a controller hands the exception of the command to Spring MVC without wrapping it.
+   */
+  @ExceptionHandler({CommandValidationException.class, InvocationException.class, HelloRefusedException.class})
+  @ResponseStatus(HttpStatus.CONFLICT)
+  @ResponseBody
+  public List<ErrorMessage> handleCommandException(RuntimeException exception) {
+    return handleCommandFailure(exception);
+  }
+
+  private List<ErrorMessage> handleCommandFailure(Throwable exception) {
     List<ErrorMessage> errorMessages = new ArrayList<>();
-    if (exception.getCause() instanceof CommandValidationException) {
-      errorMessages.addAll(handleValidationError((CommandValidationException) exception.getCause()));
+    if (exception instanceof CommandValidationException) {
+      errorMessages.addAll(handleValidationError((CommandValidationException) exception));
     } else {
       LOGGER.error("The execution failed with an uncaught exception.", exception);
       errorMessages.add(new ErrorMessage("The execution failed with an uncaught exception."));
@@ -16,8 +16,7 @@
 package eu.tripledframework.demo.presentation;
 
 import java.security.Principal;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,14 +39,12 @@ public class HelloController {
   private CommandDispatcher commandDispatcher;
 
   @RequestMapping(value = "/hello/{name}", method = RequestMethod.GET)
-  public HelloResponse sayHi(@PathVariable String name) throws ExecutionException, InterruptedException {
-    Future<HelloResponse> future = commandDispatcher.dispatch(new HelloCommand(name));
-
-    return future.get();
+  public CompletableFuture<HelloResponse> sayHi(@PathVariable String name) {
+    return commandDispatcher.dispatchAsync(new HelloCommand(name));
   }
 
   @RequestMapping(value = "/hello", method = RequestMethod.GET)
-  public HelloResponse sayHiAuthenticated(Principal principal) throws ExecutionException, InterruptedException {
+  public HelloResponse sayHiAuthenticated(Principal principal) {
     LOGGER.debug("Saying hi to authenticated user {}", principal);
 
     return new HelloResponse("Hello authenticated user " + principal.getName());
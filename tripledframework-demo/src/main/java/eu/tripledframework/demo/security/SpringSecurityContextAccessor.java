@@ -0,0 +1,23 @@
+package eu.tripledframework.demo.security;
+
+import eu.tripledframework.eventbus.internal.domain.ThreadLocalAccessor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class SpringSecurityContextAccessor implements ThreadLocalAccessor<SecurityContext> {
+
+  @Override
+  public SecurityContext getValue() {
+    return SecurityContextHolder.getContext();
+  }
+
+  @Override
+  public void setValue(SecurityContext value) {
+    SecurityContextHolder.setContext(value);
+  }
+
+  @Override
+  public void reset() {
+    SecurityContextHolder.clearContext();
+  }
+}